@@ -0,0 +1,86 @@
+$ErrorActionPreference = "Stop"
+$jdkBin = "C:\Program Files\Java\jdk-22\bin"
+$root = Get-Location
+$libs = "$root\libs"
+$parentLibs = "..\libs"
+$bench = "$root\build_manual_chatcleaner\bench"
+$classes = "$bench\classes"
+# One results file per plugin version, to compare before deploying. Kept outside the
+# build directories, which this script and compile_chatcleaner.ps1 wipe on every run.
+$version = (Select-String -Path "src\main\resources\plugin.yml" -Pattern '^version:\s*(\S+)').Matches[0].Groups[1].Value
+$resultsDir = "$root\bench-results"
+$results = "$resultsDir\results-$version.json"
+
+# Clean
+if (Test-Path $bench) { Remove-Item -Recurse -Force $bench }
+New-Item -ItemType Directory -Force -Path $libs | Out-Null
+New-Item -ItemType Directory -Force -Path $classes | Out-Null
+New-Item -ItemType Directory -Force -Path $resultsDir | Out-Null
+
+# Function to download
+function Download-File($url, $output) {
+    if (Test-Path $output) { return }
+    Write-Host "Downloading $output..."
+    try {
+        [Net.ServicePointManager]::SecurityProtocol = [Net.SecurityProtocolType]::Tls12
+        Invoke-WebRequest -Uri $url -OutFile $output -UserAgent "Mozilla/5.0"
+    } catch {
+        Write-Warning "Failed to download $url"
+        Write-Warning $_
+    }
+}
+
+# Dependencies
+# 1. Paper API, Adventure & BungeeCord Chat (same as compile_chatcleaner.ps1)
+$paperJar = "$libs\paper-api.jar"
+if (Test-Path "$parentLibs\paper-api.jar") {
+    $paperJar = "$parentLibs\paper-api.jar"
+} else {
+    Download-File "https://api.papermc.io/v2/projects/paper/versions/1.21/builds/130/downloads/paper-1.21-130.jar" $paperJar
+}
+$advVersion = "4.17.0"
+Download-File "https://repo1.maven.org/maven2/net/kyori/adventure-api/$advVersion/adventure-api-$advVersion.jar" "$libs\adventure-api.jar"
+Download-File "https://repo1.maven.org/maven2/net/kyori/adventure-key/$advVersion/adventure-key-$advVersion.jar" "$libs\adventure-key.jar"
+Download-File "https://repo1.maven.org/maven2/net/md-5/bungeecord-chat/1.16-R0.4/bungeecord-chat-1.16-R0.4.jar" "$libs\bungeecord-chat.jar"
+
+# 2. Runtime pieces the server normally provides (config loading)
+Download-File "https://repo1.maven.org/maven2/org/yaml/snakeyaml/2.2/snakeyaml-2.2.jar" "$libs\snakeyaml.jar"
+Download-File "https://repo1.maven.org/maven2/com/google/guava/guava/33.3.1-jre/guava-33.3.1-jre.jar" "$libs\guava.jar"
+
+# 3. JMH
+$jmhVersion = "1.37"
+Download-File "https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-core/$jmhVersion/jmh-core-$jmhVersion.jar" "$libs\jmh-core.jar"
+Download-File "https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-generator-annprocess/$jmhVersion/jmh-generator-annprocess-$jmhVersion.jar" "$libs\jmh-generator-annprocess.jar"
+Download-File "https://repo1.maven.org/maven2/net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar" "$libs\jopt-simple.jar"
+Download-File "https://repo1.maven.org/maven2/org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar" "$libs\commons-math3.jar"
+
+# Construct Classpath
+$cp = "$paperJar;$libs\adventure-api.jar;$libs\adventure-key.jar;$libs\bungeecord-chat.jar;$libs\snakeyaml.jar;$libs\guava.jar"
+$jmhCp = "$libs\jmh-core.jar;$libs\jopt-simple.jar;$libs\commons-math3.jar"
+
+# Sources: the plugin plus the benchmarks
+$sources = Get-ChildItem -Recurse "src\main\java", "src\jmh\java" -Filter "*.java" | Select-Object -ExpandProperty FullName
+if (-not $sources) { Write-Error "No sources found"; exit 1 }
+$sourcesFile = "$bench\sources.txt"
+$sources | ForEach-Object { "`"$($_.Replace('\', '/'))`"" } | Set-Content $sourcesFile
+
+# Compile; the JMH annotation processor generates the benchmark harness next to the classes
+Write-Host "Compiling benchmarks..."
+& "$jdkBin\javac.exe" -d "$classes" -cp "$cp;$jmhCp" -processorpath "$libs\jmh-generator-annprocess.jar;$jmhCp" --release 21 "@$sourcesFile"
+if ($LASTEXITCODE -ne 0) {
+    Write-Error "Compilation failed."
+    exit 1
+}
+
+# Resources
+Copy-Item "src\main\resources\*" $classes
+
+# Run; extra arguments go to JMH (e.g. a benchmark name regex, or -f 0 for a quick check)
+Write-Host "Running benchmarks..."
+& "$jdkBin\java.exe" -cp "$classes;$cp;$jmhCp" org.openjdk.jmh.Main -wi 3 -i 5 -f 1 -rf json -rff "$results" @args
+if ($LASTEXITCODE -ne 0) {
+    Write-Error "Benchmarks failed."
+    exit 1
+}
+
+Write-Host "Results: $results"
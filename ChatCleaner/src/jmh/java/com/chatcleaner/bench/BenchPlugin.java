@@ -0,0 +1,87 @@
+package com.chatcleaner.bench;
+
+import com.chatcleaner.ChatCleaner;
+import com.chatcleaner.config.ConfigManager;
+import com.chatcleaner.managers.CooldownManager;
+import com.chatcleaner.managers.FilterManager;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ChatCleaner with its managers, built without a server.
+ *
+ * The plugin and its ConfigManager are allocated without running their constructors
+ * (both want a plugin loader and a data folder) and the config fields are filled from
+ * the bundled config.yml; the managers under test are constructed normally.
+ */
+final class BenchPlugin {
+
+    private BenchPlugin() {}
+
+    /**
+     * @param bannedWords size of the banned word list; the shipped list is padded with
+     *                    variants of itself, or used as is when it is already that long
+     */
+    static ChatCleaner create(int bannedWords) {
+        YamlConfiguration c = loadConfig();
+        List<String> words = new ArrayList<>(c.getStringList("banned-words"));
+        int shipped = words.size();
+        for (int i = 0; words.size() < bannedWords; i++) words.add(words.get(i % shipped) + "z" + (i / shipped));
+
+        ConfigManager config = allocate(ConfigManager.class);
+        set(config, "bannedWords", words);
+        set(config, "replacement", c.getString("replacement", "*"));
+        set(config, "messageDelaySeconds", c.getInt("message-delay-seconds", 3));
+        set(config, "slowModeEnabled", c.getBoolean("slowmode-enabled", true));
+        set(config, "slowModeDelay", c.getInt("slowmode-delay", 5));
+        set(config, "capsLockFilter", c.getBoolean("caps-lock-filter", true));
+        set(config, "capsThreshold", c.getInt("caps-threshold", 50));
+        set(config, "whitelist", new ArrayList<>(c.getStringList("whitelist")));
+
+        ChatCleaner plugin = allocate(ChatCleaner.class);
+        set(plugin, "configManager", config);
+        set(plugin, "filterManager", new FilterManager(plugin));
+        set(plugin, "cooldownManager", new CooldownManager(plugin));
+        return plugin;
+    }
+
+    private static YamlConfiguration loadConfig() {
+        InputStream in = ChatCleaner.class.getClassLoader().getResourceAsStream("config.yml");
+        if (in == null) throw new IllegalStateException("config.yml is not on the classpath");
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T allocate(Class<T> type) {
+        try {
+            Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeType.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Method allocate = unsafeType.getMethod("allocateInstance", Class.class);
+            return type.cast(allocate.invoke(field.get(null), type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot allocate " + type.getName(), e);
+        }
+    }
+
+    private static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name, e);
+        }
+    }
+}
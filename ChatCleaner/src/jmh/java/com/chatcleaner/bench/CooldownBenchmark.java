@@ -0,0 +1,67 @@
+package com.chatcleaner.bench;
+
+import com.chatcleaner.managers.CooldownManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code CooldownManager} checks as the chat listener makes them, for 500 online players
+ * chatting in random order.
+ *
+ * {@code chatMessage} is the listener's path for one message: slow mode, then spam,
+ * then recording the message when it goes through.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CooldownBenchmark {
+
+    private static final int PLAYERS = 500;
+    private static final int ORDER = 4096;
+
+    private CooldownManager cooldowns;
+    private final UUID[] players = new UUID[PLAYERS];
+    private final int[] order = new int[ORDER];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cooldowns = BenchPlugin.create(0).getCooldownManager();
+        SplittableRandom random = new SplittableRandom(21);
+        for (int i = 0; i < PLAYERS; i++) players[i] = new UUID(random.nextLong(), random.nextLong());
+        for (int i = 0; i < ORDER; i++) order[i] = random.nextInt(PLAYERS);
+        // Everyone has chatted before
+        for (UUID player : players) cooldowns.updateLastMessage(player);
+        cursor = 0;
+    }
+
+    private UUID next() {
+        UUID player = players[order[cursor]];
+        if (++cursor == ORDER) cursor = 0;
+        return player;
+    }
+
+    @Benchmark
+    public void chatMessage(Blackhole bh) {
+        UUID player = next();
+        if (cooldowns.isOnCooldown(player)) {
+            bh.consume(cooldowns.getRemainingCooldown(player));
+            return;
+        }
+        if (cooldowns.isSpamming(player)) {
+            bh.consume(false);
+            return;
+        }
+        cooldowns.updateLastMessage(player);
+        bh.consume(true);
+    }
+
+    @Benchmark
+    public void isOnCooldown(Blackhole bh) {
+        bh.consume(cooldowns.isOnCooldown(next()));
+    }
+}
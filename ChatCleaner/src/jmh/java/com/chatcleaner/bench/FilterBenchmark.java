@@ -0,0 +1,83 @@
+package com.chatcleaner.bench;
+
+import com.chatcleaner.managers.FilterManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code FilterManager} on ordinary server chat: a rotation of 32 messages of typical
+ * length, three of which contain a banned word and three of which are shouted.
+ *
+ * Run with the shipped word list (0: no padding) and with a 200-word list, the size a
+ * server ends up with after a few months of additions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FilterBenchmark {
+
+    private static final String[] MESSAGES = {
+            "anyone want to trade diamonds for emeralds?",
+            "gg",
+            "where is the nether portal from spawn",
+            "lol",
+            "can someone tp me to their base pls",
+            "brb dinner",
+            "this server is so much better than the last one",
+            "who took the iron from the community chest",
+            "damn that creeper blew up my house",
+            "how do i claim land",
+            "LETS GOOO WE KILLED THE DRAGON",
+            "ok",
+            "selling enchanted books at my shop, /warp shop",
+            "is the end reset this weekend?",
+            "ty",
+            "my farm is broken again, the villagers despawned",
+            "what version is the server on",
+            "that was such bullshit, the mob glitched through the wall",
+            "anyone online from europe?",
+            "HELP I AM STUCK IN THE NETHER",
+            "wb",
+            "does anyone have spare bones for bonemeal",
+            "the new update is pretty good",
+            "can i join your town",
+            "omg this lag is crazy",
+            "stop spamming the chat man",
+            "haha nice build",
+            "I need 3 more shulker boxes",
+            "wanna duel at the arena?",
+            "NO WAY THAT JUST HAPPENED",
+            "the shop owner is a prick, he scammed me",
+            "see you all tomorrow"
+    };
+
+    @Param({"0", "200"})
+    public int bannedWords;
+
+    private FilterManager filter;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        filter = BenchPlugin.create(bannedWords).getFilterManager();
+        cursor = 0;
+    }
+
+    private String next() {
+        String message = MESSAGES[cursor];
+        if (++cursor == MESSAGES.length) cursor = 0;
+        return message;
+    }
+
+    @Benchmark
+    public void filter(Blackhole bh) {
+        bh.consume(filter.filter(next()));
+    }
+
+    @Benchmark
+    public void isCapsSpam(Blackhole bh) {
+        bh.consume(filter.isCapsSpam(next()));
+    }
+}
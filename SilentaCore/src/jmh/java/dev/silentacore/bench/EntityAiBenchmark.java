@@ -0,0 +1,107 @@
+package dev.silentacore.bench;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.optimization.impl.EntityAIOptimizer;
+import dev.silentacore.standin.StandInEntity;
+import dev.silentacore.standin.StandInPlugin;
+import dev.silentacore.standin.StandInServer;
+import dev.silentacore.standin.StandInWorld;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code EntityAIOptimizer} with 100 players walking among 4,000 mobs spread over a
+ * 40 x 40 chunk area, engaged at LEVEL1.
+ *
+ * The old all-worlds scan ({@code runOptimization}) is gone; its work is now split
+ * between {@code tick}, one server tick of player moves followed by the module applying
+ * the chunks that flipped (reported per player), and {@code fullPass}, the wake-all
+ * plus full scan a drop back to VANILLA and re-engage costs, with every budgeted slice
+ * of the scan run back to back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityAiBenchmark {
+
+    private static final int PLAYERS = 100;
+    private static final int MOBS = 4_000;
+    private static final int AREA = 640; // blocks
+
+    private StandInServer server;
+    private EntityAIOptimizer ai;
+    private final SplittableRandom random = new SplittableRandom(21);
+    private final StandInEntity[] players = new StandInEntity[PLAYERS];
+    private final double[] headings = new double[PLAYERS];
+    private final Location from = new Location(null, 0, 0, 0);
+    private final Location to = new Location(null, 0, 0, 0);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = StandInServer.install();
+        server.reset();
+        StandInWorld world = server.addWorld("world");
+        SilentaCore plugin = StandInPlugin.create(server);
+
+        for (int i = 0; i < MOBS; i++) {
+            world.spawnMob(Zombie.class, EntityType.ZOMBIE, random.nextDouble(AREA), 64, random.nextDouble(AREA));
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = world.join("Player" + i, random.nextDouble(AREA), 64, random.nextDouble(AREA));
+            headings[i] = random.nextDouble(Math.PI * 2);
+        }
+        ai = StandInPlugin.enable(plugin, "entity-ai-optimization");
+        ai.onLoadLevelChange(LoadLevel.VANILLA, LoadLevel.LEVEL1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ai.disable();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS)
+    public void tick(Blackhole bh) {
+        server.setCurrentTick(server.getCurrentTick() + 1);
+        for (int i = 0; i < PLAYERS; i++) {
+            // Walking speed, 0.2 blocks per tick, turning now and then and bouncing off the area edge
+            StandInEntity player = players[i];
+            if (random.nextInt(100) == 0) headings[i] = random.nextDouble(Math.PI * 2);
+            Location at = player.getLocation();
+            from.setWorld(at.getWorld());
+            from.set(at.getX(), at.getY(), at.getZ());
+            double x = at.getX() + Math.cos(headings[i]) * 0.2, z = at.getZ() + Math.sin(headings[i]) * 0.2;
+            if (x < 0 || x >= AREA || z < 0 || z >= AREA) {
+                headings[i] += Math.PI;
+                continue;
+            }
+            to.setWorld(at.getWorld());
+            to.set(x, at.getY(), z);
+            player.moveTo(to);
+            ai.onPlayerMove(new PlayerMoveEvent(player.handle(Player.class), from, to));
+        }
+        ai.tick();
+        bh.consume(ai.hasPendingWork());
+    }
+
+    @Benchmark
+    public void fullPass(Blackhole bh) {
+        ai.onLoadLevelChange(LoadLevel.LEVEL1, LoadLevel.VANILLA);
+        ai.onLoadLevelChange(LoadLevel.VANILLA, LoadLevel.LEVEL1);
+        int slices = 1;
+        while (ai.hasPendingWork()) {
+            ai.tick();
+            slices++;
+        }
+        bh.consume(slices);
+    }
+}
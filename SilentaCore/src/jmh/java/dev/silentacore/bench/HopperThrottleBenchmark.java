@@ -0,0 +1,90 @@
+package dev.silentacore.bench;
+
+import dev.silentacore.optimization.impl.HopperThrottle;
+import dev.silentacore.util.WorldKeys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hopper move events against a 5,000-hopper storage system: the previous boxed
+ * HashMap keyed by a Location-style hash versus the packed primitive table.
+ *
+ * Every event touches one hopper in round-robin order; the tick advances once per
+ * full pass, like a storage hall where every hopper fires each tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HopperThrottleBenchmark {
+
+    private static final int HOPPERS = 5_000;
+    private static final int THROTTLE_TICKS = 20;
+
+    // 50 x 100 floor of hoppers, 2 layers apart
+    private final int[] xs = new int[HOPPERS];
+    private final int[] ys = new int[HOPPERS];
+    private final int[] zs = new int[HOPPERS];
+
+    private Map<Integer, Long> legacy;
+    private HopperThrottle throttle;
+    private int cursor;
+    private long tick;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        for (int i = 0; i < HOPPERS; i++) {
+            xs[i] = 1_000 + i % 50;
+            ys[i] = 64 + (i / 2_500) * 2;
+            zs[i] = -2_000 + (i / 50) % 50;
+        }
+        legacy = new HashMap<>();
+        throttle = new HopperThrottle();
+        cursor = 0;
+        tick = 0;
+    }
+
+    private int next() {
+        int i = cursor;
+        if (++cursor == HOPPERS) {
+            cursor = 0;
+            tick++;
+        }
+        return i;
+    }
+
+    @Benchmark
+    public void legacyHashMap(Blackhole bh) {
+        int i = next();
+        // Old path: fresh position object per event, boxed key and value, clear() every 1200 ticks
+        int hopperId = new BlockPos(xs[i], ys[i], zs[i]).hashCode();
+        if (tick % 1200 == 0 && i == 0) legacy.clear();
+
+        long lastTransfer = legacy.getOrDefault(hopperId, 0L);
+        if (tick - lastTransfer < THROTTLE_TICKS) {
+            bh.consume(true);
+            return;
+        }
+        legacy.put(hopperId, tick);
+        bh.consume(false);
+    }
+
+    @Benchmark
+    public void packedTable(Blackhole bh) {
+        int i = next();
+        long key = WorldKeys.blockKey(0, xs[i], ys[i], zs[i]);
+        bh.consume(throttle.shouldThrottle(key, tick, THROTTLE_TICKS));
+    }
+
+    // Stand-in for Location: same fields hashed, one allocation per event
+    private record BlockPos(double x, double y, double z) {
+        @Override
+        public int hashCode() {
+            return Objects.hash(x, y, z, 0.0f, 0.0f);
+        }
+    }
+}
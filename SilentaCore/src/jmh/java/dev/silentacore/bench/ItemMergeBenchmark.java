@@ -0,0 +1,134 @@
+package dev.silentacore.bench;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.optimization.impl.ItemMergeOptimizer;
+import dev.silentacore.standin.StandInEntity;
+import dev.silentacore.standin.StandInPlugin;
+import dev.silentacore.standin.StandInServer;
+import dev.silentacore.standin.StandInWorld;
+import org.bukkit.Material;
+import org.bukkit.entity.Item;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ItemMergeOptimizer} on a farm area littered with drops: items of eight common
+ * materials in small piles over 8 x 8 chunks.
+ *
+ * {@code sweep} is one full merge pass over the world, with the items restored before
+ * every pass. {@code spawnBurst} is a block-break storm of 256 drops, each coalesced at
+ * spawn into the live index left by a sweep.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemMergeBenchmark {
+
+    private static final Material[] DROPS = {
+            Material.COBBLESTONE, Material.DIRT, Material.WHEAT, Material.WHEAT_SEEDS,
+            Material.ROTTEN_FLESH, Material.BONE, Material.STRING, Material.IRON_INGOT
+    };
+    private static final int BURST = 256;
+
+    @Param({"1000", "5000"})
+    public int items;
+
+    private StandInWorld world;
+    private ItemMergeOptimizer merge;
+    private final SplittableRandom random = new SplittableRandom(21);
+    private double[] xs, zs;
+    private Material[] types;
+    private int[] amounts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StandInServer server = StandInServer.install();
+        server.reset();
+        world = server.addWorld("world");
+        SilentaCore plugin = StandInPlugin.create(server);
+        merge = StandInPlugin.enable(plugin, "item-merge-optimization");
+
+        // Piles of 1-8 items around random points, like mob farm outputs and broken blocks
+        xs = new double[items];
+        zs = new double[items];
+        types = new Material[items];
+        amounts = new int[items];
+        for (int i = 0; i < items; ) {
+            double px = random.nextDouble(128), pz = random.nextDouble(128);
+            Material type = DROPS[random.nextInt(DROPS.length)];
+            for (int n = 1 + random.nextInt(8); n > 0 && i < items; n--, i++) {
+                xs[i] = px + random.nextDouble(-1, 1);
+                zs[i] = pz + random.nextDouble(-1, 1);
+                types[i] = type;
+                amounts[i] = 1 + random.nextInt(4);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        merge.disable();
+    }
+
+    private void dropFarm() {
+        world.clearEntities();
+        for (int i = 0; i < items; i++) world.dropItem(xs[i], 64, zs[i], new ItemStack(types[i], amounts[i]));
+    }
+
+    private void reengage() {
+        merge.onLoadLevelChange(LoadLevel.LEVEL1, LoadLevel.VANILLA);
+        merge.onLoadLevelChange(LoadLevel.VANILLA, LoadLevel.LEVEL1);
+    }
+
+    // --- Full sweep over unmerged items ---
+
+    @State(Scope.Thread)
+    public static class Sweep {
+        @Setup(Level.Invocation)
+        public void restore(ItemMergeBenchmark farm) {
+            farm.world.clearEntities();
+            farm.reengage(); // Engaging sweeps right away; do it on an empty world
+            farm.dropFarm();
+        }
+    }
+
+    @Benchmark
+    public void sweep(Sweep state, Blackhole bh) {
+        merge.tick();
+        bh.consume(merge.getLiveIndex().size());
+    }
+
+    // --- Spawn-time coalescing into the live index ---
+
+    @State(Scope.Thread)
+    public static class Burst {
+        StandInEntity[] drops = new StandInEntity[BURST];
+
+        @Setup(Level.Invocation)
+        public void restore(ItemMergeBenchmark farm) {
+            farm.dropFarm();
+            farm.reengage();
+            for (int i = 0; i < BURST; i++) {
+                int at = farm.random.nextInt(farm.items);
+                drops[i] = farm.world.dropItem(farm.xs[at] + farm.random.nextDouble(-0.5, 0.5), 64,
+                        farm.zs[at] + farm.random.nextDouble(-0.5, 0.5), new ItemStack(farm.types[at], 1));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void spawnBurst(Burst state, Blackhole bh) {
+        for (StandInEntity drop : state.drops) {
+            ItemSpawnEvent event = new ItemSpawnEvent(drop.handle(Item.class));
+            merge.onItemSpawn(event);
+            bh.consume(event.isCancelled());
+        }
+    }
+}
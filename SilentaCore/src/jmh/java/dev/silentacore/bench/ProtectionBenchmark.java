@@ -0,0 +1,68 @@
+package dev.silentacore.bench;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.protection.ProtectionManager;
+import dev.silentacore.standin.StandInPlugin;
+import dev.silentacore.standin.StandInServer;
+import dev.silentacore.standin.StandInWorld;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProtectionManager.isChunkProtected} as the redstone and random-tick handlers
+ * call it, over the chunks of a 100-player server.
+ *
+ * Lookups walk 40,000 chunk coordinates (a 200 x 200 chunk area) in a fixed random
+ * order; the protected set is made the way players make it, by breaking blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtectionBenchmark {
+
+    private static final int LOOKUPS = 40_000;
+
+    @Param({"0", "2000"})
+    public int protectedChunks;
+
+    private World world;
+    private ProtectionManager protection;
+    private final int[] cxs = new int[LOOKUPS];
+    private final int[] czs = new int[LOOKUPS];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StandInServer server = StandInServer.install();
+        server.reset();
+        StandInWorld stand = server.addWorld("world");
+        world = stand.handle();
+        SilentaCore plugin = StandInPlugin.create(server);
+        protection = plugin.getProtectionManager();
+
+        SplittableRandom random = new SplittableRandom(21);
+        Player builder = stand.join("Builder", 0, 64, 0).handle(Player.class);
+        while (protection.getProtectedChunkCount() < protectedChunks) {
+            int x = random.nextInt(-1600, 1600), z = random.nextInt(-1600, 1600);
+            protection.onBlockBreak(new BlockBreakEvent(stand.block(x, 64, z), builder));
+        }
+        for (int i = 0; i < LOOKUPS; i++) {
+            cxs[i] = random.nextInt(-100, 100);
+            czs[i] = random.nextInt(-100, 100);
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public void isChunkProtected(Blackhole bh) {
+        int i = cursor;
+        if (++cursor == LOOKUPS) cursor = 0;
+        bh.consume(protection.isChunkProtected(world, cxs[i], czs[i]));
+    }
+}
@@ -0,0 +1,92 @@
+package dev.silentacore.bench;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.optimization.impl.RedstoneOptimizer;
+import dev.silentacore.standin.StandInPlugin;
+import dev.silentacore.standin.StandInServer;
+import dev.silentacore.standin.StandInWorld;
+import org.bukkit.block.Block;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RedstoneOptimizer.onRedstone} against a redstone-heavy base: 64 chunks with
+ * 32 components each, every one pulsing on a 4-tick clock.
+ *
+ * Every event flips one component in round-robin order and the tick advances once
+ * per full pass. At VANILLA the handler only feeds clock detection; at LEVEL3 it also
+ * budgets and defers. {@code dispatched} goes through the server's handler list and
+ * the module's metered executor, as the server would call it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RedstoneBenchmark {
+
+    private static final int CHUNKS = 64;
+    private static final int PER_CHUNK = 32;
+    private static final int COMPONENTS = CHUNKS * PER_CHUNK;
+
+    @Param({"VANILLA", "LEVEL3"})
+    public String level;
+
+    private StandInServer server;
+    private RedstoneOptimizer redstone;
+    private final Block[] blocks = new Block[COMPONENTS];
+    private int cursor;
+    private int tick;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        server = StandInServer.install();
+        server.reset();
+        StandInWorld world = server.addWorld("world");
+        SilentaCore plugin = StandInPlugin.create(server);
+        redstone = StandInPlugin.enable(plugin, "redstone-optimization");
+        redstone.onLoadLevelChange(LoadLevel.VANILLA, LoadLevel.valueOf(level));
+
+        // 8 x 8 chunks, components spread over each chunk's floor
+        for (int i = 0; i < COMPONENTS; i++) {
+            int chunk = i / PER_CHUNK, n = i % PER_CHUNK;
+            int x = (chunk % 8) * 16 + (n % 8) * 2;
+            int z = (chunk / 8) * 16 + (n / 8) * 4;
+            blocks[i] = world.block(x, 64, z);
+        }
+        cursor = 0;
+        tick = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        redstone.disable();
+    }
+
+    private BlockRedstoneEvent next() {
+        int i = cursor;
+        if (++cursor == COMPONENTS) {
+            cursor = 0;
+            server.setCurrentTick(++tick);
+        }
+        // 4-tick clock: on for two ticks, off for two
+        boolean rising = (tick & 2) == 0;
+        return new BlockRedstoneEvent(blocks[i], rising ? 0 : 15, rising ? 15 : 0);
+    }
+
+    @Benchmark
+    public void direct(Blackhole bh) {
+        BlockRedstoneEvent event = next();
+        redstone.onRedstone(event);
+        bh.consume(event.getNewCurrent());
+    }
+
+    @Benchmark
+    public void dispatched(Blackhole bh) {
+        BlockRedstoneEvent event = next();
+        server.callEvent(event);
+        bh.consume(event.getNewCurrent());
+    }
+}
@@ -7,8 +7,11 @@ import dev.silentacore.gui.GuiManager;
 import dev.silentacore.monitor.PerformanceMonitor;
 import dev.silentacore.optimization.OptimizationManager;
 import dev.silentacore.protection.ProtectionManager;
+import dev.silentacore.trace.TraceRecorder;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+
 public class SilentaCore extends JavaPlugin {
 
     private static SilentaCore instance;
@@ -18,6 +21,7 @@ public class SilentaCore extends JavaPlugin {
     private ProtectionManager protectionManager;
     private BackendClient backendClient;
     private GuiManager guiManager;
+    private TraceRecorder traceRecorder;
 
     public static SilentaCore getInstance() {
         return instance;
@@ -37,6 +41,7 @@ public class SilentaCore extends JavaPlugin {
         this.optimizationManager = new OptimizationManager(this);
         this.guiManager = new GuiManager(this);
         this.backendClient = new BackendClient(this);
+        this.traceRecorder = new TraceRecorder(this);
 
         // 3. Register Commands
         SilentaCommand cmd = new SilentaCommand(this);
@@ -47,12 +52,22 @@ public class SilentaCore extends JavaPlugin {
         this.performanceMonitor.startMonitoring();
         this.optimizationManager.enableOptimizations();
         this.backendClient.start();
+        if (configManager.getSnapshot().trace().enabled()) {
+            try {
+                this.traceRecorder.start();
+            } catch (IOException e) {
+                getLogger().severe("Could not start the event trace: " + e.getMessage());
+            }
+        }
 
         getLogger().info("SilentaCore has been enabled. Optimization engine: ACTIVE.");
     }
 
     @Override
     public void onDisable() {
+        if (this.traceRecorder != null) {
+            this.traceRecorder.stop();
+        }
         if (this.backendClient != null) {
             this.backendClient.shutdown();
         }
@@ -86,4 +101,8 @@ public class SilentaCore extends JavaPlugin {
     public GuiManager getGuiManager() {
         return guiManager;
     }
+
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
 }
@@ -1,7 +1,29 @@
                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                             package dev.silentacore.command;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.ChunkHeatCollector;
+import dev.silentacore.monitor.ChunkHeatMap;
+import dev.silentacore.monitor.LoadForecaster;
+import dev.silentacore.monitor.PressureController;
+import dev.silentacore.monitor.TickSampler;
+import dev.silentacore.optimization.ModuleMetrics;
+import dev.silentacore.optimization.TickScheduler;
+import dev.silentacore.optimization.impl.EntityAIOptimizer;
+import dev.silentacore.optimization.impl.HopperOptimizer;
+import dev.silentacore.optimization.impl.HopperTopology;
+import dev.silentacore.optimization.impl.ItemMergeOptimizer;
+import dev.silentacore.optimization.impl.RandomTickOptimizer;
+import dev.silentacore.optimization.impl.RedstoneClockDetector;
+import dev.silentacore.optimization.impl.RedstoneDeferralQueue;
+import dev.silentacore.optimization.impl.RedstoneOptimizer;
+import dev.silentacore.trace.TraceFormat;
+import dev.silentacore.trace.TraceRecorder;
+import dev.silentacore.trace.TraceWriter;
+import dev.silentacore.util.LogLinearHistogram;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -9,6 +31,8 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.util.StringUtil;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -55,6 +79,7 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
                 break;
             case "reload":
                 plugin.getConfigManager().reload();
+                plugin.getPerformanceMonitor().reload();
                 plugin.getOptimizationManager().disableOptimizations();
                 plugin.getOptimizationManager().enableOptimizations(); // Re-apply config state
                 sender.sendMessage(ChatColor.GREEN + "SilentaCore configuration reloaded.");
@@ -62,6 +87,15 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
             case "modules":
                 sendModules(sender);
                 break;
+            case "clocks":
+                sendClocks(sender, args.length > 1 ? args[1] : null);
+                break;
+            case "heatmap":
+                sendHeatMap(sender, args.length > 1 ? args[1] : null);
+                break;
+            case "trace":
+                handleTrace(sender, args.length > 1 ? args[1].toLowerCase() : "");
+                break;
             case "toggle":
                 if (args.length < 2) {
                     sender.sendMessage(ChatColor.RED + "Usage: /sc toggle <module>");
@@ -88,6 +122,9 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
             if (hasPermission(sender, "reload")) subs.add("reload");
             if (hasPermission(sender, "modules")) subs.add("modules");
             if (hasPermission(sender, "toggle")) subs.add("toggle");
+            if (hasPermission(sender, "clocks")) subs.add("clocks");
+            if (hasPermission(sender, "heatmap")) subs.add("heatmap");
+            if (hasPermission(sender, "trace")) subs.add("trace");
             
             StringUtil.copyPartialMatches(args[0], subs, completions);
         } else if (args.length == 2) {
@@ -95,6 +132,10 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
                 if (hasPermission(sender, "toggle")) {
                     StringUtil.copyPartialMatches(args[1], plugin.getOptimizationManager().getKeys(), completions);
                 }
+            } else if (args[0].equalsIgnoreCase("trace")) {
+                if (hasPermission(sender, "trace")) {
+                    StringUtil.copyPartialMatches(args[1], List.of("start", "stop"), completions);
+                }
             }
         }
         
@@ -111,6 +152,9 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
             case "reload" -> sender.hasPermission("silentacore.reload");
             case "modules" -> sender.hasPermission("silentacore.modules");
             case "toggle" -> sender.hasPermission("silentacore.toggle");
+            case "clocks" -> sender.hasPermission("silentacore.clocks");
+            case "heatmap" -> sender.hasPermission("silentacore.heatmap");
+            case "trace" -> sender.hasPermission("silentacore.trace");
             default -> false;
         };
     }
@@ -121,6 +165,9 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
         if (hasPermission(sender, "status")) sender.sendMessage(ChatColor.YELLOW + "/sc status" + ChatColor.WHITE + " - View performance stats");
         if (hasPermission(sender, "modules")) sender.sendMessage(ChatColor.YELLOW + "/sc modules" + ChatColor.WHITE + " - List all modules");
         if (hasPermission(sender, "toggle")) sender.sendMessage(ChatColor.YELLOW + "/sc toggle <module>" + ChatColor.WHITE + " - Toggle a module");
+        if (hasPermission(sender, "clocks")) sender.sendMessage(ChatColor.YELLOW + "/sc clocks [count]" + ChatColor.WHITE + " - Show the busiest redstone clocks");
+        if (hasPermission(sender, "heatmap")) sender.sendMessage(ChatColor.YELLOW + "/sc heatmap [count]" + ChatColor.WHITE + " - Show the most expensive chunks");
+        if (hasPermission(sender, "trace")) sender.sendMessage(ChatColor.YELLOW + "/sc trace [start|stop]" + ChatColor.WHITE + " - Record events for offline replay");
         if (hasPermission(sender, "reload")) sender.sendMessage(ChatColor.YELLOW + "/sc reload" + ChatColor.WHITE + " - Reload configuration");
     }
 
@@ -165,12 +212,277 @@ public class SilentaCommand implements CommandExecutor, TabCompleter {
         
         sender.sendMessage(ChatColor.GOLD + "--- SilentaCore Status ---");
         sender.sendMessage(ChatColor.GRAY + "TPS: " + color + String.format("%.2f", tps));
+
+        TickSampler sampler = plugin.getPerformanceMonitor().getSampler();
+        if (sampler.hasSamples()) {
+            sender.sendMessage(ChatColor.GRAY + "MSPT: " + msptColor(sampler.getMspt()) + String.format("%.1f", sampler.getMspt())
+                    + ChatColor.GRAY + " (5s " + msptColor(sampler.getMean5s()) + String.format("%.1f", sampler.getMean5s())
+                    + ChatColor.GRAY + ", 30s " + msptColor(sampler.getMean30s()) + String.format("%.1f", sampler.getMean30s())
+                    + ChatColor.GRAY + ", 60s " + msptColor(sampler.getMean60s()) + String.format("%.1f", sampler.getMean60s())
+                    + ChatColor.GRAY + ")");
+            sender.sendMessage(ChatColor.GRAY + "Percentiles: p50 " + msptColor(sampler.getP50()) + String.format("%.1f", sampler.getP50())
+                    + ChatColor.GRAY + ", p95 " + msptColor(sampler.getP95()) + String.format("%.1f", sampler.getP95())
+                    + ChatColor.GRAY + ", p99 " + msptColor(sampler.getP99()) + String.format("%.1f", sampler.getP99()));
+        }
+        sender.sendMessage(ChatColor.GRAY + "Load Signal: " + ChatColor.WHITE + plugin.getPerformanceMonitor().getLoadSignal().getKey()
+                + ChatColor.GRAY + " (" + String.format("%.2f", plugin.getPerformanceMonitor().getLoadTps()) + " TPS)");
         
-        boolean l1 = plugin.getPerformanceMonitor().isLevel1();
-        boolean l2 = plugin.getPerformanceMonitor().isLevel2();
-        boolean l3 = plugin.getPerformanceMonitor().isLevel3();
-        
-        String level = l3 ? "Level 3 (Emergency)" : l2 ? "Level 2 (Moderate)" : l1 ? "Level 1 (Light)" : "Idle (Vanilla)";
+        String level = plugin.getPerformanceMonitor().getLevel().getDisplayName();
         sender.sendMessage(ChatColor.GRAY + "Optimization Level: " + ChatColor.AQUA + level);
+
+        LoadForecaster forecast = plugin.getPerformanceMonitor().getForecaster();
+        if (forecast.isReady()) {
+            sender.sendMessage(ChatColor.GRAY + "Forecast (" + forecast.getHorizon() + "s): MSPT "
+                    + msptColor(forecast.getMspt().getLevel()) + String.format("%.1f", forecast.getMspt().getLevel())
+                    + ChatColor.GRAY + " -> " + msptColor(forecast.getMsptForecast()) + String.format("%.1f", forecast.getMsptForecast())
+                    + ChatColor.GRAY + String.format(" (%+.2f/s), entities ", forecast.getMspt().getTrend())
+                    + ChatColor.WHITE + forecast.getEntityCount() + ChatColor.GRAY + " -> "
+                    + ChatColor.WHITE + String.format("%.0f", forecast.getEntityForecast())
+                    + (forecast.isCrossingPredicted() ? ChatColor.YELLOW + " [engaging early]" : ""));
+            sender.sendMessage(ChatColor.GRAY + "Forecast Accuracy: " + ChatColor.WHITE + String.format("%.1f", forecast.getMsptError())
+                    + ChatColor.GRAY + "ms / " + ChatColor.WHITE + String.format("%.0f", forecast.getEntityError())
+                    + ChatColor.GRAY + " entities mean error, crossings " + ChatColor.WHITE + forecast.getHits()
+                    + ChatColor.GRAY + " predicted, " + ChatColor.WHITE + forecast.getFalseAlarms()
+                    + ChatColor.GRAY + " false alarms, " + ChatColor.WHITE + forecast.getMisses() + ChatColor.GRAY + " missed");
+        }
+
+        PressureController pressure = plugin.getPerformanceMonitor().getPressureController();
+        if (pressure.isEnabled()) {
+            sender.sendMessage(ChatColor.GRAY + "Pressure: " + ChatColor.AQUA + String.format("%.2f", pressure.getPressure())
+                    + ChatColor.GRAY + " (target " + ChatColor.WHITE + String.format("%.0f", pressure.getTargetMspt())
+                    + ChatColor.GRAY + "ms, smoothed " + msptColor(pressure.getSmoothedMspt()) + String.format("%.1f", pressure.getSmoothedMspt())
+                    + ChatColor.GRAY + "ms, integral " + ChatColor.WHITE + String.format("%.2f", pressure.getIntegral())
+                    + ChatColor.GRAY + ")");
+        }
+
+        sender.sendMessage(ChatColor.GRAY + "Schedule:");
+        TickScheduler scheduler = plugin.getOptimizationManager().getScheduler();
+        for (String key : plugin.getOptimizationManager().getKeys()) {
+            if (!plugin.getOptimizationManager().isEnabled(key)) continue;
+            String name = plugin.getOptimizationManager().getOptimizer(key).getName();
+            TickScheduler.Entry entry = scheduler.getEntry(key);
+            if (entry == null) {
+                sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + name + ChatColor.DARK_GRAY + ": event driven");
+            } else {
+                sender.sendMessage(ChatColor.GRAY + " - " + ChatColor.WHITE + name + ChatColor.DARK_GRAY
+                        + ": every " + entry.getEffectivePeriod() + " ticks, offset " + entry.getOffset());
+            }
+            sendCost(sender, plugin.getOptimizationManager().getMetrics(key));
+        }
+
+        sender.sendMessage(ChatColor.GRAY + "Protected: " + ChatColor.WHITE + plugin.getProtectionManager().getProtectedChunkCount()
+                + ChatColor.GRAY + " chunks, " + ChatColor.WHITE + plugin.getProtectionManager().getProtectedEntityCount() + ChatColor.GRAY + " entities, "
+                + ChatColor.WHITE + plugin.getProtectionManager().getAfkTracker().getAfkCount() + ChatColor.GRAY + "/"
+                + plugin.getProtectionManager().getAfkTracker().getTrackedCount() + " players AFK");
+
+        if (plugin.getOptimizationManager().isEnabled("hopper-optimization")
+                && plugin.getOptimizationManager().getOptimizer("hopper-optimization") instanceof HopperOptimizer hoppers) {
+            HopperTopology topology = hoppers.getTopology();
+            sender.sendMessage(ChatColor.GRAY + "Hoppers: " + ChatColor.WHITE + topology.getChainCount() + ChatColor.GRAY + " chains, "
+                    + ChatColor.WHITE + topology.getSorterCount() + ChatColor.GRAY + " sorters, "
+                    + ChatColor.WHITE + topology.getIdleCount() + ChatColor.GRAY + " idle, "
+                    + ChatColor.WHITE + hoppers.getShortCircuited() + ChatColor.GRAY + " events short-circuited, delay "
+                    + ChatColor.WHITE + hoppers.getCurrentThrottleTicks() + ChatColor.GRAY + " ticks");
+        }
+
+        if (plugin.getOptimizationManager().isEnabled("random-tick-optimization")
+                && plugin.getOptimizationManager().getOptimizer("random-tick-optimization") instanceof RandomTickOptimizer randomTick) {
+            sender.sendMessage(ChatColor.GRAY + "Random Ticks: " + ChatColor.WHITE
+                    + String.format("%.0f%%", randomTick.getAllowedRatio() * 100) + ChatColor.GRAY + " growth in throttled chunks, pressure "
+                    + ChatColor.WHITE + String.format("%.2f", randomTick.getPressure()) + ChatColor.GRAY + ", "
+                    + ChatColor.WHITE + randomTick.getTileEntities().getTrackedChunks() + ChatColor.GRAY + " chunks counted");
+        }
+
+        if (plugin.getOptimizationManager().isEnabled("item-merge-optimization")
+                && plugin.getOptimizationManager().getOptimizer("item-merge-optimization") instanceof ItemMergeOptimizer merge) {
+            sender.sendMessage(ChatColor.GRAY + "Items: " + ChatColor.WHITE + merge.getLiveIndex().size() + ChatColor.GRAY + " indexed in "
+                    + ChatColor.WHITE + merge.getLiveIndex().getChunkCount() + ChatColor.GRAY + " chunks, "
+                    + ChatColor.WHITE + merge.getSpawnMerged() + ChatColor.GRAY + " merged at spawn, "
+                    + ChatColor.WHITE + merge.getSpawnsCancelled() + ChatColor.GRAY + " spawns avoided, radius "
+                    + ChatColor.WHITE + String.format("%.1f", merge.getRadius()));
+        }
+
+        if (plugin.getOptimizationManager().isEnabled("entity-ai-optimization")
+                && plugin.getOptimizationManager().getOptimizer("entity-ai-optimization") instanceof EntityAIOptimizer ai) {
+            EntityAIOptimizer.ScanStats scan = ai.getLastScan();
+            sender.sendMessage(ChatColor.GRAY + "AI Scan: " + ChatColor.WHITE + scan.chunksScanned() + "/" + scan.chunksTotal()
+                    + " chunks" + ChatColor.GRAY + " (" + String.format("%.0f%%", scan.coverage() * 100) + " coverage), "
+                    + ChatColor.WHITE + scan.mobsChecked() + ChatColor.GRAY + " mobs over "
+                    + ChatColor.WHITE + scan.ticks() + ChatColor.GRAY + " ticks"
+                    + (ai.isScanning() ? ChatColor.YELLOW + " [running]" : ""));
+            sender.sendMessage(ChatColor.GRAY + "AI Scan Budget: " + ChatColor.WHITE
+                    + String.format("%.2f", scan.budgetNanos() / 1_000_000.0) + "ms/tick" + ChatColor.GRAY
+                    + ", max slice " + String.format("%.2f", scan.maxSliceNanos() / 1_000_000.0) + "ms"
+                    + ", total " + String.format("%.2f", scan.nanos() / 1_000_000.0) + "ms");
+            sender.sendMessage(ChatColor.GRAY + "AI Proximity: " + ChatColor.WHITE + ai.getProximity().getNearChunkCount()
+                    + ChatColor.GRAY + " near chunks (range " + ChatColor.WHITE + ai.getCurrentRange() + ChatColor.GRAY + "), "
+                    + ChatColor.WHITE + ai.getProximity().getTrackedPlayerCount()
+                    + ChatColor.GRAY + " active players, " + ChatColor.WHITE + ai.getFlipsApplied()
+                    + ChatColor.GRAY + " flips applied, " + ChatColor.WHITE + ai.getMobsToggled() + ChatColor.GRAY + " mobs toggled"
+                    + (ai.getProximity().hasFlips() ? ChatColor.YELLOW + " [" + ai.getProximity().getFlipBacklog() + " queued]" : ""));
+            long now = Bukkit.getCurrentTick();
+            sender.sendMessage(ChatColor.GRAY + "AI Sleeping: " + ChatColor.WHITE + ai.getSleeping().size()
+                    + ChatColor.GRAY + " mobs, avg " + ChatColor.WHITE + String.format("%.1fs", ai.getSleeping().getAverageAge(now) / 20.0)
+                    + ChatColor.GRAY + ", longest " + ChatColor.WHITE + String.format("%.1fs", ai.getSleeping().getOldestAge(now) / 20.0));
+        }
+    }
+
+    private void sendClocks(CommandSender sender, String countArg) {
+        if (!plugin.getOptimizationManager().isEnabled("redstone-optimization")
+                || !(plugin.getOptimizationManager().getOptimizer("redstone-optimization") instanceof RedstoneOptimizer redstone)) {
+            sender.sendMessage(ChatColor.RED + "Redstone optimization is disabled.");
+            return;
+        }
+
+        int count = 5;
+        if (countArg != null) {
+            try {
+                count = Math.max(1, Math.min(50, Integer.parseInt(countArg)));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Usage: /sc clocks [count]");
+                return;
+            }
+        }
+
+        RedstoneClockDetector detector = redstone.getClockDetector();
+        List<RedstoneClockDetector.ClockReport> reports = detector.top(count, Bukkit.getCurrentTick());
+        sender.sendMessage(ChatColor.GOLD + "--- Redstone Clocks ---");
+        if (reports.isEmpty()) sender.sendMessage(ChatColor.GRAY + "No running clocks detected.");
+
+        double perSecond = 20.0 / detector.getWindowTicks();
+        int rank = 1;
+        for (RedstoneClockDetector.ClockReport report : reports) {
+            long block = report.sampleBlock();
+            World world = WorldKeys.world(WorldKeys.blockWorldSlot(block));
+            sender.sendMessage(ChatColor.YELLOW + "#" + rank++ + " " + ChatColor.WHITE
+                    + (world != null ? world.getName() : "?") + " " + WorldKeys.blockX(block) + ", "
+                    + WorldKeys.blockY(block) + ", " + WorldKeys.blockZ(block)
+                    + ChatColor.GRAY + " - " + ChatColor.WHITE + report.clocks() + ChatColor.GRAY + " clock blocks, period "
+                    + ChatColor.WHITE + report.shortestPeriod() + "t" + ChatColor.GRAY + ", "
+                    + ChatColor.WHITE + String.format("%.1f", report.transitions() * perSecond) + ChatColor.GRAY + " updates/s in chunk");
+        }
+        RedstoneDeferralQueue queue = redstone.getDeferred();
+        sender.sendMessage(ChatColor.GRAY + "Deferred: " + ChatColor.WHITE + queue.size() + ChatColor.GRAY + " waiting, "
+                + ChatColor.WHITE + queue.getDeferred() + ChatColor.GRAY + " deferred, "
+                + ChatColor.WHITE + queue.getReplayed() + ChatColor.GRAY + " replayed, "
+                + ChatColor.WHITE + queue.getStale() + ChatColor.GRAY + " superseded, "
+                + ChatColor.WHITE + queue.getUnloaded() + ChatColor.GRAY + " unloaded");
+    }
+
+    private void sendHeatMap(CommandSender sender, String countArg) {
+        ChunkHeatCollector heat = plugin.getPerformanceMonitor().getHeat();
+        if (!heat.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "The heat map is disabled.");
+            return;
+        }
+
+        int count = 10;
+        if (countArg != null) {
+            try {
+                count = Math.max(1, Math.min(50, Integer.parseInt(countArg)));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Usage: /sc heatmap [count]");
+                return;
+            }
+        }
+
+        ChunkHeatMap map = heat.getHeatMap();
+        List<ChunkHeatMap.HotChunk> hottest = map.top(count, Bukkit.getCurrentTick());
+        sender.sendMessage(ChatColor.GOLD + "--- Chunk Heat Map ---" + ChatColor.GRAY + " (" + map.size() + " chunks, half-life "
+                + map.getHalfLifeTicks() / 20 + "s)");
+        if (hottest.isEmpty()) sender.sendMessage(ChatColor.GRAY + "No hot chunks.");
+
+        int rank = 1;
+        for (ChunkHeatMap.HotChunk hot : hottest) {
+            World world = WorldKeys.world(WorldKeys.worldSlot(hot.chunkKey()));
+            int chunkX = WorldKeys.chunkX(hot.chunkKey()), chunkZ = WorldKeys.chunkZ(hot.chunkKey());
+            StringBuilder parts = new StringBuilder();
+            for (ChunkHeatMap.Source source : ChunkHeatMap.Source.values()) {
+                double part = hot.parts()[source.ordinal()];
+                if (part < 0.05) continue;
+                if (parts.length() > 0) parts.append(", ");
+                parts.append(source.getDisplayName()).append(' ').append(String.format("%.1f", part));
+            }
+            sender.sendMessage(ChatColor.YELLOW + "#" + rank++ + " " + ChatColor.WHITE
+                    + (world != null ? world.getName() : "?") + " " + (chunkX << 4) + ", " + (chunkZ << 4)
+                    + ChatColor.GRAY + " (chunk " + chunkX + ", " + chunkZ + ") - score " + ChatColor.WHITE + String.format("%.1f", hot.score())
+                    + ChatColor.GRAY + ", mostly " + ChatColor.AQUA + hot.getMainSource().getDisplayName());
+            sender.sendMessage(ChatColor.DARK_GRAY + "     " + parts);
+        }
+    }
+
+    private void handleTrace(CommandSender sender, String action) {
+        TraceRecorder recorder = plugin.getTraceRecorder();
+        switch (action) {
+            case "start" -> {
+                try {
+                    if (!recorder.start()) {
+                        sender.sendMessage(ChatColor.RED + "An event trace is already recording.");
+                        return;
+                    }
+                } catch (IOException e) {
+                    sender.sendMessage(ChatColor.RED + "Could not start the event trace: " + e.getMessage());
+                    return;
+                }
+                TraceWriter writer = recorder.getWriter();
+                sender.sendMessage(ChatColor.GREEN + "Recording events to " + writer.getDirectory() + File.separator
+                        + writer.getPrefix() + "-*" + TraceFormat.SUFFIX);
+            }
+            case "stop" -> {
+                TraceWriter writer = recorder.stop();
+                if (writer == null) {
+                    sender.sendMessage(ChatColor.RED + "No event trace is recording.");
+                    return;
+                }
+                sender.sendMessage(ChatColor.GREEN + "Event trace stopped: " + writer.getRecordCount() + " records in "
+                        + writer.getSegmentCount() + " segments under " + writer.getDirectory());
+            }
+            default -> {
+                TraceWriter writer = recorder.getWriter();
+                if (writer == null) {
+                    sender.sendMessage(ChatColor.GRAY + "Event trace: " + ChatColor.WHITE + "not recording"
+                            + ChatColor.GRAY + " (/sc trace start)");
+                } else {
+                    sender.sendMessage(ChatColor.GRAY + "Event trace: " + ChatColor.GREEN + "recording " + ChatColor.WHITE
+                            + writer.getPrefix() + ChatColor.GRAY + ", " + ChatColor.WHITE + writer.getRecordCount()
+                            + ChatColor.GRAY + " records (" + String.format("%.1f", writer.getRecordCount() * TraceFormat.RECORD_SIZE / 1048576.0)
+                            + " MB) in " + ChatColor.WHITE + writer.getSegmentCount() + ChatColor.GRAY + " segments");
+                }
+            }
+        }
+    }
+
+    // Timings, tick share and action counters of one module, under its schedule line
+    private void sendCost(CommandSender sender, ModuleMetrics metrics) {
+        LogLinearHistogram ticks = metrics.getTickTimes();
+        LogLinearHistogram events = metrics.getEventTimes();
+        StringBuilder cost = new StringBuilder(ChatColor.DARK_GRAY + "     ");
+        if (ticks.getCount() > 0) {
+            cost.append("tick p50 ").append(ModuleMetrics.formatNanos(ticks.getPercentile(0.5)))
+                    .append(" p99 ").append(ModuleMetrics.formatNanos(ticks.getPercentile(0.99))).append(", ");
+        }
+        if (events.getCount() > 0) {
+            cost.append(events.getCount()).append(" events p50 ").append(ModuleMetrics.formatNanos(events.getPercentile(0.5)))
+                    .append(" p99 ").append(ModuleMetrics.formatNanos(events.getPercentile(0.99))).append(", ");
+        }
+        cost.append(String.format("%.2f%% of tick", metrics.getLastShare() * 100));
+        if (metrics.getBackoff() > 0) {
+            cost.append(ChatColor.YELLOW).append(" [backed off to 1/").append(1 << metrics.getBackoff())
+                    .append(", ").append(metrics.getSkipped()).append(" skipped]");
+        }
+        sender.sendMessage(cost.toString());
+
+        if (metrics.getCounterCount() > 0) {
+            StringBuilder actions = new StringBuilder(ChatColor.DARK_GRAY + "     ");
+            for (int i = 0; i < metrics.getCounterCount(); i++) {
+                if (i > 0) actions.append(", ");
+                actions.append(metrics.getCounter(i)).append(' ').append(metrics.getCounterName(i));
+            }
+            sender.sendMessage(actions.toString());
+        }
+    }
+
+    private ChatColor msptColor(double mspt) {
+        return mspt < 40.0 ? ChatColor.GREEN : mspt < 50.0 ? ChatColor.YELLOW : ChatColor.RED;
     }
 }
@@ -7,31 +7,39 @@ public class ConfigManager {
 
     private final SilentaCore plugin;
     private FileConfiguration config;
+    // Compiled view for hot paths, swapped atomically on reload
+    private volatile ConfigSnapshot snapshot;
 
     public ConfigManager(SilentaCore plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfig();
+        this.snapshot = ConfigSnapshot.compile(config);
     }
 
     public void reload() {
         plugin.reloadConfig();
         this.config = plugin.getConfig();
+        this.snapshot = ConfigSnapshot.compile(config);
+    }
+
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public boolean isDebug() {
-        return config.getBoolean("debug", false);
+        return snapshot.debug();
     }
 
     public double getLevel1Tps() {
-        return config.getDouble("monitoring.level1-tps", 19.5);
+        return snapshot.monitoring().level1Tps();
     }
 
     public double getLevel2Tps() {
-        return config.getDouble("monitoring.level2-tps", 18.0);
+        return snapshot.monitoring().level2Tps();
     }
 
     public double getLevel3Tps() {
-        return config.getDouble("monitoring.level3-tps", 16.0);
+        return snapshot.monitoring().level3Tps();
     }
 
     // Generic getters
@@ -50,6 +58,14 @@ public class ConfigManager {
     public double getDouble(String path) {
         return config.getDouble(path);
     }
+
+    public double getDouble(String path, double def) {
+        return config.getDouble(path, def);
+    }
+
+    public String getString(String path, String def) {
+        return config.getString(path, def);
+    }
     
     public java.util.List<String> getStringList(String path) {
         return config.getStringList(path);
@@ -0,0 +1,223 @@
+package dev.silentacore.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.List;
+
+/**
+ * Typed, immutable view of config.yml.
+ *
+ * Compiled once on load and on every reload, then published by {@link ConfigManager}
+ * through a single volatile reference. Event handlers read plain fields from it
+ * instead of walking YAML paths.
+ */
+public final class ConfigSnapshot {
+
+    private final boolean debug;
+    private final Monitoring monitoring;
+    private final Pressure pressure;
+    private final Forecast forecast;
+    private final OverheadGuard overheadGuard;
+    private final HeatMap heatMap;
+    private final Trace trace;
+    private final Hopper hopper;
+    private final EntityAi entityAi;
+    private final RandomTick randomTick;
+    private final Redstone redstone;
+    private final ItemMerge itemMerge;
+    private final Protection builderProtection;
+    private final Protection combatProtection;
+    private final Afk afk;
+
+    private ConfigSnapshot(FileConfiguration config) {
+        this.debug = config.getBoolean("debug", false);
+        this.monitoring = new Monitoring(
+                config.getString("monitoring.load-signal", "mspt-5s"),
+                config.getInt("monitoring.percentile-window", 200),
+                config.getDouble("monitoring.level1-tps", 19.5),
+                config.getDouble("monitoring.level2-tps", 18.0),
+                config.getDouble("monitoring.level3-tps", 16.0),
+                config.getDouble("monitoring.hysteresis-tps", 0.5),
+                config.getInt("monitoring.min-dwell-ticks", 200));
+        this.pressure = new Pressure(
+                config.getBoolean("pressure-controller.enabled", true),
+                config.getDouble("pressure-controller.target-mspt", 45.0),
+                config.getDouble("pressure-controller.kp", 0.3),
+                config.getDouble("pressure-controller.ki", 0.15),
+                config.getInt("pressure-controller.smoothing-ticks", 10));
+        this.forecast = new Forecast(
+                config.getBoolean("forecast.enabled", true),
+                config.getInt("forecast.horizon-seconds", 5),
+                config.getDouble("forecast.alpha", 0.5),
+                config.getDouble("forecast.beta", 0.3),
+                config.getDouble("forecast.damping", 0.9),
+                config.getDouble("forecast.engage-mspt", 50.0),
+                config.getInt("forecast.entity-threshold", 0));
+        this.overheadGuard = new OverheadGuard(
+                config.getBoolean("overhead-guard.enabled", true),
+                config.getDouble("overhead-guard.max-tick-share", 0.05),
+                Math.max(0, Math.min(config.getInt("overhead-guard.max-backoff", 3), 6)));
+        this.heatMap = new HeatMap(
+                config.getBoolean("heatmap.enabled", true),
+                config.getInt("heatmap.half-life-seconds", 30),
+                config.getInt("heatmap.sample-rate", 4),
+                config.getInt("heatmap.sample-interval", 100),
+                config.getInt("heatmap.tile-entity-chunks", 64),
+                config.getInt("heatmap.max-chunks", 65536),
+                config.getInt("heatmap.push-interval", 1200),
+                config.getInt("heatmap.push-count", 10));
+        this.trace = new Trace(
+                config.getBoolean("trace.enabled", false),
+                config.getString("trace.directory", "traces"),
+                Math.max(1, config.getInt("trace.segment-size-mb", 64)),
+                Math.max(1, config.getInt("trace.max-size-mb", 2048)));
+        this.hopper = new Hopper(
+                config.getBoolean("hopper-optimization.enabled"),
+                config.getInt("hopper-optimization.throttle-delay.level1", 10),
+                config.getInt("hopper-optimization.throttle-delay.level2", 20),
+                config.getInt("hopper-optimization.throttle-delay.level3", 40),
+                config.getInt("hopper-optimization.check-interval.level1", 5),
+                config.getInt("hopper-optimization.check-interval.level2", 10),
+                config.getInt("hopper-optimization.check-interval.level3", 20));
+        this.entityAi = new EntityAi(
+                config.getBoolean("entity-ai-optimization.enabled"),
+                config.getInt("entity-ai-optimization.activation-range", 32),
+                config.getInt("entity-ai-optimization.min-activation-range", 16),
+                List.copyOf(config.getStringList("entity-ai-optimization.exclude-types")),
+                config.getInt("entity-ai-optimization.check-interval", 100),
+                config.getInt("entity-ai-optimization.scan-budget-us", 2000),
+                config.getInt("entity-ai-optimization.sweep-interval", 1200));
+        this.randomTick = new RandomTick(
+                config.getBoolean("random-tick-optimization.enabled"),
+                config.getInt("random-tick-optimization.min-random-tick-speed", 1),
+                config.getInt("random-tick-optimization.tile-entity-threshold", 64),
+                config.getDouble("random-tick-optimization.full-scale-mspt", 100.0));
+        this.redstone = new Redstone(
+                config.getBoolean("redstone-optimization.enabled"),
+                config.getBoolean("redstone-optimization.cache-states", true),
+                config.getBoolean("redstone-optimization.suppress-updates-on-lag"),
+                config.getInt("redstone-optimization.clock-detection.window-ticks", 100),
+                config.getInt("redstone-optimization.clock-detection.max-period", 40),
+                config.getInt("redstone-optimization.clock-detection.confirm-cycles", 4),
+                config.getInt("redstone-optimization.clock-detection.chunk-threshold", 40),
+                config.getInt("redstone-optimization.chunk-budget", 64),
+                config.getInt("redstone-optimization.replay-per-tick", 256));
+        this.itemMerge = new ItemMerge(
+                config.getBoolean("item-merge-optimization.enabled"),
+                config.getDouble("item-merge-optimization.radius", 3.5),
+                config.getDouble("item-merge-optimization.max-radius", 6.0),
+                config.getInt("item-merge-optimization.check-interval", 40),
+                config.getInt("item-merge-optimization.max-stack-size", 64));
+        this.builderProtection = new Protection(
+                config.getBoolean("builder-protection.enabled"),
+                config.getInt("builder-protection.exemption-duration", 30));
+        this.combatProtection = new Protection(
+                config.getBoolean("combat-protection.enabled"),
+                config.getInt("combat-protection.exemption-duration", 15));
+        this.afk = new Afk(
+                config.getBoolean("afk-optimization.enabled"),
+                config.getInt("afk-optimization.afk-timeout", 300),
+                config.getBoolean("afk-optimization.reduce-view-distance"));
+    }
+
+    public static ConfigSnapshot compile(FileConfiguration config) {
+        return new ConfigSnapshot(config);
+    }
+
+    public boolean debug() {
+        return debug;
+    }
+
+    public Monitoring monitoring() {
+        return monitoring;
+    }
+
+    public Pressure pressure() {
+        return pressure;
+    }
+
+    public Forecast forecast() {
+        return forecast;
+    }
+
+    public OverheadGuard overheadGuard() {
+        return overheadGuard;
+    }
+
+    public HeatMap heatMap() {
+        return heatMap;
+    }
+
+    public Trace trace() {
+        return trace;
+    }
+
+    public Hopper hopper() {
+        return hopper;
+    }
+
+    public EntityAi entityAi() {
+        return entityAi;
+    }
+
+    public RandomTick randomTick() {
+        return randomTick;
+    }
+
+    public Redstone redstone() {
+        return redstone;
+    }
+
+    public ItemMerge itemMerge() {
+        return itemMerge;
+    }
+
+    public Protection builderProtection() {
+        return builderProtection;
+    }
+
+    public Protection combatProtection() {
+        return combatProtection;
+    }
+
+    public Afk afk() {
+        return afk;
+    }
+
+    // --- Sections ---
+
+    public record Monitoring(String loadSignal, int percentileWindow,
+                             double level1Tps, double level2Tps, double level3Tps,
+                             double hysteresisTps, int minDwellTicks) {}
+
+    public record Pressure(boolean enabled, double targetMspt, double kp, double ki, int smoothingTicks) {}
+
+    public record Forecast(boolean enabled, int horizonSeconds, double alpha, double beta, double damping,
+                           double engageMspt, int entityThreshold) {}
+
+    public record OverheadGuard(boolean enabled, double maxTickShare, int maxBackoff) {}
+
+    public record HeatMap(boolean enabled, int halfLifeSeconds, int sampleRate, int sampleInterval,
+                          int tileEntityChunks, int maxChunks, int pushInterval, int pushCount) {}
+
+    public record Trace(boolean enabled, String directory, int segmentSizeMb, int maxSizeMb) {}
+
+    public record Hopper(boolean enabled,
+                         int throttleDelayLevel1, int throttleDelayLevel2, int throttleDelayLevel3,
+                         int checkIntervalLevel1, int checkIntervalLevel2, int checkIntervalLevel3) {}
+
+    public record EntityAi(boolean enabled, int activationRange, int minActivationRange, List<String> excludeTypes, int checkInterval,
+                           int scanBudgetMicros, int sweepInterval) {}
+
+    public record RandomTick(boolean enabled, int minRandomTickSpeed, int tileEntityThreshold, double fullScaleMspt) {}
+
+    public record Redstone(boolean enabled, boolean cacheStates, boolean suppressUpdatesOnLag,
+                           int clockWindowTicks, int clockMaxPeriod, int clockConfirmCycles, int clockChunkThreshold,
+                           int chunkBudget, int replayPerTick) {}
+
+    public record ItemMerge(boolean enabled, double radius, double maxRadius, int checkInterval, int maxStackSize) {}
+
+    public record Protection(boolean enabled, int exemptionDuration) {}
+
+    public record Afk(boolean enabled, int afkTimeout, boolean reduceViewDistance) {}
+}
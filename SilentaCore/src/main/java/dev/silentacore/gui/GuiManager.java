@@ -1,7 +1,11 @@
 package dev.silentacore.gui;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.monitor.TickSampler;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.util.LogLinearHistogram;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -40,7 +44,8 @@ public class GuiManager implements Listener {
             Optimizer opt = plugin.getOptimizationManager().getOptimizer(key);
             boolean enabled = plugin.getOptimizationManager().isEnabled(key);
             
-            gui.setItem(moduleSlots[index++], createModuleItem(opt.getName(), key, enabled));
+            gui.setItem(moduleSlots[index++], createModuleItem(opt.getName(), key, enabled,
+                    plugin.getOptimizationManager().getMetrics(key)));
         }
 
         // 2. Info Item (Center Top)
@@ -119,7 +124,7 @@ public class GuiManager implements Listener {
         }
     }
 
-    private ItemStack createModuleItem(String name, String key, boolean enabled) {
+    private ItemStack createModuleItem(String name, String key, boolean enabled, ModuleMetrics metrics) {
         // Use different materials for better visuals
         Material mat = enabled ? Material.LIME_CONCRETE : Material.RED_CONCRETE;
         ItemStack item = new ItemStack(mat);
@@ -129,6 +134,23 @@ public class GuiManager implements Listener {
         List<String> lore = new ArrayList<>();
         lore.add(ChatColor.DARK_GRAY + "------------------------");
         lore.add(ChatColor.GRAY + "Status: " + (enabled ? ChatColor.GREEN + "ENABLED" : ChatColor.RED + "DISABLED"));
+        if (enabled) {
+            LogLinearHistogram ticks = metrics.getTickTimes();
+            LogLinearHistogram events = metrics.getEventTimes();
+            lore.add(ChatColor.GRAY + "Cost: " + ChatColor.WHITE + String.format("%.2f%%", metrics.getLastShare() * 100)
+                    + ChatColor.GRAY + " of tick" + (metrics.getBackoff() > 0
+                    ? ChatColor.YELLOW + " (backed off 1/" + (1 << metrics.getBackoff()) + ")" : ""));
+            if (ticks.getCount() > 0) {
+                lore.add(ChatColor.GRAY + "Tick p99: " + ChatColor.WHITE + ModuleMetrics.formatNanos(ticks.getPercentile(0.99)));
+            }
+            if (events.getCount() > 0) {
+                lore.add(ChatColor.GRAY + "Event p99: " + ChatColor.WHITE + ModuleMetrics.formatNanos(events.getPercentile(0.99))
+                        + ChatColor.DARK_GRAY + " (" + events.getCount() + ")");
+            }
+            for (int i = 0; i < metrics.getCounterCount(); i++) {
+                lore.add(ChatColor.GRAY + metrics.getCounterName(i) + ": " + ChatColor.WHITE + metrics.getCounter(i));
+            }
+        }
         lore.add("");
         lore.add(ChatColor.YELLOW + "Click to toggle");
         lore.add(ChatColor.DARK_GRAY + key); // Hidden key at bottom
@@ -149,10 +171,23 @@ public class GuiManager implements Listener {
         
         lore.add(ChatColor.DARK_GRAY + "------------------------");
         lore.add(ChatColor.GRAY + "TPS: " + tpsColor + String.format("%.2f", tps));
+
+        TickSampler sampler = plugin.getPerformanceMonitor().getSampler();
+        if (sampler.hasSamples()) {
+            double mspt = sampler.getMean5s();
+            ChatColor msptColor = mspt < 40.0 ? ChatColor.GREEN : mspt < 50.0 ? ChatColor.YELLOW : ChatColor.RED;
+            lore.add(ChatColor.GRAY + "MSPT (5s): " + msptColor + String.format("%.1f", mspt)
+                    + ChatColor.DARK_GRAY + " p95 " + String.format("%.1f", sampler.getP95()));
+        }
         
-        String level = plugin.getPerformanceMonitor().isLevel3() ? ChatColor.RED + "Level 3 (Emergency)" :
-                       plugin.getPerformanceMonitor().isLevel2() ? ChatColor.GOLD + "Level 2 (Moderate)" :
-                       plugin.getPerformanceMonitor().isLevel1() ? ChatColor.YELLOW + "Level 1 (Light)" : ChatColor.GREEN + "Vanilla";
+        LoadLevel loadLevel = plugin.getPerformanceMonitor().getLevel();
+        ChatColor levelColor = switch (loadLevel) {
+            case LEVEL3 -> ChatColor.RED;
+            case LEVEL2 -> ChatColor.GOLD;
+            case LEVEL1 -> ChatColor.YELLOW;
+            default -> ChatColor.GREEN;
+        };
+        String level = levelColor + (loadLevel == LoadLevel.VANILLA ? "Vanilla" : loadLevel.getDisplayName());
                        
         lore.add(ChatColor.GRAY + "Load Level: " + level);
         meta.setLore(lore);
@@ -0,0 +1,209 @@
+package dev.silentacore.monitor;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.monitor.ChunkHeatMap.HotChunk;
+import dev.silentacore.monitor.ChunkHeatMap.Source;
+import dev.silentacore.optimization.impl.RandomTickOptimizer;
+import dev.silentacore.optimization.impl.TileEntityCounter;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+
+import java.util.List;
+
+/**
+ * Feeds the {@link ChunkHeatMap}: every n-th redstone transition, hopper move and item
+ * spawn is recorded with weight n, and entity and tile entity counts are sampled on
+ * an interval. The hottest chunks are pushed to the backend periodically.
+ */
+public class ChunkHeatCollector implements Listener {
+
+    private final SilentaCore plugin;
+    private final ChunkHeatMap heatMap = new ChunkHeatMap();
+    private final LongIntHashMap entityCounts = new LongIntHashMap(1024); // reused per sample
+
+    private boolean enabled;
+    private int sampleRate;
+    private int sampleInterval;
+    private int tileEntityChunks;
+    private int pushInterval;
+    private int pushCount;
+
+    private int sampleCursor = 0;
+    private long lastSampleTick = Long.MIN_VALUE / 2;
+    private long lastPushTick;
+
+    public ChunkHeatCollector(SilentaCore plugin) {
+        this.plugin = plugin;
+    }
+
+    public void reload() {
+        ConfigSnapshot.HeatMap config = plugin.getConfigManager().getSnapshot().heatMap();
+        this.enabled = config.enabled();
+        this.sampleRate = Math.max(1, config.sampleRate());
+        this.sampleInterval = Math.max(20, config.sampleInterval());
+        this.tileEntityChunks = Math.max(0, config.tileEntityChunks());
+        this.pushInterval = config.pushInterval();
+        this.pushCount = Math.max(1, config.pushCount());
+        heatMap.configure(config.halfLifeSeconds() * 20, config.maxChunks());
+        if (!enabled) heatMap.clear();
+        this.lastPushTick = Bukkit.getCurrentTick();
+    }
+
+    public ChunkHeatMap getHeatMap() {
+        return heatMap;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Called once a second from the {@link PerformanceMonitor}.
+     */
+    public void tick() {
+        if (!enabled) return;
+        int now = Bukkit.getCurrentTick();
+
+        if (now - lastSampleTick >= sampleInterval) {
+            lastSampleTick = now;
+            sampleEntities(now);
+            sampleTileEntities(now);
+            heatMap.purge(now);
+        }
+
+        if (pushInterval > 0 && now - lastPushTick >= pushInterval) {
+            lastPushTick = now;
+            push(now);
+        }
+    }
+
+    // --- Event sources, sampled ---
+
+    private boolean sampled() {
+        return enabled && ++sampleCursor % sampleRate == 0;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRedstone(BlockRedstoneEvent e) {
+        if (e.getOldCurrent() == e.getNewCurrent() || !sampled()) return;
+        Block block = e.getBlock();
+        record(block.getWorld(), block.getX() >> 4, block.getZ() >> 4, Source.REDSTONE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperMove(InventoryMoveItemEvent e) {
+        if (!sampled()) return;
+        Location location = e.getInitiator().getLocation();
+        if (location == null || location.getWorld() == null) return;
+        record(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4, Source.HOPPERS);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent e) {
+        if (!sampled()) return;
+        Item item = e.getEntity();
+        record(item.getWorld(), (int) Math.floor(item.getX()) >> 4, (int) Math.floor(item.getZ()) >> 4, Source.ITEM_SPAWNS);
+    }
+
+    private void record(World world, int chunkX, int chunkZ, Source source) {
+        heatMap.record(WorldKeys.chunkKey(world, chunkX, chunkZ), source, sampleRate, Bukkit.getCurrentTick());
+    }
+
+    // --- State sources ---
+
+    // One pass over each world's entity list, counted per chunk
+    private void sampleEntities(int now) {
+        heatMap.clearGauge(Source.ENTITIES);
+        for (World world : Bukkit.getWorlds()) {
+            int slot = WorldKeys.slot(world);
+            entityCounts.clear();
+            for (Entity entity : world.getEntities()) {
+                entityCounts.addTo(WorldKeys.chunkKey(slot, (int) Math.floor(entity.getX()) >> 4,
+                        (int) Math.floor(entity.getZ()) >> 4), 1);
+            }
+            for (int i = 0; i <= entityCounts.capacity(); i++) {
+                if (entityCounts.isUsed(i)) heatMap.set(entityCounts.keyAt(i), Source.ENTITIES, entityCounts.valueAt(i), now);
+            }
+        }
+    }
+
+    // Counts come from the random tick module's TileEntityCounter, which already keeps
+    // them for every chunk it has looked at. The hottest chunks are added to it, so they
+    // stay counted from then on; a full count over every loaded chunk would cost more
+    // than the lag it is looking for. Without the module only the hottest are counted.
+    private void sampleTileEntities(int now) {
+        heatMap.clearGauge(Source.TILE_ENTITIES);
+        TileEntityCounter counter = tileEntityCounter();
+        if (counter != null) {
+            LongIntHashMap counts = counter.getCounts();
+            for (int i = 0; i <= counts.capacity(); i++) {
+                if (counts.isUsed(i) && counts.valueAt(i) > 0) heatMap.set(counts.keyAt(i), Source.TILE_ENTITIES, counts.valueAt(i), now);
+            }
+        }
+        if (tileEntityChunks == 0) return;
+
+        for (HotChunk hot : heatMap.top(tileEntityChunks, now)) {
+            long key = hot.chunkKey();
+            World world = WorldKeys.world(WorldKeys.worldSlot(key));
+            int chunkX = WorldKeys.chunkX(key), chunkZ = WorldKeys.chunkZ(key);
+            if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) continue;
+            int count = counter != null
+                    ? counter.get(world, chunkX, chunkZ)
+                    : world.getChunkAt(chunkX, chunkZ).getTileEntities(false).length;
+            heatMap.set(key, Source.TILE_ENTITIES, count, now);
+        }
+    }
+
+    // Only while the module runs: its events and recounts are what keep the counts right
+    private TileEntityCounter tileEntityCounter() {
+        if (plugin.getOptimizationManager().isEnabled("random-tick-optimization")
+                && plugin.getOptimizationManager().getOptimizer("random-tick-optimization") instanceof RandomTickOptimizer randomTick) {
+            return randomTick.getTileEntities();
+        }
+        return null;
+    }
+
+    // --- Backend ---
+
+    private void push(int now) {
+        List<HotChunk> hottest = heatMap.top(pushCount, now);
+        if (hottest.isEmpty()) return;
+
+        JsonArray chunks = new JsonArray();
+        for (HotChunk hot : hottest) {
+            World world = WorldKeys.world(WorldKeys.worldSlot(hot.chunkKey()));
+            JsonObject chunk = new JsonObject();
+            chunk.addProperty("world", world != null ? world.getName() : "?");
+            chunk.addProperty("chunkX", WorldKeys.chunkX(hot.chunkKey()));
+            chunk.addProperty("chunkZ", WorldKeys.chunkZ(hot.chunkKey()));
+            chunk.addProperty("score", Math.round(hot.score() * 100) / 100.0);
+            chunk.addProperty("mainSource", hot.getMainSource().getDisplayName());
+            JsonObject parts = new JsonObject();
+            for (Source source : Source.values()) {
+                parts.addProperty(source.getDisplayName(), Math.round(hot.parts()[source.ordinal()] * 100) / 100.0);
+            }
+            chunk.add("parts", parts);
+            chunks.add(chunk);
+        }
+
+        JsonObject details = new JsonObject();
+        details.addProperty("trackedChunks", heatMap.size());
+        details.add("chunks", chunks);
+        plugin.getBackendClient().sendEvent("chunk_heatmap", details);
+    }
+}
@@ -0,0 +1,207 @@
+package dev.silentacore.monitor;
+
+import dev.silentacore.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Estimated cost per chunk, split by where it comes from.
+ *
+ * Event sources (redstone, hoppers, item spawns) are exponentially decayed counts,
+ * kept as events per second; state sources (entities, tile entities) are gauges that
+ * are overwritten on every sample. Decay is applied lazily when a chunk is touched
+ * or read, so recording is one table probe and a few float ops. A chunk's score is
+ * the weighted sum of its sources; the largest term is the chunk's main suspect.
+ * Main thread only.
+ */
+public class ChunkHeatMap {
+
+    public enum Source {
+        ENTITIES("entities", 1.0, false),
+        TILE_ENTITIES("tile entities", 0.5, false),
+        REDSTONE("redstone", 0.05, true),
+        HOPPERS("hoppers", 0.1, true),
+        ITEM_SPAWNS("item spawns", 0.2, true);
+
+        private final String displayName;
+        private final double weight; // Score per entity, or per event per second
+        private final boolean rate;
+
+        Source(String displayName, double weight, boolean rate) {
+            this.displayName = displayName;
+            this.weight = weight;
+            this.rate = rate;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public boolean isRate() {
+            return rate;
+        }
+    }
+
+    private static final Source[] SOURCES = Source.values();
+    private static final int S = SOURCES.length;
+    // Entries whose whole score decays below this are dropped on purge
+    private static final double MIN_SCORE = 0.01;
+
+    private final LongIntHashMap index = new LongIntHashMap(1024); // chunk key -> dense slot
+    private long[] keys = new long[1024];
+    private int[] touched = new int[1024]; // tick the values were last decayed to
+    private float[] values = new float[1024 * S];
+    private int count = 0;
+
+    private int halfLifeTicks = 600;
+    private double lambda = Math.log(2) / 600; // per tick
+    private int maxChunks = 65536;
+
+    public void configure(int halfLifeTicks, int maxChunks) {
+        this.halfLifeTicks = Math.max(20, halfLifeTicks);
+        this.lambda = Math.log(2) / this.halfLifeTicks;
+        this.maxChunks = Math.max(64, maxChunks);
+    }
+
+    /**
+     * Adds {@code events} occurrences of a rate source to the chunk.
+     */
+    public void record(long chunkKey, Source source, int events, int now) {
+        int i = slot(chunkKey, now);
+        if (i < 0) return;
+        decay(i, now);
+        // A decayed sum approximates rate x mean lifetime; store it as events per second
+        values[i * S + source.ordinal()] += (float) (events * lambda * 20);
+    }
+
+    /**
+     * Sets a gauge source of the chunk to {@code amount}.
+     */
+    public void set(long chunkKey, Source source, int amount, int now) {
+        int i = amount > 0 ? slot(chunkKey, now) : index.get(chunkKey, -1);
+        if (i < 0) return;
+        values[i * S + source.ordinal()] = amount;
+    }
+
+    /**
+     * Zeroes a gauge source in every chunk, before a fresh sample is written with {@link #set}.
+     */
+    public void clearGauge(Source source) {
+        for (int i = 0; i < count; i++) values[i * S + source.ordinal()] = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getHalfLifeTicks() {
+        return halfLifeTicks;
+    }
+
+    /**
+     * The {@code limit} chunks with the highest score right now, hottest first.
+     */
+    public List<HotChunk> top(int limit, int now) {
+        PriorityQueue<HotChunk> heap = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score(), b.score()));
+        for (int i = 0; i < count; i++) {
+            decay(i, now);
+            double score = score(i);
+            if (score < MIN_SCORE) continue;
+            if (heap.size() == limit && score <= heap.peek().score()) continue;
+            double[] parts = new double[S];
+            for (int s = 0; s < S; s++) parts[s] = values[i * S + s] * SOURCES[s].getWeight();
+            heap.add(new HotChunk(keys[i], score, parts));
+            if (heap.size() > limit) heap.poll();
+        }
+        List<HotChunk> result = new ArrayList<>(heap);
+        result.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return result;
+    }
+
+    /**
+     * Decays every chunk to {@code now} and drops the ones that went cold.
+     */
+    public void purge(int now) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            decay(i, now);
+            if (score(i) < MIN_SCORE) {
+                index.remove(keys[i], -1);
+                continue;
+            }
+            if (kept != i) {
+                keys[kept] = keys[i];
+                touched[kept] = touched[i];
+                System.arraycopy(values, i * S, values, kept * S, S);
+                index.put(keys[kept], kept);
+            }
+            kept++;
+        }
+        count = kept;
+    }
+
+    public void clear() {
+        index.clear();
+        count = 0;
+    }
+
+    // --- Internals ---
+
+    private int slot(long chunkKey, int now) {
+        int i = index.get(chunkKey, -1);
+        if (i >= 0) return i;
+        if (count == maxChunks) return -1; // Full until the next purge
+        if (count == keys.length) grow();
+        i = count++;
+        keys[i] = chunkKey;
+        touched[i] = now;
+        Arrays.fill(values, i * S, (i + 1) * S, 0f);
+        index.put(chunkKey, i);
+        return i;
+    }
+
+    private void decay(int i, int now) {
+        int elapsed = now - touched[i];
+        if (elapsed <= 0) return;
+        touched[i] = now;
+        float factor = (float) Math.exp(-lambda * elapsed);
+        int base = i * S;
+        for (int s = 0; s < S; s++) {
+            if (SOURCES[s].isRate()) values[base + s] *= factor;
+        }
+    }
+
+    private double score(int i) {
+        double score = 0;
+        int base = i * S;
+        for (int s = 0; s < S; s++) score += values[base + s] * SOURCES[s].getWeight();
+        return score;
+    }
+
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        touched = Arrays.copyOf(touched, capacity);
+        values = Arrays.copyOf(values, capacity * S);
+    }
+
+    /**
+     * One chunk's score and its weighted parts, indexed by {@link Source#ordinal()}.
+     */
+    public record HotChunk(long chunkKey, double score, double[] parts) {
+        public Source getMainSource() {
+            int best = 0;
+            for (int s = 1; s < parts.length; s++) {
+                if (parts[s] > parts[best]) best = s;
+            }
+            return SOURCES[best];
+        }
+    }
+}
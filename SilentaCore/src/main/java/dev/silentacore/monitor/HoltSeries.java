@@ -0,0 +1,70 @@
+package dev.silentacore.monitor;
+
+/**
+ * Holt's exponential smoothing with a damped trend: a smoothed level plus a smoothed
+ * trend (slope per sample) that is extrapolated for short-horizon forecasts.
+ *
+ * {@code alpha} weights new samples into the level, {@code beta} weights the latest
+ * level change into the trend. With {@code phi} below 1 each step ahead adds only
+ * phi times the slope of the step before, so the slope picked up from a sudden jump
+ * is not carried on as if the jump were going to continue. The first sample only sets
+ * the level; the trend starts at 0 and builds up from the second.
+ */
+public class HoltSeries {
+
+    private double alpha = 0.5;
+    private double beta = 0.2;
+    private double phi = 0.9;
+
+    private double level;
+    private double trend;
+    private long samples;
+
+    public void configure(double alpha, double beta, double phi) {
+        this.alpha = clamp(alpha);
+        this.beta = clamp(beta);
+        this.phi = clamp(phi);
+    }
+
+    public void update(double value) {
+        if (samples++ == 0) {
+            level = value;
+            trend = 0.0;
+            return;
+        }
+        double previous = level;
+        level = alpha * value + (1.0 - alpha) * (level + phi * trend);
+        trend = beta * (level - previous) + (1.0 - beta) * phi * trend;
+    }
+
+    /**
+     * Value expected {@code steps} samples from now.
+     */
+    public double forecast(int steps) {
+        // phi + phi^2 + ... + phi^steps
+        double reach = phi >= 1.0 ? steps : phi * (1.0 - Math.pow(phi, steps)) / (1.0 - phi);
+        return level + trend * reach;
+    }
+
+    public void reset() {
+        level = 0.0;
+        trend = 0.0;
+        samples = 0;
+    }
+
+    public boolean hasSamples() {
+        return samples > 0;
+    }
+
+    public double getLevel() {
+        return level;
+    }
+
+    public double getTrend() {
+        return trend;
+    }
+
+    private static double clamp(double weight) {
+        return Math.max(0.01, Math.min(1.0, weight));
+    }
+}
@@ -0,0 +1,219 @@
+package dev.silentacore.monitor;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.Arrays;
+
+/**
+ * Short-horizon forecast of the per-second MSPT and loaded entity count.
+ *
+ * Both series go through {@link HoltSeries} and are extrapolated horizon-seconds
+ * ahead. A forecast crossing its threshold while the current value is still under it
+ * is a predicted crossing: the monitor holds level 1 while it is predicted, and the
+ * state machine keeps it for the minimum dwell time after, instead of waiting for the
+ * lag to show up in the load signal. Every forecast is checked against what actually happened horizon-seconds
+ * later, which gives the error and crossing hit rate shown in /sc status. Engaging
+ * early can keep a predicted crossing from happening, so false alarms are an upper bound.
+ */
+public class LoadForecaster {
+
+    // Forecasts need a few samples of trend before they mean anything
+    private static final int WARMUP_SAMPLES = 3;
+    // Errors are averaged over about a minute of resolved forecasts
+    private static final int ERROR_WINDOW = 60;
+
+    private final SilentaCore plugin;
+    private final HoltSeries mspt = new HoltSeries();
+    private final HoltSeries entities = new HoltSeries();
+
+    private boolean enabled;
+    private int horizon; // seconds, one sample each
+    private double engageMspt;
+    private int entityThreshold;
+
+    // Forecasts of the last horizon samples, indexed by sample % horizon
+    private double[] msptForecasts = new double[0];
+    private double[] entityForecasts = new double[0];
+    private boolean[] predicted = new boolean[0]; // a crossing was predicted at that sample
+    private boolean[] reached = new boolean[0];   // ... and the threshold was reached since
+    private long samples;
+
+    private double msptError;
+    private double entityError;
+    private long resolved;
+    private long hits;
+    private long falseAlarms;
+    private long misses;
+
+    private boolean crossingPredicted;
+    private long lastPrediction = Long.MIN_VALUE / 2; // sample
+    private boolean wasOver;
+    private int lastEntityCount;
+
+    public LoadForecaster(SilentaCore plugin) {
+        this.plugin = plugin;
+    }
+
+    public void reload() {
+        ConfigSnapshot.Forecast config = plugin.getConfigManager().getSnapshot().forecast();
+        this.enabled = config.enabled();
+        this.horizon = Math.max(1, Math.min(config.horizonSeconds(), 60));
+        this.engageMspt = config.engageMspt();
+        this.entityThreshold = Math.max(0, config.entityThreshold());
+        mspt.configure(config.alpha(), config.beta(), config.damping());
+        entities.configure(config.alpha(), config.beta(), config.damping());
+        reset();
+    }
+
+    private void reset() {
+        mspt.reset();
+        entities.reset();
+        msptForecasts = new double[horizon];
+        entityForecasts = new double[horizon];
+        predicted = new boolean[horizon];
+        reached = new boolean[horizon];
+        Arrays.fill(msptForecasts, Double.NaN);
+        samples = 0;
+        msptError = 0;
+        entityError = 0;
+        resolved = 0;
+        hits = 0;
+        falseAlarms = 0;
+        misses = 0;
+        crossingPredicted = false;
+        lastPrediction = Long.MIN_VALUE / 2;
+        wasOver = false;
+    }
+
+    /**
+     * Called once a second from the {@link PerformanceMonitor} with the mean MSPT of that second.
+     */
+    public void tick(double actualMspt) {
+        if (!enabled) return;
+        int entityCount = 0;
+        for (World world : Bukkit.getWorlds()) entityCount += world.getEntityCount();
+        this.lastEntityCount = entityCount;
+
+        // Mark the crossing on every forecast still waiting to be checked
+        boolean over = actualMspt >= engageMspt || (entityThreshold > 0 && entityCount >= entityThreshold);
+        if (over) Arrays.fill(reached, true);
+        if (over && !wasOver && samples - lastPrediction > horizon) misses++;
+        this.wasOver = over;
+
+        // The slot about to be reused holds the forecast made horizon samples ago
+        int slot = (int) (samples % horizon);
+        if (!Double.isNaN(msptForecasts[slot])) resolve(slot, actualMspt, entityCount);
+
+        mspt.update(actualMspt);
+        entities.update(entityCount);
+        samples++;
+
+        if (samples < WARMUP_SAMPLES) {
+            msptForecasts[slot] = Double.NaN;
+            predicted[slot] = false;
+            return;
+        }
+        double msptAhead = mspt.forecast(horizon);
+        double entitiesAhead = entities.forecast(horizon);
+        msptForecasts[slot] = msptAhead;
+        entityForecasts[slot] = entitiesAhead;
+
+        boolean crossing = !over && (msptAhead >= engageMspt
+                || (entityThreshold > 0 && entitiesAhead >= entityThreshold));
+        // Only the start of a predicted crossing counts as a prediction
+        predicted[slot] = crossing && !crossingPredicted;
+        reached[slot] = false;
+        if (crossing) lastPrediction = samples;
+        this.crossingPredicted = crossing;
+    }
+
+    private void resolve(int slot, double actualMspt, int entityCount) {
+        // Running mean over the first window, then exponentially weighted
+        long n = Math.min(++resolved, ERROR_WINDOW);
+        msptError += (Math.abs(actualMspt - msptForecasts[slot]) - msptError) / n;
+        entityError += (Math.abs(entityCount - entityForecasts[slot]) - entityError) / n;
+        if (predicted[slot]) {
+            if (reached[slot]) hits++;
+            else falseAlarms++;
+        }
+    }
+
+    /**
+     * True while a predicted crossing should keep level 1 engaged ahead of the lag.
+     */
+    public boolean isEngaging() {
+        return enabled && crossingPredicted;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && samples >= WARMUP_SAMPLES;
+    }
+
+    public boolean isCrossingPredicted() {
+        return crossingPredicted;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public HoltSeries getMspt() {
+        return mspt;
+    }
+
+    public HoltSeries getEntities() {
+        return entities;
+    }
+
+    public double getMsptForecast() {
+        return mspt.forecast(horizon);
+    }
+
+    public double getEntityForecast() {
+        return entities.forecast(horizon);
+    }
+
+    public int getEntityCount() {
+        return lastEntityCount;
+    }
+
+    /**
+     * Mean absolute error of the MSPT forecasts over roughly the last minute.
+     */
+    public double getMsptError() {
+        return msptError;
+    }
+
+    public double getEntityError() {
+        return entityError;
+    }
+
+    public long getResolved() {
+        return resolved;
+    }
+
+    /**
+     * Predicted crossings that happened within the horizon.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    public long getFalseAlarms() {
+        return falseAlarms;
+    }
+
+    /**
+     * Crossings that happened without a prediction in the horizon before them.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.silentacore.monitor;
+
+public enum LoadLevel {
+    VANILLA("Idle (Vanilla)"),
+    LEVEL1("Level 1 (Light)"),
+    LEVEL2("Level 2 (Moderate)"),
+    LEVEL3("Level 3 (Emergency)");
+
+    private static final LoadLevel[] VALUES = values();
+
+    private final String displayName;
+
+    LoadLevel(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean atLeast(LoadLevel other) {
+        return ordinal() >= other.ordinal();
+    }
+
+    public static LoadLevel of(int ordinal) {
+        return VALUES[Math.max(0, Math.min(ordinal, VALUES.length - 1))];
+    }
+}
@@ -0,0 +1,8 @@
+package dev.silentacore.monitor;
+
+/**
+ * Notified on the main thread whenever the load level changes.
+ */
+public interface LoadLevelListener {
+    void onLoadLevelChange(LoadLevel from, LoadLevel to);
+}
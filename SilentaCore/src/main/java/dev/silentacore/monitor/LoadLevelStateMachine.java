@@ -0,0 +1,99 @@
+package dev.silentacore.monitor;
+
+/**
+ * Turns the TPS-equivalent load signal into a {@link LoadLevel}.
+ *
+ * Escalation happens as soon as a threshold is crossed. De-escalation needs the
+ * signal to clear the threshold by the hysteresis band and the current level to
+ * have been held for at least the minimum dwell time, so a signal hovering
+ * around a threshold does not flap between levels.
+ *
+ * A {@link #hold} keeps the level at or above a floor regardless of the signal. When
+ * it runs out the level steps down by the same rules, with the dwell counted from the
+ * last tick the hold was keeping it up.
+ */
+public class LoadLevelStateMachine {
+
+    // Index 0 is unused so thresholds[n] belongs to LoadLevel.of(n)
+    private final double[] thresholds = new double[4];
+    private double hysteresis;
+    private long minDwellTicks;
+
+    private LoadLevel level = LoadLevel.VANILLA;
+    private long lastChangeTick = Long.MIN_VALUE / 2;
+
+    private LoadLevel holdLevel = LoadLevel.VANILLA;
+    private long holdUntil = Long.MIN_VALUE / 2;
+    private long heldTick = Long.MIN_VALUE / 2;
+
+    public void configure(double level1Tps, double level2Tps, double level3Tps, double hysteresis, long minDwellTicks) {
+        thresholds[1] = level1Tps;
+        thresholds[2] = level2Tps;
+        thresholds[3] = level3Tps;
+        this.hysteresis = Math.max(0.0, hysteresis);
+        this.minDwellTicks = Math.max(0L, minDwellTicks);
+    }
+
+    /**
+     * Feeds a new sample. Returns the new level, which is the same instance as
+     * {@link #getLevel()} before the call if nothing changed.
+     */
+    public LoadLevel update(double tps, long tick) {
+        boolean held = tick < holdUntil;
+        if (held && level.ordinal() <= holdLevel.ordinal()) heldTick = tick;
+        LoadLevel raw = floor(levelFor(tps, 0.0), held);
+
+        if (raw.ordinal() > level.ordinal()) {
+            return transition(raw, tick);
+        }
+
+        if (raw.ordinal() < level.ordinal() && tick - Math.max(lastChangeTick, heldTick) >= minDwellTicks) {
+            LoadLevel relaxed = floor(levelFor(tps, hysteresis), held);
+            if (relaxed.ordinal() < level.ordinal()) {
+                return transition(relaxed, tick);
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Keeps the level at or above {@code floor} for updates before {@code untilTick}.
+     */
+    public void hold(LoadLevel floor, long untilTick) {
+        this.holdLevel = floor;
+        this.holdUntil = untilTick;
+    }
+
+    private LoadLevel floor(LoadLevel raw, boolean held) {
+        return held && holdLevel.ordinal() > raw.ordinal() ? holdLevel : raw;
+    }
+
+    private LoadLevel transition(LoadLevel to, long tick) {
+        this.level = to;
+        this.lastChangeTick = tick;
+        return to;
+    }
+
+    private LoadLevel levelFor(double tps, double margin) {
+        for (int n = 3; n >= 1; n--) {
+            if (tps < thresholds[n] + margin) return LoadLevel.of(n);
+        }
+        return LoadLevel.VANILLA;
+    }
+
+    public void reset() {
+        this.level = LoadLevel.VANILLA;
+        this.lastChangeTick = Long.MIN_VALUE / 2;
+        this.holdLevel = LoadLevel.VANILLA;
+        this.holdUntil = Long.MIN_VALUE / 2;
+        this.heldTick = Long.MIN_VALUE / 2;
+    }
+
+    public LoadLevel getLevel() {
+        return level;
+    }
+
+    public long getLastChangeTick() {
+        return lastChangeTick;
+    }
+}
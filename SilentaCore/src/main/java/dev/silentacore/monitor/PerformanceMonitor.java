@@ -1,52 +1,207 @@
 package dev.silentacore.monitor;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class PerformanceMonitor implements Runnable {
 
     private final SilentaCore plugin;
+    private final TickSampler sampler = new TickSampler();
+    private final ChunkHeatCollector heat;
+    private final PressureController pressure = new PressureController();
+    private final LoadForecaster forecaster;
+    private final LoadLevelStateMachine stateMachine = new LoadLevelStateMachine();
+    private final List<LoadLevelListener> listeners = new CopyOnWriteArrayList<>();
+    // Hot paths only ever read this field
+    private volatile LoadLevel level = LoadLevel.VANILLA;
     private double currentTps = 20.0;
-    private long lastTickTime = 0;
+    // TPS-equivalent of the configured load signal, used for the level checks
+    private double loadTps = 20.0;
+    private LoadSignal loadSignal = LoadSignal.MSPT_5S;
+    private int percentileWindow = 200;
     private BukkitTask task;
 
     public PerformanceMonitor(SilentaCore plugin) {
         this.plugin = plugin;
+        this.heat = new ChunkHeatCollector(plugin);
+        this.forecaster = new LoadForecaster(plugin);
     }
 
     public void startMonitoring() {
-        // Run every tick to measure exact tick duration if needed, 
-        // but for general TPS, Bukkit's internal tracker is often enough.
-        // However, to be "TPS-aware" instantly, we can check Bukkit.getTPS()[0] (1 minute average)
-        // or calculate our own instantaneous TPS.
-        
-        // Let's use a task that runs every 20 ticks (1 second) to update our internal state.
+        // Per-tick durations come from Paper's tick start/end events.
+        // The Bukkit TPS (1 minute average) is kept for display only, since it
+        // reacts to a spike about a minute late.
+        Bukkit.getPluginManager().registerEvents(sampler, plugin);
+        Bukkit.getPluginManager().registerEvents(heat, plugin);
+        Bukkit.getPluginManager().registerEvents(pressure, plugin);
+        reload();
+
+        // Re-evaluate the load signal once per second
         this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, 20L, 20L);
     }
 
+    public void reload() {
+        ConfigSnapshot.Monitoring config = plugin.getConfigManager().getSnapshot().monitoring();
+        this.loadSignal = LoadSignal.fromConfig(config.loadSignal());
+        this.percentileWindow = config.percentileWindow();
+        stateMachine.configure(config.level1Tps(), config.level2Tps(), config.level3Tps(),
+                config.hysteresisTps(), config.minDwellTicks());
+        ConfigSnapshot.Pressure pressureConfig = plugin.getConfigManager().getSnapshot().pressure();
+        pressure.configure(pressureConfig.enabled(), pressureConfig.targetMspt(), pressureConfig.kp(), pressureConfig.ki(),
+                pressureConfig.smoothingTicks());
+        forecaster.reload();
+        heat.reload();
+    }
+
     @Override
     public void run() {
         // Get 1-minute average TPS from Paper API
         double[] tps = Bukkit.getTPS();
         this.currentTps = tps.length > 0 ? tps[0] : 20.0;
-        
+
         if (currentTps > 20.0) currentTps = 20.0; // Cap visual artifacts
+
+        sampler.computePercentiles(percentileWindow);
+        this.loadTps = computeLoadTps();
+        long now = Bukkit.getCurrentTick();
+        if (sampler.hasSamples()) forecaster.tick(sampler.getMean(20));
+        // While the controller applies pressure the modules it scales stay engaged, so the
+        // server settles at the target instead of cycling between vanilla and a level.
+        // A forecast crossing engages them before the lag arrives. Both hold level 1 through
+        // the state machine, so stepping back down keeps the dwell and hysteresis rules.
+        if (pressure.isHolding() || forecaster.isEngaging()) stateMachine.hold(LoadLevel.LEVEL1, now + 1);
+        updateLevel(stateMachine.update(loadTps, now));
+        heat.tick();
+    }
+
+    private void updateLevel(LoadLevel next) {
+        LoadLevel previous = this.level;
+        if (next == previous) return;
+        this.level = next;
+
+        if (plugin.getConfigManager().isDebug()) {
+            plugin.getLogger().info("Load level changed: " + previous + " -> " + next
+                    + String.format(" (%.2f TPS)", loadTps));
+        }
+        for (LoadLevelListener listener : listeners) {
+            try {
+                listener.onLoadLevelChange(previous, next);
+            } catch (Exception e) {
+                plugin.getLogger().severe("Load level listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void addListener(LoadLevelListener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    public void removeListener(LoadLevelListener listener) {
+        listeners.remove(listener);
+    }
+
+    private double computeLoadTps() {
+        if (loadSignal == LoadSignal.TPS || !sampler.hasSamples()) return currentTps;
+
+        double mspt = switch (loadSignal) {
+            case MSPT -> sampler.getMspt();
+            case MSPT_30S -> sampler.getMean30s();
+            case MSPT_60S -> sampler.getMean60s();
+            case MSPT_P50 -> sampler.getP50();
+            case MSPT_P95 -> sampler.getP95();
+            case MSPT_P99 -> sampler.getP99();
+            default -> sampler.getMean5s();
+        };
+        return msptToTps(mspt);
+    }
+
+    // A tick budget of 50ms means anything faster still runs at 20 TPS
+    private static double msptToTps(double mspt) {
+        if (mspt <= 50.0) return 20.0;
+        return 1000.0 / mspt;
     }
 
     public double getCurrentTps() {
         return currentTps;
     }
 
+    public double getLoadTps() {
+        return loadTps;
+    }
+
+    public LoadSignal getLoadSignal() {
+        return loadSignal;
+    }
+
+    public ChunkHeatCollector getHeat() {
+        return heat;
+    }
+
+    public TickSampler getSampler() {
+        return sampler;
+    }
+
+    public LoadForecaster getForecaster() {
+        return forecaster;
+    }
+
+    public PressureController getPressureController() {
+        return pressure;
+    }
+
+    /**
+     * Continuous load pressure (0..1) from the MSPT controller; 0 while it is disabled.
+     */
+    public double getPressure() {
+        return pressure.getPressure();
+    }
+
+    public LoadLevel getLevel() {
+        return level;
+    }
+
     public boolean isLevel1() {
-        return currentTps < plugin.getConfigManager().getLevel1Tps();
+        return level.atLeast(LoadLevel.LEVEL1);
     }
 
     public boolean isLevel2() {
-        return currentTps < plugin.getConfigManager().getLevel2Tps();
+        return level.atLeast(LoadLevel.LEVEL2);
     }
 
     public boolean isLevel3() {
-        return currentTps < plugin.getConfigManager().getLevel3Tps();
+        return level == LoadLevel.LEVEL3;
+    }
+
+    public enum LoadSignal {
+        TPS("tps"),
+        MSPT("mspt"),
+        MSPT_5S("mspt-5s"),
+        MSPT_30S("mspt-30s"),
+        MSPT_60S("mspt-60s"),
+        MSPT_P50("mspt-p50"),
+        MSPT_P95("mspt-p95"),
+        MSPT_P99("mspt-p99");
+
+        private final String key;
+
+        LoadSignal(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static LoadSignal fromConfig(String value) {
+            for (LoadSignal s : values()) {
+                if (s.key.equalsIgnoreCase(value)) return s;
+            }
+            return MSPT_5S;
+        }
     }
 }
@@ -0,0 +1,115 @@
+package dev.silentacore.monitor;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * PI controller that turns tick durations into a continuous pressure between 0 and 1.
+ *
+ * The error is the smoothed MSPT minus the target, in units of the headroom between
+ * the target and the 50 ms budget, so an error of 1 means the server is right at the
+ * budget. The proportional term reacts within a tick or two; the integral term holds
+ * the pressure a sustained load needs to sit at the target. It does not wind up while
+ * the output is saturated at 1, and drains whenever the server runs under the target,
+ * so there is no overshoot when the load goes away. Modules read {@link #getPressure()}
+ * to scale how hard they work.
+ */
+public class PressureController implements Listener {
+
+    private static final double BUDGET_MSPT = 50.0;
+    private static final double SECONDS_PER_TICK = 0.05;
+
+    private boolean enabled = true;
+    private double targetMspt = 45.0;
+    private double band = 5.0;
+    private double kp = 0.3;
+    private double ki = 0.15;
+    private double alpha = 0.1; // smoothing factor per tick
+
+    private double smoothed = Double.NaN;
+    private double error;
+    private double integral;
+    // Hot paths only ever read this field
+    private volatile double pressure;
+
+    public void configure(boolean enabled, double targetMspt, double kp, double ki, int smoothingTicks) {
+        this.enabled = enabled;
+        this.targetMspt = Math.max(1.0, Math.min(targetMspt, BUDGET_MSPT - 1.0));
+        this.band = BUDGET_MSPT - this.targetMspt;
+        this.kp = Math.max(0.0, kp);
+        this.ki = Math.max(0.0, ki);
+        this.alpha = 1.0 / Math.max(1, smoothingTicks);
+        if (!enabled) reset();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent e) {
+        if (enabled) update(e.getTickDuration());
+    }
+
+    /**
+     * Feeds one tick's duration and returns the new pressure.
+     */
+    public double update(double mspt) {
+        smoothed = Double.isNaN(smoothed) ? mspt : smoothed + alpha * (mspt - smoothed);
+        error = (smoothed - targetMspt) / band;
+
+        double proportional = kp * error;
+        double candidate = integral + ki * error * SECONDS_PER_TICK;
+        double output = proportional + candidate;
+        // Conditional integration: stop winding up once the output is pinned at 1. Below
+        // the target the integral always bleeds down, also while the output is clamped
+        // at 0, so a past load cannot leave it stuck above 0.
+        if (!(output > 1.0 && error > 0)) {
+            integral = Math.max(0.0, Math.min(1.0, candidate));
+        }
+
+        double next = Math.max(0.0, Math.min(1.0, proportional + integral));
+        this.pressure = next;
+        return next;
+    }
+
+    public void reset() {
+        this.smoothed = Double.NaN;
+        this.error = 0.0;
+        this.integral = 0.0;
+        this.pressure = 0.0;
+    }
+
+    /**
+     * 0 at or under the target, rising towards 1 as the server reaches its tick budget.
+     */
+    public double getPressure() {
+        return pressure;
+    }
+
+    /**
+     * True while the controller applies pressure, i.e. the modules it scales are part of
+     * what keeps the server at the target.
+     */
+    public boolean isHolding() {
+        return pressure > 0.0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getTargetMspt() {
+        return targetMspt;
+    }
+
+    public double getSmoothedMspt() {
+        return Double.isNaN(smoothed) ? 0.0 : smoothed;
+    }
+
+    public double getIntegral() {
+        return integral;
+    }
+
+    public double getError() {
+        return error;
+    }
+}
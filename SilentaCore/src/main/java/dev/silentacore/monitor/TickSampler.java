@@ -0,0 +1,144 @@
+package dev.silentacore.monitor;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.Arrays;
+
+/**
+ * Records the duration of every server tick into a fixed-size ring buffer.
+ * Durations are the server's own measurement from the tick end event, which covers
+ * the whole tick rather than the part after our own start handler ran.
+ * All access happens on the main thread, so no synchronization is needed.
+ */
+public class TickSampler implements Listener {
+
+    // 60 seconds of history at 20 TPS
+    public static final int CAPACITY = 1200;
+    public static final int WINDOW_5S = 100;
+    public static final int WINDOW_30S = 600;
+    public static final int WINDOW_60S = CAPACITY;
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final long[] durations = new long[CAPACITY]; // nanos, indexed by head
+    private final long[] scratch = new long[CAPACITY];   // reused for percentile sorting
+    private int head = 0;   // next slot to write
+    private int count = 0;  // valid samples, saturates at CAPACITY
+
+    // Running sums so the window means are O(1) per tick
+    private long sum5s = 0;
+    private long sum30s = 0;
+    private long sum60s = 0;
+
+    private long lastDuration = 0;
+
+    // Percentiles are computed on demand (once per second by the monitor)
+    private double p50 = 0;
+    private double p95 = 0;
+    private double p99 = 0;
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent e) {
+        record((long) (e.getTickDuration() * NANOS_PER_MS));
+    }
+
+    private void record(long nanos) {
+        // Values leaving each window (only once the window is full)
+        if (count >= WINDOW_5S) sum5s -= durations[index(WINDOW_5S)];
+        if (count >= WINDOW_30S) sum30s -= durations[index(WINDOW_30S)];
+        if (count >= WINDOW_60S) sum60s -= durations[head];
+
+        durations[head] = nanos;
+        head = (head + 1) % CAPACITY;
+        if (count < CAPACITY) count++;
+
+        sum5s += nanos;
+        sum30s += nanos;
+        sum60s += nanos;
+        lastDuration = nanos;
+    }
+
+    // Slot of the sample written "ago" ticks before the next write
+    private int index(int ago) {
+        return (head - ago + CAPACITY) % CAPACITY;
+    }
+
+    /**
+     * Sorts the most recent {@code window} samples and caches p50/p95/p99.
+     */
+    public void computePercentiles(int window) {
+        int n = Math.min(Math.max(window, 1), count);
+        if (n == 0) return;
+
+        for (int i = 0; i < n; i++) {
+            scratch[i] = durations[index(i + 1)];
+        }
+        Arrays.sort(scratch, 0, n);
+
+        this.p50 = scratch[rank(n, 0.50)] / NANOS_PER_MS;
+        this.p95 = scratch[rank(n, 0.95)] / NANOS_PER_MS;
+        this.p99 = scratch[rank(n, 0.99)] / NANOS_PER_MS;
+    }
+
+    private static int rank(int n, double p) {
+        // Nearest-rank method
+        int r = (int) Math.ceil(p * n) - 1;
+        return Math.min(Math.max(r, 0), n - 1);
+    }
+
+    public boolean hasSamples() {
+        return count > 0;
+    }
+
+    public int getSampleCount() {
+        return count;
+    }
+
+    public double getMspt() {
+        return lastDuration / NANOS_PER_MS;
+    }
+
+    public double getMean5s() {
+        return mean(sum5s, WINDOW_5S);
+    }
+
+    public double getMean30s() {
+        return mean(sum30s, WINDOW_30S);
+    }
+
+    public double getMean60s() {
+        return mean(sum60s, WINDOW_60S);
+    }
+
+    /**
+     * Mean of the most recent {@code window} samples. Walks the window, so meant for
+     * occasional use; the fixed windows above are O(1).
+     */
+    public double getMean(int window) {
+        int n = Math.min(Math.max(window, 1), count);
+        if (n == 0) return 0;
+        long sum = 0;
+        for (int i = 1; i <= n; i++) sum += durations[index(i)];
+        return (sum / (double) n) / NANOS_PER_MS;
+    }
+
+    private double mean(long sum, int window) {
+        int n = Math.min(count, window);
+        return n == 0 ? 0 : (sum / (double) n) / NANOS_PER_MS;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+}
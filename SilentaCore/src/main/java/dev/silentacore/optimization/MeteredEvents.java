@@ -0,0 +1,71 @@
+package dev.silentacore.optimization;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Registers a listener's {@link EventHandler} methods like
+ * {@link org.bukkit.plugin.PluginManager#registerEvents}, but through an executor that
+ * times every call into the module's {@link ModuleMetrics}.
+ *
+ * Handlers are bound once as method handles; a call costs two nanoTime reads on top
+ * of the handler itself. {@link org.bukkit.event.HandlerList#unregisterAll(Listener)}
+ * removes them as usual.
+ */
+public final class MeteredEvents {
+
+    private static final MethodType EXECUTOR_TYPE = MethodType.methodType(void.class, Listener.class, Event.class);
+
+    private MeteredEvents() {}
+
+    public static void register(Plugin plugin, Listener listener, ModuleMetrics metrics) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic()) continue;
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                plugin.getLogger().severe("Invalid event handler " + method + " in " + listener.getClass().getName());
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = lookup.unreflect(method).asType(EXECUTOR_TYPE);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                plugin.getLogger().severe("Could not bind event handler " + method + ": " + e.getMessage());
+                continue;
+            }
+
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, handler.priority(),
+                    new Executor(eventClass, handle, metrics), plugin, handler.ignoreCancelled());
+        }
+    }
+
+    private record Executor(Class<? extends Event> eventClass, MethodHandle handle, ModuleMetrics metrics) implements EventExecutor {
+        @Override
+        public void execute(Listener listener, Event event) throws EventException {
+            // Handler lists are shared with subclasses of the event
+            if (!eventClass.isInstance(event)) return;
+            long start = System.nanoTime();
+            try {
+                handle.invokeExact(listener, event);
+            } catch (Throwable t) {
+                throw new EventException(t);
+            } finally {
+                metrics.recordEvent(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package dev.silentacore.optimization;
+
+import dev.silentacore.util.LogLinearHistogram;
+
+import java.util.Arrays;
+
+/**
+ * What one module costs and what it did.
+ *
+ * Timings of {@link Optimizer#tick()} and of the module's event handlers go into
+ * separate {@link LogLinearHistogram}s, and into a running total the overhead guard in
+ * {@link OptimizationManager} drains once a second. Actions (events cancelled, mobs
+ * slept, ...) are named counters registered once; bumping one is an array increment.
+ * Main thread only.
+ */
+public class ModuleMetrics {
+
+    private final LogLinearHistogram tickTimes = new LogLinearHistogram();
+    private final LogLinearHistogram eventTimes = new LogLinearHistogram();
+    private long windowNanos;
+
+    private String[] counterNames = new String[0];
+    private long[] counters = new long[0];
+
+    // Overhead guard state: 0 = full speed, n = 1 in 2^n of optional work
+    private int backoff;
+    private int calmChecks;
+    private double lastShare;
+    private int admitCursor;
+    private long skipped;
+
+    // --- Timings ---
+
+    public void recordTick(long nanos) {
+        tickTimes.record(nanos);
+        windowNanos += nanos;
+    }
+
+    public void recordEvent(long nanos) {
+        eventTimes.record(nanos);
+        windowNanos += nanos;
+    }
+
+    public LogLinearHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    public LogLinearHistogram getEventTimes() {
+        return eventTimes;
+    }
+
+    /**
+     * Nanoseconds spent since the last call.
+     */
+    long drainWindow() {
+        long nanos = windowNanos;
+        windowNanos = 0;
+        return nanos;
+    }
+
+    // --- Action counters ---
+
+    /**
+     * Id of the counter called {@code name}, registering it on first use.
+     */
+    public int counter(String name) {
+        for (int i = 0; i < counterNames.length; i++) {
+            if (counterNames[i].equals(name)) return i;
+        }
+        counterNames = Arrays.copyOf(counterNames, counterNames.length + 1);
+        counters = Arrays.copyOf(counters, counters.length + 1);
+        counterNames[counterNames.length - 1] = name;
+        return counterNames.length - 1;
+    }
+
+    public void increment(int counter) {
+        counters[counter]++;
+    }
+
+    public void add(int counter, long amount) {
+        counters[counter] += amount;
+    }
+
+    public int getCounterCount() {
+        return counters.length;
+    }
+
+    public String getCounterName(int counter) {
+        return counterNames[counter];
+    }
+
+    public long getCounter(int counter) {
+        return counters[counter];
+    }
+
+    // --- Backoff ---
+
+    /**
+     * Whether a piece of optional work (one event worth optimizing) should run.
+     * Always true at full speed; while backed off, only every 2^n-th call is let through.
+     */
+    public boolean admit() {
+        if (backoff == 0) return true;
+        if ((++admitCursor & ((1 << backoff) - 1)) == 0) return true;
+        skipped++;
+        return false;
+    }
+
+    public int getBackoff() {
+        return backoff;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Share of the tick budget the module used over the last guard window.
+     */
+    public double getLastShare() {
+        return lastShare;
+    }
+
+    void setLastShare(double share) {
+        this.lastShare = share;
+    }
+
+    void setBackoff(int backoff) {
+        this.backoff = backoff;
+        this.calmChecks = 0;
+    }
+
+    int nextCalmCheck() {
+        return ++calmChecks;
+    }
+
+    void resetCalmChecks() {
+        calmChecks = 0;
+    }
+
+    /**
+     * Nanoseconds as a short human readable duration, e.g. {@code 840ns}, {@code 12.5µs}, {@code 3.1ms}.
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return String.format("%.1fµs", nanos / 1e3);
+        return String.format("%.1fms", nanos / 1e6);
+    }
+
+    public void reset() {
+        tickTimes.reset();
+        eventTimes.reset();
+        windowNanos = 0;
+        Arrays.fill(counters, 0);
+        backoff = 0;
+        calmChecks = 0;
+        lastShare = 0;
+        skipped = 0;
+    }
+}
@@ -1,24 +1,38 @@
 package dev.silentacore.optimization;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
 import dev.silentacore.optimization.impl.*;
 import dev.silentacore.protection.AfkManager;
 import org.bukkit.Bukkit;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class OptimizationManager {
 
+    private static final long GUARD_INTERVAL = 20L;
+    private static final double TICK_NANOS = 50_000_000.0;
+    private static final int CALM_CHECKS = 5;
+
     private final SilentaCore plugin;
     // Key: Config path key (e.g. "hopper-optimization") -> Optimizer
-    private final Map<String, Optimizer> optimizers = new HashMap<>();
+    private final Map<String, Optimizer> optimizers = new LinkedHashMap<>();
     private final Map<String, Boolean> activeState = new HashMap<>();
+    private final Map<String, ModuleMetrics> metrics = new HashMap<>();
+    private final TickScheduler scheduler;
+    private BukkitTask schedulerTask;
+    private BukkitTask guardTask;
 
     public OptimizationManager(SilentaCore plugin) {
         this.plugin = plugin;
-        
+        this.scheduler = new TickScheduler((entry, e) ->
+                plugin.getLogger().severe("Optimizer " + entry.getOptimizer().getName() + " failed during tick: " + e.getMessage()));
+
         // Register All Optimizers (regardless of config state initially)
         register("hopper-optimization", new HopperOptimizer(plugin));
         register("entity-ai-optimization", new EntityAIOptimizer(plugin));
@@ -30,6 +44,7 @@ public class OptimizationManager {
     
     private void register(String configKey, Optimizer optimizer) {
         optimizers.put(configKey, optimizer);
+        metrics.put(configKey, new ModuleMetrics());
     }
 
     public void enableOptimizations() {
@@ -46,20 +61,28 @@ public class OptimizationManager {
             }
         }
 
-        // Global tick task for optimizers
-        Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            for (Map.Entry<String, Optimizer> entry : optimizers.entrySet()) {
-                if (activeState.getOrDefault(entry.getKey(), false)) {
-                    entry.getValue().tick();
-                }
-            }
-        }, 20L, 20L);
+        // Per-module timing wheel, advanced once per tick
+        if (schedulerTask == null) {
+            schedulerTask = Bukkit.getScheduler().runTaskTimer(plugin, scheduler, 1L, 1L);
+        }
+        if (guardTask == null) {
+            guardTask = Bukkit.getScheduler().runTaskTimer(plugin, this::checkOverhead, GUARD_INTERVAL, GUARD_INTERVAL);
+        }
     }
 
     public void disableOptimizations() {
         for (Map.Entry<String, Optimizer> entry : optimizers.entrySet()) {
             stopOptimizer(entry.getKey(), entry.getValue());
         }
+        scheduler.clear();
+        if (schedulerTask != null) {
+            schedulerTask.cancel();
+            schedulerTask = null;
+        }
+        if (guardTask != null) {
+            guardTask.cancel();
+            guardTask = null;
+        }
     }
     
     // Runtime Toggling
@@ -91,11 +114,77 @@ public class OptimizationManager {
         return optimizers.get(key);
     }
 
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public ModuleMetrics getMetrics(String key) {
+        return metrics.get(key);
+    }
+
+    /**
+     * Metrics of a registered optimizer, looked up by identity.
+     */
+    public ModuleMetrics getMetrics(Optimizer optimizer) {
+        for (Map.Entry<String, Optimizer> entry : optimizers.entrySet()) {
+            if (entry.getValue() == optimizer) return metrics.get(entry.getKey());
+        }
+        throw new IllegalArgumentException("Not a registered optimizer: " + optimizer.getName());
+    }
+
+    /**
+     * Registers a module's event handlers with their calls timed into its metrics.
+     */
+    public void registerEvents(Optimizer optimizer) {
+        if (!(optimizer instanceof Listener listener)) return;
+        MeteredEvents.register(plugin, listener, getMetrics(optimizer));
+    }
+
+    // --- Self-overhead guard ---
+
+    // Once a second: a module whose ticks and handlers took more than its allowed share
+    // of the tick budget is slowed down one step; after a few calm windows it speeds up again.
+    private void checkOverhead() {
+        ConfigSnapshot.OverheadGuard config = plugin.getConfigManager().getSnapshot().overheadGuard();
+        double budgetNanos = GUARD_INTERVAL * TICK_NANOS;
+
+        for (String key : optimizers.keySet()) {
+            ModuleMetrics m = metrics.get(key);
+            double share = m.drainWindow() / budgetNanos;
+            m.setLastShare(share);
+            if (!config.enabled() || !isEnabled(key)) {
+                if (m.getBackoff() > 0) m.setBackoff(0);
+                continue;
+            }
+
+            if (share > config.maxTickShare()) {
+                m.resetCalmChecks();
+                if (m.getBackoff() < config.maxBackoff()) {
+                    m.setBackoff(m.getBackoff() + 1);
+                    plugin.getLogger().warning(String.format("%s used %.1f%% of the tick budget, backing off to 1/%d",
+                            optimizers.get(key).getName(), share * 100, 1 << m.getBackoff()));
+                }
+            } else if (m.getBackoff() > 0 && share < config.maxTickShare() / 2) {
+                // Halving the backoff roughly doubles the cost, so only step down well under the limit
+                if (m.nextCalmCheck() >= CALM_CHECKS) {
+                    m.setBackoff(m.getBackoff() - 1);
+                    if (m.getBackoff() == 0) {
+                        plugin.getLogger().info(optimizers.get(key).getName() + " is back to full speed");
+                    }
+                }
+            } else {
+                m.resetCalmChecks();
+            }
+        }
+    }
+
     private void startOptimizer(String key, Optimizer opt) {
         if (activeState.getOrDefault(key, false)) return; // Already enabled
         try {
+            metrics.get(key).reset();
             opt.enable();
             activeState.put(key, true);
+            scheduler.schedule(key, opt, metrics.get(key));
             plugin.getLogger().info("Enabled optimizer: " + opt.getName());
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to enable optimizer " + opt.getName() + ": " + e.getMessage());
@@ -105,6 +194,7 @@ public class OptimizationManager {
     
     private void stopOptimizer(String key, Optimizer opt) {
         if (!activeState.getOrDefault(key, false)) return; // Already disabled
+        scheduler.cancel(key);
         try {
             opt.disable();
             activeState.put(key, false);
@@ -3,6 +3,16 @@ package dev.silentacore.optimization;
 public interface Optimizer {
     void enable();
     void disable();
-    void tick(); // Called periodically to adjust settings or clean up
+    void tick(); // Called by the TickScheduler every getPeriod() ticks
     String getName();
+
+    // Ticks between tick() calls. 0 means the module is purely event driven.
+    default int getPeriod() {
+        return 20;
+    }
+
+    // True while a time-budgeted scan is unfinished; tick() is then called again next tick
+    default boolean hasPendingWork() {
+        return false;
+    }
 }
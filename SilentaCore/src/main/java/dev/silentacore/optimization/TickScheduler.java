@@ -0,0 +1,223 @@
+package dev.silentacore.optimization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Timing wheel that calls each optimizer's {@link Optimizer#tick()} exactly every
+ * {@link Optimizer#getPeriod()} ticks.
+ *
+ * Every module gets a phase offset picked so that, where the periods allow it,
+ * no two modules ever run on the same tick. Modules that split their work into
+ * time-budgeted slices report {@link Optimizer#hasPendingWork()} and are called
+ * again on the following ticks until the slice work is done. A module the overhead
+ * guard backed off runs every {@code period << backoff} ticks instead, and continues
+ * slices at the same reduced rate. Every call is timed into the module's
+ * {@link ModuleMetrics}. Driven by a 1-tick Bukkit timer.
+ */
+public class TickScheduler implements Runnable {
+
+    private static final int WHEEL_SIZE = 256; // must be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final List<Entry>[] wheel = new List[WHEEL_SIZE];
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private Entry[] active = new Entry[0]; // Array copy of entries for allocation-free iteration
+    private final BiConsumer<Entry, Exception> errorHandler;
+    private List<Entry> spare = new ArrayList<>();
+    private long currentTick = 0;
+
+    public TickScheduler(BiConsumer<Entry, Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ArrayList<>();
+    }
+
+    public void schedule(String key, Optimizer optimizer, ModuleMetrics metrics) {
+        cancel(key);
+        int period = optimizer.getPeriod();
+        if (period <= 0) return; // Event driven only
+
+        int offset = pickOffset(period);
+        Entry entry = new Entry(key, optimizer, metrics, period, offset);
+        entry.nextRun = firstRunAfter(currentTick, period, offset);
+        entries.put(key, entry);
+        active = entries.values().toArray(new Entry[0]);
+        insert(entry);
+    }
+
+    public void cancel(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) return;
+        entry.cancelled = true;
+        wheel[slot(entry.nextRun)].remove(entry);
+        active = entries.values().toArray(new Entry[0]);
+    }
+
+    public void clear() {
+        for (Entry entry : entries.values()) entry.cancelled = true;
+        entries.clear();
+        active = new Entry[0];
+        for (List<Entry> bucket : wheel) bucket.clear();
+    }
+
+    @Override
+    public void run() {
+        long tick = ++currentTick;
+        int slot = slot(tick);
+
+        List<Entry> bucket = wheel[slot];
+        if (!bucket.isEmpty()) {
+            wheel[slot] = spare;
+            runDue(bucket, tick);
+            bucket.clear();
+            spare = bucket;
+        }
+
+        // Continue sliced work that did not fit into the previous tick
+        for (Entry entry : active) {
+            if (entry.cancelled || entry.lastRunTick == tick) continue;
+            if (!entry.optimizer.hasPendingWork()) continue;
+            int backoff = entry.metrics.getBackoff();
+            if (backoff > 0 && (tick & ((1L << backoff) - 1)) != 0) continue;
+            invoke(entry, tick);
+        }
+    }
+
+    private void runDue(List<Entry> bucket, long tick) {
+        int slot = slot(tick);
+
+        for (Entry entry : bucket) {
+            if (entry.cancelled) continue;
+            if (entry.nextRun != tick) {
+                // Belongs to a later lap of the wheel
+                wheel[slot].add(entry);
+                continue;
+            }
+
+            entry.nextRun = tick + ((long) entry.period << entry.metrics.getBackoff());
+            entry.runs++;
+            invoke(entry, tick);
+            if (!entry.cancelled) insert(entry);
+        }
+    }
+
+    private void invoke(Entry entry, long tick) {
+        entry.lastRunTick = tick;
+        long start = System.nanoTime();
+        try {
+            entry.optimizer.tick();
+        } catch (Exception e) {
+            errorHandler.accept(entry, e);
+        } finally {
+            entry.metrics.recordTick(System.nanoTime() - start);
+        }
+    }
+
+    private void insert(Entry entry) {
+        wheel[slot(entry.nextRun)].add(entry);
+    }
+
+    private static int slot(long tick) {
+        return (int) (tick & WHEEL_MASK);
+    }
+
+    // Two periodic tasks share a tick iff their offsets agree modulo gcd(periods),
+    // so choose the offset with the fewest such conflicts.
+    private int pickOffset(int period) {
+        int best = 0;
+        int bestConflicts = Integer.MAX_VALUE;
+        for (int offset = 0; offset < period; offset++) {
+            int conflicts = 0;
+            for (Entry other : entries.values()) {
+                int g = gcd(period, other.period);
+                if (offset % g == other.offset % g) conflicts++;
+            }
+            if (conflicts < bestConflicts) {
+                best = offset;
+                bestConflicts = conflicts;
+                if (conflicts == 0) break;
+            }
+        }
+        return best;
+    }
+
+    private static long firstRunAfter(long tick, int period, int offset) {
+        long next = tick - Math.floorMod(tick, period) + offset;
+        return next > tick ? next : next + period;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    public Entry getEntry(String key) {
+        return entries.get(key);
+    }
+
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public static final class Entry {
+        private final String key;
+        private final Optimizer optimizer;
+        private final ModuleMetrics metrics;
+        private final int period;
+        private final int offset;
+        private long nextRun;
+        private long runs;
+        private long lastRunTick = -1;
+        private boolean cancelled;
+
+        private Entry(String key, Optimizer optimizer, ModuleMetrics metrics, int period, int offset) {
+            this.key = key;
+            this.optimizer = optimizer;
+            this.metrics = metrics;
+            this.period = period;
+            this.offset = offset;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Optimizer getOptimizer() {
+            return optimizer;
+        }
+
+        public int getPeriod() {
+            return period;
+        }
+
+        // Period after the overhead guard's backoff
+        public int getEffectivePeriod() {
+            return period << metrics.getBackoff();
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public long getNextRun() {
+            return nextRun;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.LongQueue;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+/**
+ * Per-chunk "is an active player nearby" state, maintained incrementally.
+ *
+ * Every active player covers the square of chunks within {@code radius} chunks of
+ * the chunk they stand in; each chunk stores how many players cover it. Counts
+ * only change when a player crosses a chunk boundary, joins, quits or changes AFK
+ * state, and chunks whose count goes 0 -> 1 or 1 -> 0 are queued as flipped. Where
+ * the players are is kept in a {@link PlayerGrid}, which other queries can use too.
+ */
+public class ChunkProximity {
+
+    private final LongIntHashMap coverage = new LongIntHashMap(1024); // chunk key -> covering players
+    private final LongIntHashMap dirtySet = new LongIntHashMap(64);   // dedup for the flip queue
+    private final LongQueue flipped = new LongQueue(64);
+    private final PlayerGrid players = new PlayerGrid();
+    private int radius = 2;
+
+    /**
+     * Changes the covered square. Players already counted are re-covered with the new
+     * radius; chunks whose state changes are queued as flipped.
+     */
+    public void setRadius(int radius) {
+        radius = Math.max(0, radius);
+        if (radius == this.radius) return;
+        players.forEachPlayerChunk(key -> cover(key, -1));
+        this.radius = radius;
+        players.forEachPlayerChunk(key -> cover(key, 1));
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public boolean isNear(long chunkKey) {
+        return coverage.get(chunkKey, 0) > 0;
+    }
+
+    /**
+     * Moves (or adds) an active player to the chunk containing {@code to}.
+     */
+    public void update(Player player, Location to) {
+        long key = WorldKeys.chunkKey(to.getWorld(), to.getBlockX() >> 4, to.getBlockZ() >> 4);
+        boolean tracked = players.contains(player);
+        long previous = players.chunkOf(player);
+        if (tracked && previous == key) return;
+        players.put(player, key);
+        if (tracked) cover(previous, -1);
+        cover(key, 1);
+    }
+
+    /**
+     * Stops counting a player (quit, or went AFK).
+     */
+    public void remove(Player player) {
+        if (!players.contains(player)) return;
+        long previous = players.chunkOf(player);
+        players.remove(player);
+        cover(previous, -1);
+    }
+
+    public boolean isTracked(Player player) {
+        return players.contains(player);
+    }
+
+    public PlayerGrid getPlayers() {
+        return players;
+    }
+
+    public void clear() {
+        coverage.clear();
+        dirtySet.clear();
+        flipped.clear();
+        players.clear();
+    }
+
+    // --- Flip queue ---
+
+    public boolean hasFlips() {
+        return !flipped.isEmpty();
+    }
+
+    /**
+     * Next chunk whose near/far state changed since it was last polled.
+     */
+    public long pollFlip() {
+        long key = flipped.poll();
+        dirtySet.remove(key, 0);
+        return key;
+    }
+
+    public int getFlipBacklog() {
+        return flipped.size();
+    }
+
+    public int getTrackedPlayerCount() {
+        return players.size();
+    }
+
+    public int getNearChunkCount() {
+        return coverage.size();
+    }
+
+    private void cover(long center, int delta) {
+        int slot = WorldKeys.worldSlot(center);
+        int cx = WorldKeys.chunkX(center);
+        int cz = WorldKeys.chunkZ(center);
+
+        for (int x = cx - radius; x <= cx + radius; x++) {
+            for (int z = cz - radius; z <= cz + radius; z++) {
+                long key = WorldKeys.chunkKey(slot, x, z);
+                int count = coverage.addTo(key, delta);
+                if (count <= 0) coverage.remove(key, 0);
+
+                // Only the 0 <-> 1 transitions change the chunk's state
+                boolean flippedNow = delta > 0 ? count == 1 : count <= 0;
+                if (flippedNow && !dirtySet.containsKey(key)) {
+                    dirtySet.put(key, 1);
+                    flipped.add(key);
+                }
+            }
+        }
+    }
+}
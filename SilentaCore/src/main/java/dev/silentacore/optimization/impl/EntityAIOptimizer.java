@@ -1,18 +1,84 @@
 package dev.silentacore.optimization.impl;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.monitor.LoadLevelListener;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.protection.AfkStateListener;
+import dev.silentacore.util.WorldKeys;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.*;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
-public class EntityAIOptimizer implements Optimizer {
+/**
+ * Puts mobs to sleep (setAware false) in chunks no active player is near.
+ *
+ * Proximity is tracked per chunk by {@link ChunkProximity} and only changes when a
+ * player crosses a chunk boundary, joins, quits or changes AFK state. Each tick only
+ * the mobs of chunks whose state flipped are touched; entities that load or spawn
+ * get their chunk's state on arrival. A budgeted full scan runs once on engage and
+ * then every sweep-interval ticks to catch stragglers (mobs that walked into a far
+ * chunk while awake, expired targets or combat protection).
+ */
+public class EntityAIOptimizer implements Optimizer, Listener, LoadLevelListener, AfkStateListener {
+
+    private static final int RANGE_REFRESH_TICKS = 20;
+    // A new chunk radius is only taken once the range is this far (blocks) from the current one
+    private static final int RANGE_HYSTERESIS = 12;
 
     private final SilentaCore plugin;
+    private final ChunkProximity proximity = new ChunkProximity();
+    private final SleepRegistry sleeping = new SleepRegistry();
     private int activationRange;
-    private List<String> excludeTypes;
+    private int minActivationRange;
+    private int currentRange;
+    private long rangeTick = Long.MIN_VALUE / 2;
+    private Set<EntityType> excludeTypes = EnumSet.noneOf(EntityType.class);
+    private long budgetNanos;
+    private int sweepInterval;
+    private long lastSweepTick = Long.MIN_VALUE / 2;
+    private boolean engaged = false;
+
+    private ModuleMetrics metrics;
+    private int sleptCounter;
+    private int wokenCounter;
+
+    // Incremental path counters, since enable
+    private long flipsApplied;
+    private long mobsToggled;
+
+    // Resumable scan cursor: worlds of the current cycle, position in the world's chunk list
+    private List<World> scanWorlds;
+    private int worldIndex;
+    private Chunk[] scanChunks;
+    private int chunkIndex;
+    private boolean scanning = false;
+
+    // Progress of the running cycle
+    private int cycleChunksScanned;
+    private int cycleChunksTotal;
+    private int cycleMobsChecked;
+    private int cycleTicks;
+    private long cycleNanos;
+    private long cycleMaxSliceNanos;
+    private ScanStats lastScan = ScanStats.EMPTY;
 
     public EntityAIOptimizer(SilentaCore plugin) {
         this.plugin = plugin;
@@ -21,117 +87,401 @@ public class EntityAIOptimizer implements Optimizer {
     @Override
     public void enable() {
         reloadConfig();
+        this.flipsApplied = 0;
+        this.mobsToggled = 0;
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.sleptCounter = metrics.counter("mobs slept");
+        this.wokenCounter = metrics.counter("mobs woken");
+
+        proximity.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (!plugin.getProtectionManager().isPlayerAfk(player)) proximity.update(player, player.getLocation());
+        }
+
+        plugin.getOptimizationManager().registerEvents(this);
+        plugin.getPerformanceMonitor().addListener(this);
+        plugin.getProtectionManager().getAfkTracker().addListener(this);
+        if (plugin.getPerformanceMonitor().getLevel() != LoadLevel.VANILLA) engage();
     }
 
     @Override
     public void disable() {
+        HandlerList.unregisterAll(this);
+        plugin.getPerformanceMonitor().removeListener(this);
+        plugin.getProtectionManager().getAfkTracker().removeListener(this);
+        this.engaged = false;
+        abortScan();
+        proximity.clear();
         // Restore AI on disable
-        for (World world : Bukkit.getWorlds()) {
-            for (LivingEntity entity : world.getLivingEntities()) {
-                if (entity instanceof Mob) {
-                    ((Mob) entity).setAware(true);
-                }
-            }
-        }
+        wakeAll();
     }
 
     @Override
     public void tick() {
-        // Run check periodically (e.g., every 100 ticks) as configured
-        // The manager calls tick() every 20 ticks (1 sec)
-        // We'll use a simple counter or just check current tick
-        long interval = plugin.getConfigManager().getInt("entity-ai-optimization.check-interval", 100);
-        if (Bukkit.getCurrentTick() % interval != 0) return;
+        long now = Bukkit.getCurrentTick();
 
-        // If TPS is perfect, maybe we skip optimization? 
         // Philosophy: "optimize only when needed".
-        if (plugin.getPerformanceMonitor().getCurrentTps() > 19.8) {
-             // Maybe ensure everyone is awake?
-             // For now, let's just apply the logic. If TPS is high, we might want to be less aggressive,
-             // but "Smart Entity AI Sleep" usually implies distance-based regardless of TPS, 
-             // OR strictly TPS aware. The prompt says "Temporarily pauses AI... when TPS drops" is implied by "Adaptive".
-             // Actually prompt says "Core Features ... Temporarily pauses AI ... Never disables AI near players".
-             // It doesn't explicitly say "only when TPS drops" for AI, but "Optimization Philosophy" says "Adaptive, TPS-aware".
-             // So if TPS > 19, we should probably wake everyone up to be "Vanilla first".
-             
-             wakeAll();
-             return;
+        // While the server is at vanilla load everyone stays awake; the wake-up
+        // itself happens once, on the transition back to vanilla. Flips are still
+        // consumed so the queue does not build up.
+        if (!engaged) {
+            while (proximity.hasFlips()) proximity.pollFlip();
+            return;
         }
 
-        runOptimization();
+        applyPressure();
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        while (proximity.hasFlips() && System.nanoTime() < deadline) {
+            applyChunk(proximity.pollFlip());
+            flipsApplied++;
+        }
+
+        // Straggler sweep; a cycle that overran its period simply keeps going
+        if (!scanning && now - lastSweepTick >= sweepInterval) beginScan();
+        if (scanning && System.nanoTime() < deadline) scanSlice(deadline);
+    }
+
+    @Override
+    public boolean hasPendingWork() {
+        return scanning || (engaged && proximity.hasFlips());
+    }
+
+    @Override
+    public void onLoadLevelChange(LoadLevel from, LoadLevel to) {
+        if (to == LoadLevel.VANILLA) {
+            this.engaged = false;
+            abortScan();
+            wakeAll();
+        } else if (from == LoadLevel.VANILLA) {
+            engage();
+        }
+    }
+
+    @Override
+    public int getPeriod() {
+        // Runs every check-interval ticks (e.g. 100) as configured
+        return plugin.getConfigManager().getSnapshot().entityAi().checkInterval();
     }
 
     private void reloadConfig() {
-        this.activationRange = plugin.getConfigManager().getInt("entity-ai-optimization.activation-range", 32);
-        this.excludeTypes = plugin.getConfigManager().getStringList("entity-ai-optimization.exclude-types");
+        ConfigSnapshot.EntityAi config = plugin.getConfigManager().getSnapshot().entityAi();
+        this.activationRange = Math.max(0, config.activationRange());
+        this.minActivationRange = Math.max(0, Math.min(activationRange, config.minActivationRange()));
+        this.currentRange = activationRange;
+        this.excludeTypes = parseTypes(config.excludeTypes());
+        this.budgetNanos = Math.max(1L, config.scanBudgetMicros()) * 1000L;
+        this.sweepInterval = Math.max(1, config.sweepInterval());
+        proximity.setRadius(chunkRadius(activationRange));
     }
 
-    private void wakeAll() {
-        for (World world : Bukkit.getWorlds()) {
-            for (LivingEntity entity : world.getLivingEntities()) {
-                if (entity instanceof Mob mob) {
-                    if (!mob.isAware()) mob.setAware(true);
-                }
+    // Chunk-granular: every chunk within range of the player's chunk counts as near
+    private static int chunkRadius(int range) {
+        return (range + 15) >> 4;
+    }
+
+    // With the controller on, pressure shrinks the range from activation-range down to
+    // min-activation-range, once a second, so the level behaviour stays the floor; chunks
+    // that drop out of (or come back into) range are queued as flips
+    private void applyPressure() {
+        if (!plugin.getPerformanceMonitor().getPressureController().isEnabled()) return;
+        long now = Bukkit.getCurrentTick();
+        if (now - rangeTick < RANGE_REFRESH_TICKS) return;
+        rangeTick = now;
+
+        double pressure = plugin.getPerformanceMonitor().getPressure();
+        this.currentRange = activationRange - (int) Math.round(pressure * (activationRange - minActivationRange));
+        // Every radius change wakes or sleeps a whole ring of chunks, so a range hovering
+        // at a chunk edge must not flip it back and forth
+        if (Math.abs(currentRange - proximity.getRadius() * 16) >= RANGE_HYSTERESIS) {
+            proximity.setRadius(chunkRadius(currentRange));
+        }
+    }
+
+    private Set<EntityType> parseTypes(List<String> names) {
+        Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+        for (String name : names) {
+            try {
+                types.add(EntityType.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Unknown entity type in entity-ai-optimization.exclude-types: " + name);
             }
         }
+        return types;
     }
 
-    private void runOptimization() {
-        int rangeSq = activationRange * activationRange;
-
-        for (World world : Bukkit.getWorlds()) {
-            for (LivingEntity entity : world.getLivingEntities()) {
-                if (!(entity instanceof Mob mob)) continue;
-                if (!mob.isValid()) continue;
-                
-                // Check exclusions
-                if (excludeTypes.contains(entity.getType().name())) continue;
-                if (entity.getCustomName() != null) continue; // Usually safe to ignore named mobs
-                if (entity instanceof Boss) continue;
-                
-                // Check protection (combat)
-                if (plugin.getProtectionManager().isEntityProtected(entity)) {
-                    if (!mob.isAware()) mob.setAware(true);
-                    continue;
-                }
+    // Only the mobs we put to sleep; O(sleeping) instead of every entity in every world
+    private void wakeAll() {
+        int woken = sleeping.wakeAll();
+        mobsToggled += woken;
+        metrics.add(wokenCounter, woken);
+    }
 
-                // Check distance to nearest player
-                Player nearest = null;
-                double nearestDistSq = Double.MAX_VALUE;
-
-                for (Player p : world.getPlayers()) {
-                    if (plugin.getProtectionManager().isPlayerAfk(p)) continue; // Ignore AFK players for activation range? Maybe.
-                    
-                    double d = p.getLocation().distanceSquared(entity.getLocation());
-                    if (d < nearestDistSq) {
-                        nearestDistSq = d;
-                        nearest = p;
-                    }
+    private void wake(Mob mob) {
+        if (!sleeping.remove(mob)) return; // Not ours
+        if (mob.isValid() && !mob.isAware()) {
+            mob.setAware(true);
+            mobsToggled++;
+            metrics.increment(wokenCounter);
+        }
+    }
+
+    // Establishes the sleep state of every loaded mob right away instead of waiting for the next sweep
+    private void engage() {
+        this.engaged = true;
+        this.rangeTick = Long.MIN_VALUE / 2;
+        applyPressure();
+        while (proximity.hasFlips()) proximity.pollFlip(); // The full scan covers them
+        if (!scanning) beginScan();
+        scanSlice(System.nanoTime() + budgetNanos);
+    }
+
+    // AFK players stop keeping mobs awake; the chunks around them flip like on a move
+    @Override
+    public void onAfkStateChange(Player player, boolean afk) {
+        if (!plugin.getConfigManager().getSnapshot().afk().enabled()) return;
+        if (afk) {
+            proximity.remove(player);
+        } else if (!proximity.isTracked(player)) {
+            proximity.update(player, player.getLocation());
+        }
+    }
+
+    // --- Player proximity events ---
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        // Only chunk boundary crossings matter
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4)
+                && from.getWorld() == to.getWorld()) return;
+        if (proximity.isTracked(event.getPlayer())) proximity.update(event.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (proximity.isTracked(event.getPlayer())) proximity.update(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        if (proximity.isTracked(event.getPlayer())) proximity.update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        if (proximity.isTracked(event.getPlayer())) proximity.update(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        proximity.update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        proximity.remove(event.getPlayer());
+    }
+
+    // --- Entities arriving in a chunk take its current state ---
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        if (!engaged) return;
+        Chunk chunk = event.getChunk();
+        boolean near = proximity.isNear(WorldKeys.chunkKey(chunk.getWorld(), chunk.getX(), chunk.getZ()));
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Mob mob) optimizeMob(mob, near);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        if (!engaged || !(event.getEntity() instanceof Mob mob)) return;
+        Location loc = mob.getLocation();
+        optimizeMob(mob, proximity.isNear(WorldKeys.chunkKey(event.getWorld(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4)));
+    }
+
+    // Awareness is saved with the entity, so sleepers are woken before their chunk is written out
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        if (sleeping.size() == 0) return;
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof Mob mob) wake(mob);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof Mob mob) sleeping.remove(mob);
+    }
+
+    // Re-evaluates the mobs of a chunk whose proximity flipped
+    private void applyChunk(long chunkKey) {
+        World world = WorldKeys.world(WorldKeys.worldSlot(chunkKey));
+        if (world == null) return;
+        int cx = WorldKeys.chunkX(chunkKey);
+        int cz = WorldKeys.chunkZ(chunkKey);
+        if (!world.isChunkLoaded(cx, cz)) return; // Entities loading later are handled on load
+
+        boolean near = proximity.isNear(chunkKey);
+        for (Entity entity : world.getChunkAt(cx, cz).getEntities()) {
+            if (entity instanceof Mob mob) optimizeMob(mob, near);
+        }
+    }
+
+    // --- Time-budgeted scan ---
+
+    private void beginScan() {
+        this.lastSweepTick = Bukkit.getCurrentTick();
+        this.scanWorlds = Bukkit.getWorlds();
+        this.worldIndex = 0;
+        this.scanChunks = null;
+        this.chunkIndex = 0;
+        this.scanning = true;
+
+        this.cycleChunksScanned = 0;
+        this.cycleChunksTotal = 0;
+        this.cycleMobsChecked = 0;
+        this.cycleTicks = 0;
+        this.cycleNanos = 0;
+        this.cycleMaxSliceNanos = 0;
+    }
+
+    // Processes whole chunks until the per-tick budget is used up, then parks the cursor
+    private void scanSlice(long deadline) {
+        long start = System.nanoTime();
+        while (scanning) {
+            if (scanChunks == null || chunkIndex >= scanChunks.length) {
+                if (worldIndex >= scanWorlds.size()) {
+                    finishScan();
+                    break;
                 }
+                World world = scanWorlds.get(worldIndex++);
+                this.scanChunks = world.getLoadedChunks();
+                this.chunkIndex = 0;
+                this.cycleChunksTotal += scanChunks.length;
+                continue;
+            }
 
-                boolean shouldBeAware = false;
-                
-                // If no players in world, sleep (unless chunk loader? debatable. Safe to sleep for AI).
-                if (nearest == null) {
-                    shouldBeAware = false;
-                } else {
-                    if (nearestDistSq <= rangeSq) {
-                        shouldBeAware = true;
+            Chunk chunk = scanChunks[chunkIndex++];
+            if (chunk.isLoaded()) {
+                boolean near = proximity.isNear(WorldKeys.chunkKey(chunk.getWorld(), chunk.getX(), chunk.getZ()));
+                for (Entity entity : chunk.getEntities()) {
+                    if (entity instanceof Mob mob) {
+                        optimizeMob(mob, near);
+                        cycleMobsChecked++;
                     }
                 }
+            }
+            cycleChunksScanned++;
+
+            if (System.nanoTime() >= deadline) break;
+        }
 
-                // If targeted, wake up
-                if (mob.getTarget() != null) shouldBeAware = true;
+        long spent = System.nanoTime() - start;
+        this.cycleNanos += spent;
+        this.cycleMaxSliceNanos = Math.max(cycleMaxSliceNanos, spent);
+        this.cycleTicks++;
+        if (!scanning) publishStats(true);
+    }
 
-                if (mob.isAware() != shouldBeAware) {
-                    mob.setAware(shouldBeAware);
-                }
-            }
+    private void finishScan() {
+        this.scanning = false;
+        this.scanWorlds = null;
+        this.scanChunks = null;
+    }
+
+    private void abortScan() {
+        if (!scanning) return;
+        finishScan();
+        publishStats(false);
+    }
+
+    private void publishStats(boolean completed) {
+        this.lastScan = new ScanStats(budgetNanos, cycleChunksScanned, cycleChunksTotal, cycleMobsChecked,
+                cycleTicks, cycleNanos, cycleMaxSliceNanos, completed);
+    }
+
+    private void optimizeMob(Mob mob, boolean chunkNear) {
+        if (!mob.isValid()) return;
+
+        // Check exclusions
+        if (excludeTypes.contains(mob.getType())) return;
+        if (mob.getCustomName() != null) return; // Usually safe to ignore named mobs
+        if (mob instanceof Boss) return;
+
+        // Check protection (combat)
+        if (plugin.getProtectionManager().isEntityProtected(mob)) {
+            wake(mob);
+            return;
+        }
+
+        // An active (non-AFK) player within activation range of the chunk keeps the mob awake.
+        // If no players in world, sleep (unless chunk loader? debatable. Safe to sleep for AI).
+        boolean shouldBeAware = chunkNear;
+
+        // If targeted, wake up
+        if (mob.getTarget() != null) shouldBeAware = true;
+
+        if (shouldBeAware) {
+            wake(mob);
+        } else if (mob.isAware()) {
+            mob.setAware(false);
+            sleeping.add(mob, Bukkit.getCurrentTick());
+            mobsToggled++;
+            metrics.increment(sleptCounter);
         }
     }
 
+    public ScanStats getLastScan() {
+        return lastScan;
+    }
+
+    public boolean isScanning() {
+        return scanning;
+    }
+
+    public SleepRegistry getSleeping() {
+        return sleeping;
+    }
+
+    public ChunkProximity getProximity() {
+        return proximity;
+    }
+
+    /**
+     * Activation range in blocks as last scaled by the pressure controller.
+     */
+    public int getCurrentRange() {
+        return currentRange;
+    }
+
+    public long getFlipsApplied() {
+        return flipsApplied;
+    }
+
+    public long getMobsToggled() {
+        return mobsToggled;
+    }
+
     @Override
     public String getName() {
         return "Smart Entity AI Sleep";
     }
+
+    /**
+     * Outcome of one scan cycle. Coverage is the share of loaded chunks visited;
+     * it is below 100% only when the cycle was aborted (e.g. load dropped back to vanilla).
+     */
+    public record ScanStats(long budgetNanos, int chunksScanned, int chunksTotal, int mobsChecked,
+                            int ticks, long nanos, long maxSliceNanos, boolean completed) {
+
+        static final ScanStats EMPTY = new ScanStats(0, 0, 0, 0, 0, 0, 0, false);
+
+        public double coverage() {
+            return chunksTotal == 0 ? 0.0 : chunksScanned / (double) chunksTotal;
+        }
+    }
 }
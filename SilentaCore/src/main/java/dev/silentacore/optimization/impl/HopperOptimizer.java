@@ -1,21 +1,43 @@
 package dev.silentacore.optimization.impl;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.monitor.LoadLevelListener;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.util.WorldKeys;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.BlockState;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryMoveItemEvent;
 import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+public class HopperOptimizer implements Optimizer, Listener, LoadLevelListener {
 
-public class HopperOptimizer implements Optimizer, Listener {
+    private static final long NO_KEY = -1L;
+    private static final int VANILLA_TRANSFER_TICKS = 8;
+    private static final int PURGE_INTERVAL = 1200;
 
     private final SilentaCore plugin;
-    private final Map<Integer, Long> hopperCooldowns = new HashMap<>();
+    private final HopperThrottle hopperCooldowns = new HopperThrottle();
+    private final HopperTopology topology = new HopperTopology();
+    // Resolved once per load level change, 0 = no throttling
+    private volatile int throttleTicks = 0;
+    private volatile int idleTicks = 0;
+    // Reached at full controller pressure
+    private int maxThrottleTicks;
+    private int maxIdleTicks;
+    private long shortCircuited;
+
+    private ModuleMetrics metrics;
+    private int throttledCounter;
 
     public HopperOptimizer(SilentaCore plugin) {
         this.plugin = plugin;
@@ -23,22 +45,92 @@ public class HopperOptimizer implements Optimizer, Listener {
 
     @Override
     public void enable() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.throttledCounter = metrics.counter("transfers throttled");
+        plugin.getOptimizationManager().registerEvents(this);
+        plugin.getPerformanceMonitor().addListener(this);
+        this.throttleTicks = resolveThrottleTicks(plugin.getPerformanceMonitor().getLevel());
+        this.idleTicks = resolveIdleTicks(plugin.getPerformanceMonitor().getLevel());
+        ConfigSnapshot.Hopper config = plugin.getConfigManager().getSnapshot().hopper();
+        this.maxThrottleTicks = Math.max(VANILLA_TRANSFER_TICKS, config.throttleDelayLevel3());
+        this.maxIdleTicks = Math.max(0, config.checkIntervalLevel3());
+        this.shortCircuited = 0;
     }
 
     @Override
     public void disable() {
+        HandlerList.unregisterAll(this);
+        plugin.getPerformanceMonitor().removeListener(this);
+        this.throttleTicks = 0;
+        this.idleTicks = 0;
         hopperCooldowns.clear();
+        topology.clear();
     }
 
     @Override
-    public void tick() {
-        // Cleanup cache periodically
-        if (Bukkit.getCurrentTick() % 1200 == 0) {
+    public void onLoadLevelChange(LoadLevel from, LoadLevel to) {
+        this.throttleTicks = resolveThrottleTicks(to);
+        this.idleTicks = resolveIdleTicks(to);
+        // Back to vanilla: nothing is throttled anymore, drop the stale timestamps.
+        // The learned topology stays; it is still valid for the next engage.
+        if (to == LoadLevel.VANILLA) {
             hopperCooldowns.clear();
+            topology.clearIdle();
         }
     }
 
+    private int resolveThrottleTicks(LoadLevel level) {
+        ConfigSnapshot.Hopper config = plugin.getConfigManager().getSnapshot().hopper();
+        return switch (level) {
+            case LEVEL3 -> config.throttleDelayLevel3();
+            case LEVEL2 -> config.throttleDelayLevel2();
+            case LEVEL1 -> config.throttleDelayLevel1();
+            default -> 0;
+        };
+    }
+
+    // How long a hopper that found its destination full is skipped outright
+    private int resolveIdleTicks(LoadLevel level) {
+        ConfigSnapshot.Hopper config = plugin.getConfigManager().getSnapshot().hopper();
+        return switch (level) {
+            case LEVEL3 -> config.checkIntervalLevel3();
+            case LEVEL2 -> config.checkIntervalLevel2();
+            case LEVEL1 -> config.checkIntervalLevel1();
+            default -> 0;
+        };
+    }
+
+    // The level sets a floor; controller pressure raises the delay continuously from
+    // the vanilla transfer rate up to the level 3 delay
+    private int effectiveThrottleTicks() {
+        double pressure = plugin.getPerformanceMonitor().getPressure();
+        if (pressure <= 0.0) return throttleTicks;
+        int scaled = VANILLA_TRANSFER_TICKS + (int) Math.round(pressure * (maxThrottleTicks - VANILLA_TRANSFER_TICKS));
+        return Math.max(throttleTicks, scaled);
+    }
+
+    private int effectiveIdleTicks() {
+        double pressure = plugin.getPerformanceMonitor().getPressure();
+        if (pressure <= 0.0) return idleTicks;
+        return Math.max(idleTicks, (int) Math.round(pressure * maxIdleTicks));
+    }
+
+    @Override
+    public void tick() {
+        // Drop expired cooldowns only; hoppers still inside their window stay throttled
+        long now = Bukkit.getCurrentTick();
+        hopperCooldowns.purge(now, effectiveThrottleTicks());
+        topology.purgeIdle(now);
+        // Forget links of hoppers that stopped transferring. Links are only refreshed while
+        // throttling, so the topology learned before a spell at vanilla is kept for the next one.
+        if (effectiveThrottleTicks() > 0) topology.expire(now, PURGE_INTERVAL);
+    }
+
+    @Override
+    public int getPeriod() {
+        return PURGE_INTERVAL;
+    }
+
     @Override
     public String getName() {
         return "Adaptive Hopper Throttling";
@@ -46,41 +138,99 @@ public class HopperOptimizer implements Optimizer, Listener {
 
     @EventHandler(ignoreCancelled = true)
     public void onHopperMove(InventoryMoveItemEvent e) {
-        if (shouldThrottle(e.getSource().getLocation().hashCode())) {
+        int throttleTicks = effectiveThrottleTicks();
+        if (throttleTicks <= 0 || !metrics.admit()) return;
+
+        long source = hopperKey(e.getSource());
+        long destination = hopperKey(e.getDestination());
+        if (source == NO_KEY || destination == NO_KEY) return;
+        // The hopper doing the work: the source when pushing, the destination when pulling
+        boolean push = e.getInitiator() == e.getSource();
+        topology.link(source, destination, push, Bukkit.getCurrentTick());
+        long hopper = push ? source : destination;
+        if (shouldSkip(hopper, e.getDestination(), e.getItem(), throttleTicks)) {
             e.setCancelled(true);
+            metrics.increment(throttledCounter);
         }
     }
     
     @EventHandler(ignoreCancelled = true)
     public void onHopperPickup(InventoryPickupItemEvent e) {
-        if (shouldThrottle(e.getInventory().getLocation().hashCode())) {
+        int throttleTicks = effectiveThrottleTicks();
+        if (throttleTicks <= 0 || !metrics.admit()) return;
+
+        long hopper = hopperKey(e.getInventory());
+        if (hopper == NO_KEY) return;
+        if (shouldSkip(hopper, e.getInventory(), e.getItem().getItemStack(), throttleTicks)) {
             e.setCancelled(true);
+            metrics.increment(throttledCounter);
         }
     }
 
-    private boolean shouldThrottle(int hopperId) {
-        // Check TPS levels
-        int throttleTicks = 0;
-        if (plugin.getPerformanceMonitor().isLevel3()) {
-            throttleTicks = plugin.getConfigManager().getInt("hopper-optimization.throttle-delay.level3", 40);
-        } else if (plugin.getPerformanceMonitor().isLevel2()) {
-            throttleTicks = plugin.getConfigManager().getInt("hopper-optimization.throttle-delay.level2", 20);
-        } else if (plugin.getPerformanceMonitor().isLevel1()) {
-            throttleTicks = plugin.getConfigManager().getInt("hopper-optimization.throttle-delay.level1", 10);
+    private boolean shouldSkip(long hopper, Inventory destination, ItemStack item, int throttleTicks) {
+        long now = Bukkit.getCurrentTick();
+
+        // Idle hoppers are short-circuited without looking at any inventory
+        if (topology.isIdle(hopper, now)) {
+            shortCircuited++;
+            return true;
         }
 
-        if (throttleTicks <= 0) return false;
+        // Hoppers in a chain or sorter share one transfer window so the machine stays in step.
+        // Standalone hopper: if "throttleTicks" have not passed since last transfer, CANCEL this one.
+        // Otherwise, allow it and update timestamp.
+        boolean throttled = topology.chainSize(hopper) > 1
+                ? !topology.isWindowOpen(hopper, now, throttleTicks)
+                : hopperCooldowns.shouldThrottle(hopper, now, throttleTicks);
+        if (throttled) return true;
 
-        long now = Bukkit.getCurrentTick(); // Use tick-based timing for consistency with config
-        long lastTransfer = hopperCooldowns.getOrDefault(hopperId, 0L);
-        
-        // If "throttleTicks" have not passed since last transfer, CANCEL this one.
-        if (now - lastTransfer < throttleTicks) {
+        // Only a transfer that would go through is checked against its destination
+        int idleTicks = effectiveIdleTicks();
+        if (idleTicks > 0 && !hasRoomFor(destination, item)) {
+            topology.markIdle(hopper, now + idleTicks);
             return true;
         }
-        
-        // Otherwise, allow it and update timestamp
-        hopperCooldowns.put(hopperId, now);
         return false;
     }
+
+    // Reads slot by slot; getStorageContents() would copy the whole inventory on every move
+    private static boolean hasRoomFor(Inventory inventory, ItemStack item) {
+        for (int i = 0, size = inventory.getSize(); i < size; i++) {
+            ItemStack slot = inventory.getItem(i);
+            if (slot == null || slot.getType().isAir()) return true;
+            if (slot.getType() == item.getType() && slot.getAmount() < slot.getMaxStackSize() && slot.isSimilar(item)) return true;
+        }
+        return false;
+    }
+
+    // Packed world + block position; block holders are read without a snapshot or Location
+    private long hopperKey(Inventory inventory) {
+        InventoryHolder holder = inventory.getHolder(false);
+        if (holder instanceof BlockState state) {
+            return WorldKeys.blockKey(WorldKeys.slot(state.getWorld()), state.getX(), state.getY(), state.getZ());
+        }
+        // Hopper minecarts and other entity holders
+        Location loc = inventory.getLocation();
+        if (loc == null || loc.getWorld() == null) return NO_KEY;
+        return WorldKeys.blockKey(WorldKeys.slot(loc.getWorld()), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    public HopperThrottle getThrottle() {
+        return hopperCooldowns;
+    }
+
+    public HopperTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Transfer delay in effect right now, 0 when hoppers run at vanilla speed.
+     */
+    public int getCurrentThrottleTicks() {
+        return effectiveThrottleTicks();
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited;
+    }
 }
@@ -0,0 +1,61 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongLongHashMap;
+
+/**
+ * Per-hopper last-transfer ticks in a primitive open-addressing table.
+ *
+ * Keys are packed block positions (see {@code WorldKeys.blockKey}). Entries expire
+ * by tick stamp rather than by clearing the table: once a stamp is older than the
+ * throttle window it can no longer throttle anything, and such entries are dropped
+ * when the table grows or on {@link #purge}. Live cooldowns always survive.
+ */
+public class HopperThrottle {
+
+    private static final int MIN_PURGE_AT = 1024;
+
+    private final LongLongHashMap lastTransfer = new LongLongHashMap(MIN_PURGE_AT);
+    private int purgeAt = MIN_PURGE_AT;
+    private long purged;
+
+    /**
+     * True if the hopper at {@code key} moved an item less than {@code throttleTicks} ago;
+     * otherwise records {@code now} as its last transfer and returns false.
+     */
+    public boolean shouldThrottle(long key, long now, int throttleTicks) {
+        if (throttleTicks <= 0) return false;
+
+        // A missing entry reads as exactly one window old
+        if (now - lastTransfer.get(key, now - throttleTicks) < throttleTicks) return true;
+
+        lastTransfer.put(key, now);
+        if (lastTransfer.size() >= purgeAt) {
+            purge(now, throttleTicks);
+            // Only grow the purge point if most entries are live
+            purgeAt = Math.max(MIN_PURGE_AT, lastTransfer.size() << 1);
+        }
+        return false;
+    }
+
+    /**
+     * Drops the entries that can no longer throttle at {@code now}.
+     */
+    public int purge(long now, int throttleTicks) {
+        int removed = lastTransfer.removeValuesBelow(now - Math.max(0, throttleTicks) + 1);
+        purged += removed;
+        return removed;
+    }
+
+    public void clear() {
+        lastTransfer.clear();
+        purgeAt = MIN_PURGE_AT;
+    }
+
+    public int size() {
+        return lastTransfer.size();
+    }
+
+    public long getPurged() {
+        return purged;
+    }
+}
@@ -0,0 +1,250 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.LongLongHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Which hoppers and containers exchange items, learned from move events.
+ *
+ * Every observed transfer links its source and destination (packed block keys) in a
+ * union-find, so a hopper line together with the chests and filter hoppers it feeds
+ * ends up as one component - a chain. Components stop growing at
+ * {@link #MAX_COMPONENT} members, so storage that merely shares a chest with a
+ * machine is not pulled into its window.
+ *
+ * Sorters are recognised from the hopper doing the work: a hopper that pushes into a
+ * destination while another hopper pulls from it splits its items (the item line of
+ * an auto-sorter feeds the next line hopper and the filter hopper below it), as does
+ * one that has pushed into two different destinations. A chest that several hoppers
+ * pull from is not a sorter.
+ *
+ * Throttling is applied per component: all members share one transfer window, so a
+ * sorter slows down as a whole instead of its filters drifting out of step.
+ * It also remembers hoppers that are idle (destination full) until a given tick.
+ *
+ * Links expire by the tick they were last seen rather than by clearing the whole
+ * graph: {@link #expire} drops the links of hoppers that stopped transferring (broken
+ * or unloaded) and rebuilds the components from the links that are left.
+ */
+public class HopperTopology {
+
+    /** Vanilla hopper transfer cooldown; a window this wide is hit by every retrying hopper. */
+    public static final int TRANSFER_COOLDOWN = 8;
+    /** Largest component; links that would grow one beyond this are kept but not merged. */
+    public static final int MAX_COMPONENT = 64;
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int SORTER = 1;
+
+    private final LongLongHashMap parent = new LongLongHashMap(1024);   // node -> parent, roots are absent
+    private final LongIntHashMap componentSize = new LongIntHashMap(1024); // root -> members (> 1 only)
+    private final LongIntHashMap componentFlags = new LongIntHashMap(64); // root -> SORTER
+    private final LongLongHashMap lastPush = new LongLongHashMap(1024);   // hopper -> container it pushed into
+    private final LongLongHashMap lastPull = new LongLongHashMap(1024);   // hopper -> container it pulled from
+    private final LongLongHashMap lastSeen = new LongLongHashMap(1024);   // hopper -> tick of its last transfer
+    private final LongIntHashMap splitters = new LongIntHashMap(64);      // hoppers that pushed into two destinations
+    private final LongLongHashMap idleUntil = new LongLongHashMap(256);
+
+    private int chains = 0;
+    private int sorters = 0;
+
+    /**
+     * Records a transfer from {@code source} to {@code destination}; {@code push} is true
+     * when the source hopper moved the item, false when the destination pulled it.
+     */
+    public void link(long source, long destination, boolean push, long now) {
+        if (push) {
+            lastSeen.put(source, now);
+            long previous = lastPush.get(source, NONE);
+            if (previous == destination) return;
+            lastPush.put(source, destination);
+            union(source, destination);
+            if (previous != NONE) splitters.put(source, SORTER);
+            if (previous != NONE || isPulledFrom(source)) markSorter(find(source));
+        } else {
+            lastSeen.put(destination, now);
+            if (lastPull.get(destination, NONE) == source) return;
+            lastPull.put(destination, source);
+            union(source, destination);
+            // Another hopper draining a hopper that pushes elsewhere: a sorter's item line
+            if (lastPush.containsKey(source) && lastPush.get(source, NONE) != destination) markSorter(find(source));
+        }
+    }
+
+    private boolean isPulledFrom(long node) {
+        for (int i = 0; i <= lastPull.capacity(); i++) {
+            if (lastPull.isUsed(i) && lastPull.valueAt(i) == node) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drops the links of hoppers that have not transferred in {@code maxAge} ticks and
+     * rebuilds the components from the rest. Returns the number of hoppers dropped.
+     */
+    public int expire(long now, long maxAge) {
+        long[] stale = null;
+        int count = 0;
+        long oldest = now - maxAge;
+        for (int i = 0; i <= lastSeen.capacity(); i++) {
+            if (!lastSeen.isUsed(i) || lastSeen.valueAt(i) > oldest) continue;
+            if (stale == null) stale = new long[Math.min(lastSeen.size(), 256)];
+            else if (count == stale.length) stale = Arrays.copyOf(stale, count << 1);
+            stale[count++] = lastSeen.keyAt(i);
+        }
+        if (count == 0) return 0;
+
+        for (int i = 0; i < count; i++) {
+            lastSeen.remove(stale[i], NONE);
+            lastPush.remove(stale[i], NONE);
+            lastPull.remove(stale[i], NONE);
+            splitters.remove(stale[i], 0);
+            idleUntil.remove(stale[i], NONE);
+        }
+        rebuild();
+        return count;
+    }
+
+    // Union-find cannot split a component, so the surviving links are replayed into a fresh one
+    private void rebuild() {
+        parent.clear();
+        componentSize.clear();
+        componentFlags.clear();
+        chains = 0;
+        sorters = 0;
+        for (int i = 0; i <= lastPush.capacity(); i++) {
+            if (lastPush.isUsed(i)) union(lastPush.keyAt(i), lastPush.valueAt(i));
+        }
+        for (int i = 0; i <= lastPull.capacity(); i++) {
+            if (!lastPull.isUsed(i)) continue;
+            long hopper = lastPull.keyAt(i), source = lastPull.valueAt(i);
+            union(source, hopper);
+            if (lastPush.containsKey(source) && lastPush.get(source, NONE) != hopper) markSorter(find(source));
+        }
+        for (int i = 0; i <= splitters.capacity(); i++) {
+            if (splitters.isUsed(i)) markSorter(find(splitters.keyAt(i)));
+        }
+    }
+
+    public long find(long node) {
+        long root = node;
+        long p;
+        while ((p = parent.get(root, NONE)) != NONE) root = p;
+
+        // Path compression
+        while ((p = parent.get(node, NONE)) != NONE && p != root) {
+            parent.put(node, root);
+            node = p;
+        }
+        return root;
+    }
+
+    public int chainSize(long node) {
+        return componentSize.get(find(node), 1);
+    }
+
+    public boolean isSorter(long node) {
+        return (componentFlags.get(find(node), 0) & SORTER) != 0;
+    }
+
+    /**
+     * True while the component of {@code node} may transfer. Components cycle through
+     * {@code throttleTicks} closed ticks and one {@link #TRANSFER_COOLDOWN}-wide open window,
+     * with a per-component phase so that separate chains do not all open together.
+     */
+    public boolean isWindowOpen(long node, long now, int throttleTicks) {
+        if (throttleTicks <= 0) return true;
+        long root = find(node);
+        int cycle = throttleTicks + TRANSFER_COOLDOWN;
+        long phase = (root ^ (root >>> 29)) & 0x7FFFFFFF;
+        return Math.floorMod(now + phase, cycle) < TRANSFER_COOLDOWN;
+    }
+
+    // --- Idle hoppers ---
+
+    public void markIdle(long hopper, long until) {
+        idleUntil.put(hopper, until);
+    }
+
+    public boolean isIdle(long hopper, long now) {
+        return idleUntil.get(hopper, NONE) > now;
+    }
+
+    public int getIdleCount() {
+        return idleUntil.size();
+    }
+
+    /**
+     * Drops expired idle marks.
+     */
+    public void purgeIdle(long now) {
+        idleUntil.removeValuesBelow(now + 1);
+    }
+
+    public void clearIdle() {
+        idleUntil.clear();
+    }
+
+    public int getChainCount() {
+        return chains;
+    }
+
+    public int getSorterCount() {
+        return sorters;
+    }
+
+    public int getNodeCount() {
+        return lastSeen.size();
+    }
+
+    public void clear() {
+        parent.clear();
+        componentSize.clear();
+        componentFlags.clear();
+        lastPush.clear();
+        lastPull.clear();
+        lastSeen.clear();
+        splitters.clear();
+        idleUntil.clear();
+        chains = 0;
+        sorters = 0;
+    }
+
+    // --- Union-find ---
+
+    private void union(long a, long b) {
+        long rootA = find(a);
+        long rootB = find(b);
+        if (rootA == rootB) return;
+
+        int sizeA = componentSize.get(rootA, 1);
+        int sizeB = componentSize.get(rootB, 1);
+        if (sizeA + sizeB > MAX_COMPONENT) return;
+        if (sizeA < sizeB) {
+            long r = rootA; rootA = rootB; rootB = r;
+        }
+
+        // rootB joins rootA
+        parent.put(rootB, rootA);
+        componentSize.remove(rootB, 0);
+        componentSize.put(rootA, sizeA + sizeB);
+        if (sizeA > 1 && sizeB > 1) chains--;
+        else if (sizeA == 1 && sizeB == 1) chains++;
+
+        int flagsB = componentFlags.remove(rootB, 0);
+        if (flagsB != 0) {
+            int flagsA = componentFlags.get(rootA, 0);
+            if ((flagsA & flagsB & SORTER) != 0) sorters--;
+            componentFlags.put(rootA, flagsA | flagsB);
+        }
+    }
+
+    private void markSorter(long root) {
+        int flags = componentFlags.get(root, 0);
+        if ((flags & SORTER) != 0) return;
+        componentFlags.put(root, flags | SORTER);
+        sorters++;
+    }
+}
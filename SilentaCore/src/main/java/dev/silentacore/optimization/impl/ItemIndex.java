@@ -0,0 +1,125 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import org.bukkit.entity.Item;
+
+import java.util.Arrays;
+
+/**
+ * Live item entities by the chunk they were indexed in.
+ *
+ * A pool of slots linked per chunk (newest first) plus entity id -> slot for removal,
+ * so adding and removing are O(1) and a spawn only walks the few items of the chunks
+ * around it. Items that drift into another chunk stay filed under the old one until
+ * the next rebuild; callers always check the live position.
+ */
+public class ItemIndex {
+
+    public static final int NONE = -1;
+
+    private final LongIntHashMap heads = new LongIntHashMap(256);  // chunk key -> newest slot
+    private final LongIntHashMap slotById = new LongIntHashMap(256); // entity id -> slot
+
+    private Item[] items = new Item[256];
+    private long[] chunkOf = new long[256];
+    private int[] material = new int[256];
+    private int[] next = new int[256];
+    private int[] prev = new int[256];
+    private int freeHead = NONE;
+    private int used = 0; // slots ever handed out
+    private int size = 0;
+
+    public void add(Item item, long chunkKey, int materialOrdinal) {
+        if (slotById.containsKey(item.getEntityId())) return;
+
+        int slot;
+        if (freeHead != NONE) {
+            slot = freeHead;
+            freeHead = next[slot];
+        } else {
+            if (used == items.length) grow();
+            slot = used++;
+        }
+
+        items[slot] = item;
+        chunkOf[slot] = chunkKey;
+        material[slot] = materialOrdinal;
+
+        int head = heads.get(chunkKey, NONE);
+        next[slot] = head;
+        prev[slot] = NONE;
+        if (head != NONE) prev[head] = slot;
+        heads.put(chunkKey, slot);
+
+        slotById.put(item.getEntityId(), slot);
+        size++;
+    }
+
+    public boolean contains(Item item) {
+        return slotById.containsKey(item.getEntityId());
+    }
+
+    public void remove(Item item) {
+        int slot = slotById.remove(item.getEntityId(), NONE);
+        if (slot == NONE) return;
+
+        int p = prev[slot], n = next[slot];
+        if (n != NONE) prev[n] = p;
+        if (p != NONE) {
+            next[p] = n;
+        } else if (n != NONE) {
+            heads.put(chunkOf[slot], n);
+        } else {
+            heads.remove(chunkOf[slot], NONE);
+        }
+
+        items[slot] = null;
+        next[slot] = freeHead;
+        freeHead = slot;
+        size--;
+    }
+
+    // --- Walking a chunk: for (int s = first(key); s != NONE; s = next(s)) ---
+
+    public int first(long chunkKey) {
+        return heads.get(chunkKey, NONE);
+    }
+
+    public int next(int slot) {
+        return next[slot];
+    }
+
+    public Item item(int slot) {
+        return items[slot];
+    }
+
+    public int material(int slot) {
+        return material[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getChunkCount() {
+        return heads.size();
+    }
+
+    public void clear() {
+        heads.clear();
+        slotById.clear();
+        Arrays.fill(items, 0, used, null);
+        freeHead = NONE;
+        used = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = items.length << 1;
+        items = Arrays.copyOf(items, capacity);
+        chunkOf = Arrays.copyOf(chunkOf, capacity);
+        material = Arrays.copyOf(material, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
@@ -1,114 +1,371 @@
 package dev.silentacore.optimization.impl;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.monitor.LoadLevelListener;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDropItemEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collection;
 
-public class ItemMergeOptimizer implements Optimizer {
+/**
+ * Merges dropped items while the server is under load.
+ *
+ * New items are coalesced at spawn time into a compatible stack nearby, found through
+ * a per-chunk {@link ItemIndex} of live items, so farms and block-break storms never
+ * build up entity counts. The periodic grid-hashed pass only sweeps up stragglers
+ * (items that drifted together) and rebuilds the index.
+ */
+public class ItemMergeOptimizer implements Optimizer, Listener, LoadLevelListener {
+
+    private static final int NONE = -1;
+    // Items looked at per chunk when a new one spawns, newest first
+    private static final int MAX_CANDIDATES = 16;
 
     private final SilentaCore plugin;
-    private double radius;
+    private double baseRadius;
+    private double maxRadius;
+    private double radius; // current, scaled by controller pressure
     private int maxStackSize;
 
+    // Per-pass index, reused between passes
+    private final LongIntHashMap heads = new LongIntHashMap(256); // cell + material -> first item
+    private Item[] items = new Item[256];
+    private ItemStack[] stacks = new ItemStack[256];
+    private double[] xs = new double[256];
+    private double[] ys = new double[256];
+    private double[] zs = new double[256];
+    private int[] next = new int[256]; // next item in the same cell, or NONE
+    private boolean[] dirty = new boolean[256];
+    private boolean[] gone = new boolean[256];
+    private int count = 0;
+
+    // Live items for spawn-time merging, maintained while engaged
+    private final ItemIndex live = new ItemIndex();
+    private boolean engaged = false;
+    private long spawnMerged;
+    private long spawnsCancelled;
+
+    private ModuleMetrics metrics;
+    private int spawnMergedCounter;
+    private int sweepMergedCounter;
+
     public ItemMergeOptimizer(SilentaCore plugin) {
         this.plugin = plugin;
     }
 
     @Override
     public void enable() {
-        this.radius = plugin.getConfigManager().getDouble("item-merge-optimization.radius");
-        this.maxStackSize = plugin.getConfigManager().getInt("item-merge-optimization.max-stack-size", 64);
+        ConfigSnapshot.ItemMerge config = plugin.getConfigManager().getSnapshot().itemMerge();
+        this.baseRadius = Math.max(0.1, config.radius());
+        this.maxRadius = Math.max(baseRadius, config.maxRadius());
+        this.radius = baseRadius;
+        this.maxStackSize = config.maxStackSize();
+        this.spawnMerged = 0;
+        this.spawnsCancelled = 0;
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.spawnMergedCounter = metrics.counter("items merged at spawn");
+        this.sweepMergedCounter = metrics.counter("items merged by sweep");
+
+        plugin.getOptimizationManager().registerEvents(this);
+        plugin.getPerformanceMonitor().addListener(this);
+        if (plugin.getPerformanceMonitor().isLevel1()) engage();
     }
 
     @Override
-    public void disable() {}
+    public void disable() {
+        HandlerList.unregisterAll(this);
+        plugin.getPerformanceMonitor().removeListener(this);
+        this.engaged = false;
+        live.clear();
+    }
 
     @Override
-    public void tick() {
-        long interval = plugin.getConfigManager().getInt("item-merge-optimization.check-interval", 40);
-        if (Bukkit.getCurrentTick() % interval != 0) return;
+    public void onLoadLevelChange(LoadLevel from, LoadLevel to) {
+        if (to == LoadLevel.VANILLA) {
+            this.engaged = false;
+            live.clear();
+        } else if (from == LoadLevel.VANILLA) {
+            engage();
+        }
+    }
+
+    // Sweep right away so the live index is populated before the next spawn
+    private void engage() {
+        this.engaged = true;
+        tick();
+    }
 
+    @Override
+    public void tick() {
         // If TPS is Level 1 or worse, run merge
-        if (!plugin.getPerformanceMonitor().isLevel1()) return;
+        if (!engaged) return;
 
+        // Controller pressure widens the radius towards max-radius; held for the whole pass
+        this.radius = currentRadius();
+        live.clear();
         for (World world : Bukkit.getWorlds()) {
-            List<Item> items = new ArrayList<>();
-            for (Entity e : world.getEntities()) {
-                if (e instanceof Item) {
-                    items.add((Item) e);
-                }
-            }
-
-            // Simple O(N^2) within chunks or just distance check.
-            // Since we want "Micro-optimization", iterating all items is okay if count is low,
-            // but bad if count is high (lag machines).
-            // Optimization: Only check items that are "mergeable" (not pickup delay infinite, not processed).
-            
-            // To avoid N^2 global, we can group by chunk?
-            // Bukkit entity iteration is per-chunk usually internally, but getEntities() returns a list.
-            // Better: Iterate chunks, then entities in chunk.
-            
-            for (org.bukkit.Chunk chunk : world.getLoadedChunks()) {
-                Entity[] chunkEntities = chunk.getEntities();
-                List<Item> chunkItems = new ArrayList<>();
-                for (Entity e : chunkEntities) {
-                    if (e instanceof Item item && item.isValid() && !item.isDead()) {
-                        chunkItems.add(item);
-                    }
-                }
-                
-                if (chunkItems.isEmpty()) continue;
-                
-                mergeItems(chunkItems);
-            }
+            // One pass per world so items on either side of a chunk border merge too
+            Collection<Item> worldItems = world.getEntitiesByClass(Item.class);
+            if (worldItems.isEmpty()) continue;
+            index(worldItems);
+            mergeItems();
+            release();
         }
     }
     
-    private void mergeItems(List<Item> items) {
-        for (int i = 0; i < items.size(); i++) {
-            Item a = items.get(i);
-            if (a.isDead() || !a.isValid()) continue;
+    @Override
+    public int getPeriod() {
+        return plugin.getConfigManager().getSnapshot().itemMerge().checkInterval();
+    }
+
+    private double currentRadius() {
+        return baseRadius + plugin.getPerformanceMonitor().getPressure() * (maxRadius - baseRadius);
+    }
+
+    // --- Spatial hash: cells of merge-radius size, keyed by cell and material ---
+    // An item only has to look at its own cell and the 26 around it. Key collisions
+    // (far-away cells wrapping onto each other) are harmless: candidates are still
+    // checked for distance and similarity.
+
+    private void index(Collection<Item> worldItems) {
+        heads.clear();
+        count = 0;
+        if (items.length < worldItems.size()) grow(worldItems.size());
+
+        for (Item item : worldItems) {
+            if (!item.isValid() || item.isDead() || !isMergeable(item)) continue;
+            int i = count++;
+            items[i] = item;
+            stacks[i] = item.getItemStack();
+            xs[i] = item.getX();
+            ys[i] = item.getY();
+            zs[i] = item.getZ();
+            dirty[i] = false;
+            gone[i] = false;
+
+            long key = cellKey(cell(xs[i]), cell(ys[i]), cell(zs[i]), stacks[i].getType().ordinal());
+            next[i] = heads.get(key, NONE);
+            heads.put(key, i);
+        }
+    }
+
+    private void mergeItems() {
+        double radiusSq = radius * radius;
+        for (int i = 0; i < count; i++) {
+            if (gone[i] || stacks[i].getAmount() >= limit(stacks[i])) continue;
+            int cx = cell(xs[i]), cy = cell(ys[i]), cz = cell(zs[i]);
+            int material = stacks[i].getType().ordinal();
 
-            for (int j = i + 1; j < items.size(); j++) {
-                Item b = items.get(j);
-                if (b.isDead() || !b.isValid()) continue;
+            neighbours:
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        int j = heads.get(cellKey(cx + dx, cy + dy, cz + dz, material), NONE);
+                        for (; j != NONE; j = next[j]) {
+                            if (j == i || gone[j]) continue;
+                            double ddx = xs[i] - xs[j], ddy = ys[i] - ys[j], ddz = zs[i] - zs[j];
+                            if (ddx * ddx + ddy * ddy + ddz * ddz > radiusSq) continue;
 
-                if (a.getLocation().distanceSquared(b.getLocation()) <= radius * radius) {
-                    tryMerge(a, b);
+                            tryMerge(i, j);
+                            if (stacks[i].getAmount() >= limit(stacks[i])) break neighbours;
+                        }
+                    }
                 }
             }
         }
+
+        // Write back each changed stack once; survivors make up the new live index
+        for (int i = 0; i < count; i++) {
+            if (gone[i]) {
+                items[i].remove();
+                metrics.increment(sweepMergedCounter);
+                continue;
+            }
+            if (dirty[i]) items[i].setItemStack(stacks[i]);
+            indexLive(items[i], stacks[i]);
+        }
     }
 
-    private void tryMerge(Item a, Item b) {
-        ItemStack sa = a.getItemStack();
-        ItemStack sb = b.getItemStack();
+    private void tryMerge(int a, int b) {
+        ItemStack sa = stacks[a];
+        ItemStack sb = stacks[b];
 
         if (sa.isSimilar(sb)) {
+            int maxStackSize = limit(sa);
             int total = sa.getAmount() + sb.getAmount();
             if (total <= maxStackSize) {
                 sa.setAmount(total);
-                a.setItemStack(sa);
-                b.remove();
+                dirty[a] = true;
+                gone[b] = true;
             } else {
                 // Merge as much as possible to A
                 int toTransfer = maxStackSize - sa.getAmount();
                 if (toTransfer > 0) {
                     sa.setAmount(maxStackSize);
-                    a.setItemStack(sa);
-                    
+                    dirty[a] = true;
+
                     sb.setAmount(sb.getAmount() - toTransfer);
-                    b.setItemStack(sb);
+                    dirty[b] = true;
+                }
+            }
+        }
+    }
+
+    // --- Spawn-time coalescing ---
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent e) {
+        if (!engaged || live.contains(e.getEntity()) || !metrics.admit()) return;
+        if (coalesce(e.getEntity())) e.setCancelled(true);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityDropItem(EntityDropItemEvent e) {
+        if (!engaged || live.contains(e.getItemDrop()) || !metrics.admit()) return;
+        if (coalesce(e.getItemDrop())) e.setCancelled(true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent e) {
+        if (e.getEntity() instanceof Item item) live.remove(item);
+    }
+
+    /**
+     * Moves as much of the new item as fits into compatible stacks nearby.
+     * Returns true if nothing is left and the spawn can be cancelled; otherwise the
+     * remainder is indexed as a live item.
+     */
+    private boolean coalesce(Item item) {
+        if (!isMergeable(item)) return false;
+        ItemStack stack = item.getItemStack();
+        int material = stack.getType().ordinal();
+        int amount = stack.getAmount();
+        double x = item.getX(), y = item.getY(), z = item.getZ();
+        double radius = currentRadius();
+        double radiusSq = radius * radius;
+        int worldSlot = WorldKeys.slot(item.getWorld());
+
+        if (amount < limit(stack)) {
+            int minCx = (int) Math.floor(x - radius) >> 4, maxCx = (int) Math.floor(x + radius) >> 4;
+            int minCz = (int) Math.floor(z - radius) >> 4, maxCz = (int) Math.floor(z + radius) >> 4;
+
+            search:
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cz = minCz; cz <= maxCz; cz++) {
+                    int checked = 0;
+                    for (int s = live.first(WorldKeys.chunkKey(worldSlot, cx, cz)); s != ItemIndex.NONE && checked < MAX_CANDIDATES; s = live.next(s)) {
+                        if (live.material(s) != material) continue;
+                        checked++;
+
+                        Item target = live.item(s);
+                        if (target == item || !target.isValid() || !isMergeable(target)) continue;
+                        double dx = target.getX() - x, dy = target.getY() - y, dz = target.getZ() - z;
+                        if (dx * dx + dy * dy + dz * dz > radiusSq) continue;
+
+                        ItemStack targetStack = target.getItemStack();
+                        int room = limit(targetStack) - targetStack.getAmount();
+                        if (room <= 0 || !targetStack.isSimilar(stack)) continue;
+
+                        int moved = Math.min(room, amount);
+                        targetStack.setAmount(targetStack.getAmount() + moved);
+                        target.setItemStack(targetStack);
+                        amount -= moved;
+                        spawnMerged++;
+                        metrics.increment(spawnMergedCounter);
+                        if (amount == 0) break search;
+                    }
                 }
             }
         }
+
+        if (amount == 0) {
+            spawnsCancelled++;
+            return true;
+        }
+        if (amount != stack.getAmount()) {
+            stack.setAmount(amount);
+            item.setItemStack(stack);
+        }
+        indexLive(item, stack);
+        return false;
+    }
+
+    private void indexLive(Item item, ItemStack stack) {
+        live.add(item, WorldKeys.chunkKey(item.getWorld(), (int) Math.floor(item.getX()) >> 4,
+                (int) Math.floor(item.getZ()) >> 4), stack.getType().ordinal());
+    }
+
+    public ItemIndex getLiveIndex() {
+        return live;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public long getSpawnMerged() {
+        return spawnMerged;
+    }
+
+    public long getSpawnsCancelled() {
+        return spawnsCancelled;
+    }
+
+    // Items someone threw or owns, or that can't be picked up yet, keep their own entity:
+    // merging would hand them to another player or make them collectable early.
+    // They are swept up once their pickup delay has run out.
+    private static boolean isMergeable(Item item) {
+        return item.getOwner() == null && item.getThrower() == null && item.getPickupDelay() <= 0;
+    }
+
+    // Never build stacks the item itself cannot hold (tools, potions, ...)
+    private int limit(ItemStack stack) {
+        return Math.min(maxStackSize, stack.getMaxStackSize());
+    }
+
+    // Drop entity references so unloaded items are not kept alive between passes
+    private void release() {
+        Arrays.fill(items, 0, count, null);
+        Arrays.fill(stacks, 0, count, null);
+        count = 0;
+    }
+
+    private void grow(int needed) {
+        int size = Math.max(needed, items.length << 1);
+        items = Arrays.copyOf(items, size);
+        stacks = Arrays.copyOf(stacks, size);
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+        zs = Arrays.copyOf(zs, size);
+        next = Arrays.copyOf(next, size);
+        dirty = Arrays.copyOf(dirty, size);
+        gone = Arrays.copyOf(gone, size);
+    }
+
+    private int cell(double coord) {
+        return (int) Math.floor(coord / radius);
+    }
+
+    // 20 bits cell X and Z, 12 bits cell Y, 12 bits material
+    private static long cellKey(int cx, int cy, int cz, int material) {
+        return (((long) cx & 0xFFFFFL) << 44) | (((long) cz & 0xFFFFFL) << 24)
+                | (((long) cy & 0xFFFL) << 12) | ((long) material & 0xFFFL);
     }
 
     @Override
@@ -0,0 +1,99 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Chunk-grid spatial index of active (non-AFK) players.
+ *
+ * Each counted player sits in the cell of the chunk they stand in, and each cell
+ * knows how many players it holds. The grid is moved along with players from events
+ * (see {@link ChunkProximity}) rather than rebuilt, so "is an active player within n
+ * chunks" probes at most (2n+1)^2 cells and never touches a player or a Location.
+ */
+public class PlayerGrid {
+
+    private final LongIntHashMap cells = new LongIntHashMap(256); // chunk key -> players in it
+    private final Map<UUID, long[]> players = new HashMap<>();    // player -> { chunk key }
+
+    public boolean contains(Player player) {
+        return players.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Chunk key of the cell {@code player} is in; only meaningful if {@link #contains} is true.
+     */
+    public long chunkOf(Player player) {
+        long[] cell = players.get(player.getUniqueId());
+        return cell != null ? cell[0] : 0L;
+    }
+
+    /**
+     * Puts {@code player} in the cell of {@code chunkKey}, moving them out of their old one.
+     */
+    public void put(Player player, long chunkKey) {
+        long[] cell = players.get(player.getUniqueId());
+        if (cell == null) {
+            players.put(player.getUniqueId(), new long[] {chunkKey});
+        } else {
+            if (cell[0] == chunkKey) return;
+            leave(cell[0]);
+            cell[0] = chunkKey;
+        }
+        cells.addTo(chunkKey, 1);
+    }
+
+    public void remove(Player player) {
+        long[] cell = players.remove(player.getUniqueId());
+        if (cell != null) leave(cell[0]);
+    }
+
+    public int countIn(long chunkKey) {
+        return cells.get(chunkKey, 0);
+    }
+
+    /**
+     * True if an active player stands within {@code radius} chunks of the chunk {@code chunkKey}.
+     */
+    public boolean hasPlayerWithin(long chunkKey, int radius) {
+        int slot = WorldKeys.worldSlot(chunkKey);
+        int cx = WorldKeys.chunkX(chunkKey);
+        int cz = WorldKeys.chunkZ(chunkKey);
+        for (int x = cx - radius; x <= cx + radius; x++) {
+            for (int z = cz - radius; z <= cz + radius; z++) {
+                if (cells.containsKey(WorldKeys.chunkKey(slot, x, z))) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls {@code action} with the chunk key of every counted player.
+     */
+    public void forEachPlayerChunk(LongConsumer action) {
+        for (long[] cell : players.values()) action.accept(cell[0]);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public int getOccupiedCells() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+        players.clear();
+    }
+
+    private void leave(long chunkKey) {
+        if (cells.addTo(chunkKey, -1) <= 0) cells.remove(chunkKey, 0);
+    }
+}
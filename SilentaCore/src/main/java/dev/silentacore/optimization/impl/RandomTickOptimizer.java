@@ -1,21 +1,54 @@
 package dev.silentacore.optimization.impl;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
+import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockGrowEvent;
-import org.bukkit.event.block.BlockSpreadEvent;
-import org.bukkit.event.block.LeavesDecayEvent;
-
-import java.util.concurrent.ThreadLocalRandom;
-
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Slows random-tick growth (crops, spread, leaf decay) in block-entity-heavy chunks under load.
+ *
+ * Each chunk has a credit bucket: every growth attempt adds the chunk's allowed
+ * fraction to it, and the attempt goes through only when a whole credit is available.
+ * Exactly that fraction of attempts succeeds, deterministically and evenly spaced,
+ * so farms side by side get the same output. The fraction scales continuously with
+ * MSPT (or the pressure controller's output) and block entity density and never
+ * drops below min-random-tick-speed / 3.
+ */
 public class RandomTickOptimizer implements Optimizer, Listener {
 
+    private static final int ONE = 1 << 16; // One credit in 16.16 fixed point
+    private static final double BUDGET_MSPT = 50.0;
+    private static final int PRESSURE_REFRESH_TICKS = 20;
+    private static final int VERIFY_CHUNKS = 16; // per second
+
     private final SilentaCore plugin;
+    private final TileEntityCounter tileEntities = new TileEntityCounter();
+    private final LongIntHashMap credits = new LongIntHashMap(256); // chunk key -> credit (16.16)
     private int tileEntityThreshold;
+    private double minFraction;
+    private double fullScaleMspt;
+
+    // 0 at or under the tick budget, 1 at full-scale-mspt and beyond
+    private double pressure = 0.0;
+    private long pressureTick = Long.MIN_VALUE / 2;
+
+    private long attempts;
+    private long allowed;
+
+    private ModuleMetrics metrics;
+    private int cancelledCounter;
 
     public RandomTickOptimizer(SilentaCore plugin) {
         this.plugin = plugin;
@@ -23,18 +56,61 @@ public class RandomTickOptimizer implements Optimizer, Listener {
 
     @Override
     public void enable() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        this.tileEntityThreshold = plugin.getConfigManager().getInt("random-tick-optimization.tile-entity-threshold", 64);
+        ConfigSnapshot.RandomTick config = plugin.getConfigManager().getSnapshot().randomTick();
+        this.tileEntityThreshold = Math.max(1, config.tileEntityThreshold());
+        // Vanilla randomTickSpeed is 3, so the minimum speed maps to a share of vanilla growth
+        this.minFraction = Math.max(0.0, Math.min(1.0, config.minRandomTickSpeed() / 3.0));
+        this.fullScaleMspt = Math.max(BUDGET_MSPT + 1.0, config.fullScaleMspt());
+        this.pressureTick = Long.MIN_VALUE / 2;
+        this.attempts = 0;
+        this.allowed = 0;
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.cancelledCounter = metrics.counter("growth ticks cancelled");
+        plugin.getOptimizationManager().registerEvents(this);
     }
 
     @Override
     public void disable() {
-        // No cleanup needed for event listener
+        HandlerList.unregisterAll(this);
+        this.pressure = 0.0;
+        tileEntities.clear();
+        credits.clear();
+    }
+
+    // MSPT over the tick budget, mapped to 0..1, or the controller's pressure if that
+    // is higher (it acts before the budget is reached); refreshed once a second
+    private double pressure() {
+        long now = Bukkit.getCurrentTick();
+        if (now - pressureTick >= PRESSURE_REFRESH_TICKS) {
+            pressureTick = now;
+            double mspt = plugin.getPerformanceMonitor().getSampler().getMean5s();
+            double overBudget = Math.max(0.0, Math.min(1.0, (mspt - BUDGET_MSPT) / (fullScaleMspt - BUDGET_MSPT)));
+            pressure = Math.max(overBudget, plugin.getPerformanceMonitor().getPressure());
+        }
+        return pressure;
+    }
+
+    /**
+     * Share of growth attempts allowed in a chunk with {@code teCount} block entities at the current load.
+     */
+    public double allowedFraction(int teCount) {
+        if (teCount < tileEntityThreshold) return 1.0;
+        // 0.5 at the threshold, 1.0 from twice the threshold on
+        double density = Math.min(1.0, teCount / (2.0 * tileEntityThreshold));
+        return 1.0 - pressure() * density * (1.0 - minFraction);
     }
 
     @Override
     public void tick() {
-        // Event based
+        // Recount chunks where blocks were placed or broken, plus a few others a second so
+        // anything the events missed (world edits, other plugins) gets corrected, and drop
+        // chunks that unloaded unseen
+        tileEntities.verify(VERIFY_CHUNKS);
+    }
+
+    @Override
+    public int getPeriod() {
+        return 20;
     }
 
     @Override
@@ -44,53 +120,86 @@ public class RandomTickOptimizer implements Optimizer, Listener {
 
     @EventHandler(ignoreCancelled = true)
     public void onGrow(BlockGrowEvent e) {
-        handleRandomTick(e.getBlock().getChunk(), e);
+        handleRandomTick(e.getBlock(), e);
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onSpread(BlockSpreadEvent e) {
-        handleRandomTick(e.getBlock().getChunk(), e);
+        handleRandomTick(e.getBlock(), e);
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onDecay(LeavesDecayEvent e) {
-        handleRandomTick(e.getBlock().getChunk(), e);
+        handleRandomTick(e.getBlock(), e);
+    }
+
+    // --- Tile entity count upkeep ---
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent e) {
+        tileEntities.changed(e.getBlock());
     }
 
-    private void handleRandomTick(Chunk chunk, org.bukkit.event.Cancellable e) {
-        // 1. Check TPS
-        if (!plugin.getPerformanceMonitor().isLevel2()) return; // Only optimize if TPS < 18
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent e) {
+        tileEntities.changed(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent e) {
+        for (Block block : e.blockList()) tileEntities.changed(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent e) {
+        for (Block block : e.blockList()) tileEntities.changed(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent e) {
+        tileEntities.forget(e.getChunk());
+        credits.remove(WorldKeys.chunkKey(e.getChunk().getWorld(), e.getChunk().getX(), e.getChunk().getZ()), 0);
+    }
+
+    private void handleRandomTick(Block block, org.bukkit.event.Cancellable e) {
+        // 1. Check MSPT
+        if (pressure() <= 0.0 || !metrics.admit()) return;
 
         // 2. Check Builder Protection
-        if (plugin.getProtectionManager().isChunkProtected(chunk)) return;
+        int chunkX = block.getX() >> 4, chunkZ = block.getZ() >> 4;
+        if (plugin.getProtectionManager().isChunkProtected(block.getWorld(), chunkX, chunkZ)) return;
 
         // 3. Check Chunk Load (Tile Entities)
-        // Note: getTileEntities() can be expensive if not cached, but Paper usually handles it well.
-        // For micro-optimization, we trust the array length check is fast enough or use a snapshot if available.
-        // In 1.21, getTileEntities() might return a copy.
-        // A lighter check is checking if the chunk has ANY heavy logic. 
-        // We'll stick to the configured threshold.
-        int teCount = chunk.getTileEntities().length;
-        if (teCount < tileEntityThreshold) return;
-
-        // 4. Calculate Cancel Probability
-        // More tile entities + Lower TPS = Higher chance to cancel
-        double chance = 0.0;
-        
-        if (plugin.getPerformanceMonitor().isLevel3()) { // < 16 TPS
-            chance = 0.60; // Cancel 60%
-        } else { // < 18 TPS
-            chance = 0.30; // Cancel 30%
-        }
-        
-        // Scale by TE count? 
-        // If TE count is double the threshold, increase chance.
-        if (teCount > tileEntityThreshold * 2) {
-            chance += 0.20;
-        }
-
-        if (ThreadLocalRandom.current().nextDouble() < chance) {
+        // One table read; the count is kept current by the place/break/unload events
+        int teCount = tileEntities.get(block.getWorld(), chunkX, chunkZ);
+        double fraction = allowedFraction(teCount);
+        if (fraction >= 1.0) return;
+
+        // 4. Credit bucket: add this chunk's share, spend a whole credit to grow
+        attempts++;
+        long key = WorldKeys.chunkKey(block.getWorld(), chunkX, chunkZ);
+        int credit = credits.addTo(key, (int) (fraction * ONE));
+        if (credit >= ONE) {
+            credits.put(key, Math.min(credit - ONE, ONE)); // Carry at most one credit over
+            allowed++;
+        } else {
             e.setCancelled(true);
+            metrics.increment(cancelledCounter);
         }
     }
+
+    public TileEntityCounter getTileEntities() {
+        return tileEntities;
+    }
+
+    public double getPressure() {
+        return pressure;
+    }
+
+    /**
+     * Share of growth attempts let through in throttled chunks since enable.
+     */
+    public double getAllowedRatio() {
+        return attempts == 0 ? 1.0 : allowed / (double) attempts;
+    }
 }
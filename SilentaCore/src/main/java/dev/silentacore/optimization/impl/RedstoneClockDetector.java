@@ -0,0 +1,237 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.LongLongHashMap;
+import dev.silentacore.util.WorldKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds redstone clocks from the stream of redstone transitions.
+ *
+ * Each chunk keeps a tick-indexed sliding window (one bucket per tick) of how many
+ * transitions happened in it. Each block remembers its last rising edge and the
+ * period between its last two; a block whose period repeats (within one tick) for
+ * {@code confirmCycles} cycles in a row, and is at most {@code maxPeriod}, is a
+ * clock. Doors, pistons and farms fire irregularly and never build a streak.
+ */
+public class RedstoneClockDetector {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    // Block key -> last rise tick (high 40 bits) | period (16 bits) | streak (8 bits)
+    private final LongLongHashMap blocks = new LongLongHashMap(1024);
+
+    // Chunk key -> dense window index
+    private final LongIntHashMap chunkIndex = new LongIntHashMap(256);
+    private long[] chunkKeys = new long[64];
+    private long[] chunkLastTick = new long[64];
+    private int[] chunkTotals = new int[64];
+    private int[] buckets = new int[64 * 100]; // windowTicks buckets per chunk
+    private int chunkCount = 0;
+
+    private int windowTicks = 100;
+    private int maxPeriod = 40;
+    private int confirmCycles = 4;
+
+    public void configure(int windowTicks, int maxPeriod, int confirmCycles) {
+        int window = Math.max(1, windowTicks);
+        if (window != this.windowTicks) clear();
+        this.windowTicks = window;
+        this.maxPeriod = Math.max(1, Math.min(maxPeriod, 0xFFFF));
+        this.confirmCycles = Math.max(2, Math.min(confirmCycles, 0xFF));
+        if (buckets.length != chunkKeys.length * windowTicks) buckets = new int[chunkKeys.length * windowTicks];
+    }
+
+    /**
+     * Records one transition of the block at {@code blockKey} in chunk {@code chunkKey}.
+     */
+    public void record(long chunkKey, long blockKey, boolean rising, long now) {
+        countChunk(chunkKey, now);
+        if (rising) recordRise(blockKey, now);
+    }
+
+    /**
+     * True if the block is a confirmed clock that is still running.
+     */
+    public boolean isClock(long blockKey, long now) {
+        long state = blocks.get(blockKey, NONE);
+        if (state == NONE) return false;
+        int period = period(state);
+        return streak(state) >= confirmCycles && period > 0 && now - lastRise(state) <= 2L * period;
+    }
+
+    /**
+     * Transitions in the chunk over the last window.
+     */
+    public int getChunkTransitions(long chunkKey, long now) {
+        int i = chunkIndex.get(chunkKey, -1);
+        if (i < 0) return 0;
+        advance(i, now);
+        return chunkTotals[i];
+    }
+
+    public int getWindowTicks() {
+        return windowTicks;
+    }
+
+    public int getTrackedBlocks() {
+        return blocks.size();
+    }
+
+    public int getTrackedChunks() {
+        return chunkCount;
+    }
+
+    /**
+     * The chunks with running clocks, busiest first.
+     */
+    public List<ClockReport> top(int limit, long now) {
+        LongIntHashMap byChunk = new LongIntHashMap(32);
+        List<ClockReport> reports = new ArrayList<>();
+
+        for (int slot = 0; slot <= blocks.capacity(); slot++) {
+            if (!blocks.isUsed(slot)) continue;
+            long block = blocks.keyAt(slot);
+            if (!isClock(block, now)) continue;
+
+            long chunk = WorldKeys.chunkKey(WorldKeys.blockWorldSlot(block),
+                    WorldKeys.blockX(block) >> 4, WorldKeys.blockZ(block) >> 4);
+            int period = period(blocks.valueAt(slot));
+            int r = byChunk.get(chunk, -1);
+            if (r < 0) {
+                byChunk.put(chunk, reports.size());
+                reports.add(new ClockReport(chunk, block, getChunkTransitions(chunk, now), 1, period));
+            } else {
+                ClockReport old = reports.get(r);
+                reports.set(r, new ClockReport(chunk, period < old.shortestPeriod() ? block : old.sampleBlock(),
+                        old.transitions(), old.clocks() + 1, Math.min(period, old.shortestPeriod())));
+            }
+        }
+
+        reports.sort(Comparator.comparingInt(ClockReport::transitions).reversed());
+        return reports.size() > limit ? new ArrayList<>(reports.subList(0, limit)) : reports;
+    }
+
+    /**
+     * Drops blocks that stopped pulsing and chunks that went quiet for a whole window.
+     */
+    public void purge(long now) {
+        blocks.removeValuesBelow(Math.max(0, now - 2L * maxPeriod - 1) << 24);
+
+        int kept = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            if (now - chunkLastTick[i] >= windowTicks) {
+                chunkIndex.remove(chunkKeys[i], -1);
+                continue;
+            }
+            if (kept != i) {
+                chunkKeys[kept] = chunkKeys[i];
+                chunkLastTick[kept] = chunkLastTick[i];
+                chunkTotals[kept] = chunkTotals[i];
+                System.arraycopy(buckets, i * windowTicks, buckets, kept * windowTicks, windowTicks);
+                chunkIndex.put(chunkKeys[kept], kept);
+            }
+            kept++;
+        }
+        chunkCount = kept;
+    }
+
+    public void clear() {
+        blocks.clear();
+        chunkIndex.clear();
+        chunkCount = 0;
+    }
+
+    // --- Per-block period detection ---
+
+    private void recordRise(long blockKey, long now) {
+        long state = blocks.get(blockKey, NONE);
+        if (state == NONE) {
+            blocks.put(blockKey, pack(now, 0, 0));
+            return;
+        }
+
+        long elapsed = now - lastRise(state);
+        if (elapsed <= 0) return; // Several rises in one tick count once
+
+        int streak;
+        if (elapsed > maxPeriod) {
+            streak = 0;
+        } else if (Math.abs(elapsed - period(state)) <= 1) {
+            streak = Math.min(0xFF, streak(state) + 1);
+        } else {
+            streak = 1;
+        }
+        blocks.put(blockKey, pack(now, (int) Math.min(elapsed, 0xFFFF), streak));
+    }
+
+    private static long pack(long tick, int period, int streak) {
+        return (tick << 24) | ((long) period << 8) | streak;
+    }
+
+    private static long lastRise(long state) {
+        return state >>> 24;
+    }
+
+    private static int period(long state) {
+        return (int) (state >>> 8) & 0xFFFF;
+    }
+
+    private static int streak(long state) {
+        return (int) state & 0xFF;
+    }
+
+    // --- Per-chunk sliding window ---
+
+    private void countChunk(long chunkKey, long now) {
+        int i = chunkIndex.get(chunkKey, -1);
+        if (i < 0) {
+            if (chunkCount == chunkKeys.length) grow();
+            i = chunkCount++;
+            chunkKeys[i] = chunkKey;
+            chunkLastTick[i] = now;
+            chunkTotals[i] = 0;
+            Arrays.fill(buckets, i * windowTicks, (i + 1) * windowTicks, 0);
+            chunkIndex.put(chunkKey, i);
+        } else {
+            advance(i, now);
+        }
+        buckets[i * windowTicks + (int) Math.floorMod(now, (long) windowTicks)]++;
+        chunkTotals[i]++;
+    }
+
+    // Empties the buckets of the ticks that slid out of the window since the chunk was last touched
+    private void advance(int i, long now) {
+        long last = chunkLastTick[i];
+        if (now <= last) return;
+        int base = i * windowTicks;
+        if (now - last >= windowTicks) {
+            Arrays.fill(buckets, base, base + windowTicks, 0);
+            chunkTotals[i] = 0;
+        } else {
+            for (long t = last + 1; t <= now; t++) {
+                int b = base + (int) Math.floorMod(t, (long) windowTicks);
+                chunkTotals[i] -= buckets[b];
+                buckets[b] = 0;
+            }
+        }
+        chunkLastTick[i] = now;
+    }
+
+    private void grow() {
+        int capacity = chunkKeys.length << 1;
+        chunkKeys = Arrays.copyOf(chunkKeys, capacity);
+        chunkLastTick = Arrays.copyOf(chunkLastTick, capacity);
+        chunkTotals = Arrays.copyOf(chunkTotals, capacity);
+        buckets = Arrays.copyOf(buckets, capacity * windowTicks);
+    }
+
+    /**
+     * One chunk with running clocks; {@code sampleBlock} is the fastest clock block in it.
+     */
+    public record ClockReport(long chunkKey, long sampleBlock, int transitions, int clocks, int shortestPeriod) {}
+}
@@ -0,0 +1,204 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.LongLongHashMap;
+import dev.silentacore.util.LongQueue;
+import dev.silentacore.util.WorldKeys;
+
+/**
+ * Redstone transitions held back under load, in the order they were first deferred.
+ *
+ * There is at most one entry per block, so the queue is bounded by the number of
+ * blocks, not by how often they pulse. An entry keeps the current the block was held
+ * at and up to {@value #MAX_TARGETS} targets it was driven to since, in order; the
+ * replay steps through them so a short pulse still reaches the neighbours. Beyond
+ * that, later targets replace the last one. Held currents let the replay skip blocks
+ * that have changed since.
+ */
+public class RedstoneDeferralQueue {
+
+    public static final int MAX_TARGETS = 4;
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int OLD_SHIFT = 16;
+    private static final int COUNT_SHIFT = 20;
+    private static final int TICK_SHIFT = 24;
+
+    private final LongQueue order = new LongQueue(256);                   // block keys, oldest first
+    private final LongLongHashMap pending = new LongLongHashMap(256);    // block key -> tick | count | old | targets
+    private final LongIntHashMap chunkEntries = new LongIntHashMap(64);   // chunk key -> pending entries in it
+
+    private long deferred;
+    private long replayed;
+    private long stale;
+    private long unloaded;
+
+    public boolean isPending(long blockKey) {
+        return pending.containsKey(blockKey);
+    }
+
+    /**
+     * Defers a transition. Currents are redstone power levels, 0 to 15.
+     */
+    public void defer(long blockKey, int oldCurrent, int newCurrent, long tick) {
+        long state = pending.get(blockKey, NONE);
+        if (state == NONE) {
+            order.add(blockKey);
+            pending.put(blockKey, (tick << TICK_SHIFT) | (1L << COUNT_SHIFT)
+                    | ((long) (oldCurrent & 0xF) << OLD_SHIFT) | (newCurrent & 0xF));
+            chunkEntries.addTo(chunkKeyOf(blockKey), 1);
+        } else {
+            int count = count(state);
+            if (target(state, count - 1) != (newCurrent & 0xF)) {
+                // Append while there is room, otherwise the latest target replaces the last one
+                int index = Math.min(count, MAX_TARGETS - 1);
+                state &= ~(0xFL << (index * 4));
+                state |= (long) (newCurrent & 0xF) << (index * 4);
+                state = (state & ~(0x7L << COUNT_SHIFT)) | ((long) (index + 1) << COUNT_SHIFT);
+                pending.put(blockKey, state);
+            }
+        }
+        deferred++;
+    }
+
+    /**
+     * Replays up to {@code max} entries, oldest first. Returns the number handed to the replayer.
+     */
+    public int drain(int max, Replayer replayer) {
+        int n = 0;
+        while (n < max && !order.isEmpty()) {
+            long blockKey = order.poll();
+            long state = take(blockKey);
+            if (state == NONE) continue;
+            n++;
+            replay(blockKey, state, replayer);
+        }
+        return n;
+    }
+
+    /**
+     * Replays every entry in the chunk {@code chunkKey} right away, oldest first. Called
+     * while the chunk unloads so no block is saved in its held state; their slots in the
+     * order queue are skipped later.
+     */
+    public int flushChunk(long chunkKey, Replayer replayer) {
+        int count = chunkEntries.get(chunkKey, 0);
+        if (count <= 0) return 0;
+
+        long[] keys = new long[count];
+        int n = 0;
+        for (int i = 0; i <= pending.capacity() && n < count; i++) {
+            if (pending.isUsed(i) && chunkKeyOf(pending.keyAt(i)) == chunkKey) keys[n++] = pending.keyAt(i);
+        }
+        // Few entries per chunk: insertion sort by the tick they were deferred at
+        for (int i = 1; i < n; i++) {
+            long key = keys[i];
+            long tick = pending.get(key, NONE) >>> TICK_SHIFT;
+            int j = i - 1;
+            while (j >= 0 && pending.get(keys[j], NONE) >>> TICK_SHIFT > tick) {
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            keys[j + 1] = key;
+        }
+        for (int i = 0; i < n; i++) replay(keys[i], take(keys[i]), replayer);
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Tick the oldest entry was deferred at, or -1 when empty.
+     */
+    public long getOldestTick() {
+        while (!order.isEmpty() && !pending.containsKey(order.peek())) order.poll();
+        if (order.isEmpty()) return -1;
+        return pending.get(order.peek(), NONE) >>> TICK_SHIFT;
+    }
+
+    public long getDeferred() {
+        return deferred;
+    }
+
+    public long getReplayed() {
+        return replayed;
+    }
+
+    public long getStale() {
+        return stale;
+    }
+
+    /**
+     * Entries that could not be replayed because their chunk or world was gone.
+     */
+    public long getUnloaded() {
+        return unloaded;
+    }
+
+    public void clear() {
+        order.clear();
+        pending.clear();
+        chunkEntries.clear();
+    }
+
+    private long take(long blockKey) {
+        long state = pending.remove(blockKey, NONE);
+        if (state != NONE && chunkEntries.addTo(chunkKeyOf(blockKey), -1) <= 0) {
+            chunkEntries.remove(chunkKeyOf(blockKey), 0);
+        }
+        return state;
+    }
+
+    // Steps the block through its targets; stops at the first one that does not apply
+    private void replay(long blockKey, long state, Replayer replayer) {
+        int current = (int) (state >>> OLD_SHIFT) & 0xF;
+        for (int i = 0, count = count(state); i < count; i++) {
+            int target = target(state, i);
+            Outcome outcome = replayer.replay(blockKey, current, target);
+            if (outcome == Outcome.UNLOADED) {
+                unloaded++;
+                return;
+            } else if (outcome == Outcome.STALE) {
+                stale++;
+                return;
+            }
+            current = target;
+        }
+        replayed++;
+    }
+
+    private static int count(long state) {
+        return (int) (state >>> COUNT_SHIFT) & 0x7;
+    }
+
+    private static int target(long state, int index) {
+        return (int) (state >>> (index * 4)) & 0xF;
+    }
+
+    private static long chunkKeyOf(long blockKey) {
+        return WorldKeys.chunkKey(WorldKeys.blockWorldSlot(blockKey),
+                WorldKeys.blockX(blockKey) >> 4, WorldKeys.blockZ(blockKey) >> 4);
+    }
+
+    public enum Outcome {
+        REPLAYED,
+        // The block has changed since it was held; the entry is dropped
+        STALE,
+        // The chunk or world is no longer loaded; the entry is dropped
+        UNLOADED
+    }
+
+    @FunctionalInterface
+    public interface Replayer {
+        /**
+         * Applies {@code newCurrent} to the block if it is still held at {@code oldCurrent}.
+         */
+        Outcome replay(long blockKey, int oldCurrent, int newCurrent);
+    }
+}
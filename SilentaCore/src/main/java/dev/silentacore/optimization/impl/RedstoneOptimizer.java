@@ -1,24 +1,56 @@
 package dev.silentacore.optimization.impl;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.monitor.LoadLevelListener;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.util.WorldKeys;
+import dev.silentacore.util.LongIntHashMap;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.AnaloguePowerable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Lightable;
+import org.bukkit.block.data.Openable;
+import org.bukkit.block.data.Powerable;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+/**
+ * Keeps redstone running under load without losing state.
+ *
+ * At level 3 every chunk gets a per-tick budget of redstone transitions. Transitions
+ * over budget, and those of detected clocks in busy chunks, are held at their old
+ * current and deferred; once the server is out of level 3 the deferred transitions
+ * are replayed in the order they happened, a bounded number per tick. A chunk that
+ * unloads first has its deferred transitions replayed as it goes.
+ */
+public class RedstoneOptimizer implements Optimizer, Listener, LoadLevelListener {
 
-public class RedstoneOptimizer implements Optimizer, Listener {
+    private static final int PURGE_INTERVAL = 600;
 
     private final SilentaCore plugin;
-    // Location Hash -> Last Update Timestamp
-    private final Map<Integer, Long> lastUpdate = new HashMap<>();
-    // Location Hash -> Last New Current
-    private final Map<Integer, Integer> lastCurrent = new HashMap<>();
+    private final RedstoneClockDetector clocks = new RedstoneClockDetector();
+    private final RedstoneDeferralQueue deferred = new RedstoneDeferralQueue();
+    private final LongIntHashMap chunkTickCounts = new LongIntHashMap(64); // chunk key -> transitions this tick
+    // True while at Level 3 with suppress-updates-on-lag enabled
+    private volatile boolean suppressing = false;
+    private int chunkThreshold;
+    private int chunkBudget;
+    private int replayPerTick;
+    private long countedTick = -1;
+    private long lastPurgeTick = 0;
+
+    private ModuleMetrics metrics;
+    private int deferredCounter;
+    private int replayedCounter;
 
     public RedstoneOptimizer(SilentaCore plugin) {
         this.plugin = plugin;
@@ -26,23 +58,64 @@ public class RedstoneOptimizer implements Optimizer, Listener {
 
     @Override
     public void enable() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        ConfigSnapshot.Redstone config = plugin.getConfigManager().getSnapshot().redstone();
+        clocks.configure(config.clockWindowTicks(), config.clockMaxPeriod(), config.clockConfirmCycles());
+        this.chunkThreshold = config.clockChunkThreshold();
+        this.chunkBudget = Math.max(1, config.chunkBudget());
+        this.replayPerTick = Math.max(1, config.replayPerTick());
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.deferredCounter = metrics.counter("transitions deferred");
+        this.replayedCounter = metrics.counter("transitions replayed");
+
+        plugin.getOptimizationManager().registerEvents(this);
+        plugin.getPerformanceMonitor().addListener(this);
+        this.suppressing = resolveSuppressing(plugin.getPerformanceMonitor().getLevel());
     }
 
     @Override
     public void disable() {
-        lastUpdate.clear();
-        lastCurrent.clear();
+        HandlerList.unregisterAll(this);
+        plugin.getPerformanceMonitor().removeListener(this);
+        this.suppressing = false;
+        // Nothing may stay held: put every deferred block into its final state
+        while (!deferred.isEmpty()) deferred.drain(Integer.MAX_VALUE, this::replay);
+        clocks.clear();
+        chunkTickCounts.clear();
+    }
+
+    @Override
+    public void onLoadLevelChange(LoadLevel from, LoadLevel to) {
+        this.suppressing = resolveSuppressing(to);
+    }
+
+    private boolean resolveSuppressing(LoadLevel level) {
+        return level == LoadLevel.LEVEL3
+                && plugin.getConfigManager().getSnapshot().redstone().suppressUpdatesOnLag();
     }
 
     @Override
     public void tick() {
-        if (Bukkit.getCurrentTick() % 600 == 0) {
-            lastUpdate.clear();
-            lastCurrent.clear();
+        // Load recovered: replay what was deferred, oldest first
+        if (!suppressing && !deferred.isEmpty()) deferred.drain(replayPerTick, this::replay);
+
+        // Forget blocks that stopped pulsing and chunks that went quiet
+        long now = Bukkit.getCurrentTick();
+        if (now - lastPurgeTick >= PURGE_INTERVAL) {
+            lastPurgeTick = now;
+            clocks.purge(now);
         }
     }
 
+    @Override
+    public boolean hasPendingWork() {
+        return !suppressing && !deferred.isEmpty();
+    }
+
+    @Override
+    public int getPeriod() {
+        return PURGE_INTERVAL;
+    }
+
     @Override
     public String getName() {
         return "Lossless Redstone Optimization";
@@ -50,16 +123,13 @@ public class RedstoneOptimizer implements Optimizer, Listener {
 
     @EventHandler
     public void onRedstone(BlockRedstoneEvent e) {
-        if (!plugin.getConfigManager().getBoolean("redstone-optimization.enabled")) return;
+        if (!plugin.getConfigManager().getSnapshot().redstone().enabled()) return;
 
         // 1. Check Protection
-        // Getting chunk from block is cheap
-        if (plugin.getProtectionManager().isChunkProtected(e.getBlock().getChunk())) return;
+        Block block = e.getBlock();
+        if (plugin.getProtectionManager().isChunkProtected(block.getWorld(), block.getX() >> 4, block.getZ() >> 4)) return;
+        if (!metrics.admit()) return;
 
-        // 2. Cache Logic
-        // We use hashCode for speed; collisions are rare enough for redstone logic in small radius
-        int locHash = e.getBlock().getLocation().hashCode(); 
-        
         // "Lossless" means we don't change behavior unless critical.
         // "Cache unchanged redstone states":
         // If the event proposes a change that is effectively a no-op (shouldn't fire, but sometimes plugins/core does), cancel.
@@ -70,22 +140,87 @@ public class RedstoneOptimizer implements Optimizer, Listener {
             return;
         }
 
-        // 3. Suppression on Lag
-        if (plugin.getConfigManager().getBoolean("redstone-optimization.suppress-updates-on-lag") 
-            && plugin.getPerformanceMonitor().isLevel3()) {
-            
-            // Limit frequency: Max 1 update per 4 ticks (200ms) per block
-            long last = lastUpdate.getOrDefault(locHash, 0L);
-            long now = System.currentTimeMillis();
-            if (now - last < 200) {
-                // Too fast for emergency mode! Keep old current to suppress update
-                e.setNewCurrent(e.getOldCurrent());
-                return;
-            }
-            lastUpdate.put(locHash, now);
+        // 2. Clock detection: every transition feeds the chunk window, rising edges the block period
+        long now = Bukkit.getCurrentTick();
+        int slot = WorldKeys.slot(block.getWorld());
+        long chunkKey = WorldKeys.chunkKey(slot, block.getX() >> 4, block.getZ() >> 4);
+        long blockKey = WorldKeys.blockKey(slot, block.getX(), block.getY(), block.getZ());
+        clocks.record(chunkKey, blockKey, e.getOldCurrent() == 0, now);
+
+        // 3. Deferral on Lag (only blocks the replay can find again and restore exactly)
+        // Blocks that can never be deferred don't use up the chunk budget
+        if (suppressing && WorldKeys.isExact(block.getX(), block.getZ()) && canReplay(block.getBlockData())
+                && shouldDefer(chunkKey, blockKey, now)) {
+            // Keep old current for now; the transition is replayed once load recovers
+            deferred.defer(blockKey, e.getOldCurrent(), e.getNewCurrent(), now);
+            e.setNewCurrent(e.getOldCurrent());
+            metrics.increment(deferredCounter);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent e) {
+        if (deferred.isEmpty()) return;
+        // Still loaded during the event: settle the chunk's held blocks before it is saved
+        deferred.flushChunk(WorldKeys.chunkKey(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ()), this::replay);
+    }
+
+    private boolean shouldDefer(long chunkKey, long blockKey, long now) {
+        // A block already waiting keeps its order: everything after it waits too
+        if (deferred.isPending(blockKey)) return true;
+        // Confirmed clocks in busy chunks pause until load recovers
+        if (clocks.isClock(blockKey, now) && clocks.getChunkTransitions(chunkKey, now) >= chunkThreshold) return true;
+
+        // Per-chunk budget for this tick
+        if (now != countedTick) {
+            countedTick = now;
+            chunkTickCounts.clear();
+        }
+        return chunkTickCounts.addTo(chunkKey, 1) > chunkBudget;
+    }
+
+    // Applies a deferred current if the block is still held where we left it
+    private RedstoneDeferralQueue.Outcome replay(long blockKey, int oldCurrent, int newCurrent) {
+        World world = WorldKeys.world(WorldKeys.blockWorldSlot(blockKey));
+        if (world == null) return RedstoneDeferralQueue.Outcome.UNLOADED;
+        int x = WorldKeys.blockX(blockKey);
+        int z = WorldKeys.blockZ(blockKey);
+        if (!world.isChunkLoaded(x >> 4, z >> 4)) return RedstoneDeferralQueue.Outcome.UNLOADED;
+
+        Block block = world.getBlockAt(x, WorldKeys.blockY(blockKey), z);
+        BlockData data = block.getBlockData();
+        if (!canReplay(data)) {
+            return RedstoneDeferralQueue.Outcome.STALE;
+        } else if (data instanceof AnaloguePowerable analogue) {
+            if (analogue.getPower() != oldCurrent) return RedstoneDeferralQueue.Outcome.STALE;
+            analogue.setPower(Math.min(newCurrent, analogue.getMaximumPower()));
+        } else if (data instanceof Powerable powerable) {
+            if (powerable.isPowered() != (oldCurrent > 0)) return RedstoneDeferralQueue.Outcome.STALE;
+            powerable.setPowered(newCurrent > 0);
+        } else {
+            Lightable lightable = (Lightable) data;
+            if (lightable.isLit() != (oldCurrent > 0)) return RedstoneDeferralQueue.Outcome.STALE;
+            lightable.setLit(newCurrent > 0);
         }
-        
-        // Update cache
-        lastCurrent.put(locHash, e.getNewCurrent());
+        // Apply physics so neighbours see the change, as if it had happened on time
+        block.setBlockData(data, true);
+        metrics.increment(replayedCounter);
+        return RedstoneDeferralQueue.Outcome.REPLAYED;
+    }
+
+    // Blocks whose whole redstone state is their power or lit flag. Doors, trapdoors and
+    // fence gates also open with their power, and replaying only the power would leave
+    // them in the wrong open state, so they are never held back.
+    private static boolean canReplay(BlockData data) {
+        if (data instanceof Openable) return false;
+        return data instanceof AnaloguePowerable || data instanceof Powerable || data instanceof Lightable;
+    }
+
+    public RedstoneClockDetector getClockDetector() {
+        return clocks;
+    }
+
+    public RedstoneDeferralQueue getDeferred() {
+        return deferred;
     }
 }
@@ -0,0 +1,105 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.entity.Mob;
+
+import java.util.Arrays;
+
+/**
+ * The mobs SilentaCore itself has put to sleep, with the tick each one was slept at.
+ *
+ * Entries are keyed by world slot + entity id and stored densely (swap-remove), so
+ * waking everything or reporting on the sleepers costs O(sleeping), not O(world).
+ * Mobs made unaware by anything else never enter the registry and are left alone.
+ */
+public class SleepRegistry {
+
+    private static final int MISSING = -1;
+
+    private final LongIntHashMap index = new LongIntHashMap(256); // world slot + entity id -> dense index
+    private Mob[] mobs = new Mob[64];
+    private long[] keys = new long[64];
+    private long[] since = new long[64];
+    private int size = 0;
+
+    public boolean contains(Mob mob) {
+        return index.containsKey(key(mob));
+    }
+
+    public void add(Mob mob, long tick) {
+        long key = key(mob);
+        if (index.containsKey(key)) return;
+        if (size == mobs.length) grow();
+        mobs[size] = mob;
+        keys[size] = key;
+        since[size] = tick;
+        index.put(key, size++);
+    }
+
+    public boolean remove(Mob mob) {
+        int i = index.remove(key(mob), MISSING);
+        if (i == MISSING) return false;
+
+        // Move the last entry into the hole
+        int last = --size;
+        if (i != last) {
+            mobs[i] = mobs[last];
+            keys[i] = keys[last];
+            since[i] = since[last];
+            index.put(keys[i], i);
+        }
+        mobs[last] = null;
+        return true;
+    }
+
+    /**
+     * Sets every registered mob that is still valid back to aware and empties the registry.
+     * Returns the number of mobs woken.
+     */
+    public int wakeAll() {
+        int woken = 0;
+        for (int i = 0; i < size; i++) {
+            Mob mob = mobs[i];
+            if (mob.isValid() && !mob.isAware()) {
+                mob.setAware(true);
+                woken++;
+            }
+            mobs[i] = null;
+        }
+        size = 0;
+        index.clear();
+        return woken;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ticks the longest-sleeping mob has been asleep, or 0 when none are.
+     */
+    public long getOldestAge(long now) {
+        long oldest = 0;
+        for (int i = 0; i < size; i++) oldest = Math.max(oldest, now - since[i]);
+        return oldest;
+    }
+
+    public double getAverageAge(long now) {
+        if (size == 0) return 0.0;
+        long total = 0;
+        for (int i = 0; i < size; i++) total += now - since[i];
+        return total / (double) size;
+    }
+
+    private void grow() {
+        int capacity = mobs.length << 1;
+        mobs = Arrays.copyOf(mobs, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        since = Arrays.copyOf(since, capacity);
+    }
+
+    private static long key(Mob mob) {
+        return ((long) WorldKeys.slot(mob.getWorld()) << 32) | (mob.getEntityId() & 0xFFFFFFFFL);
+    }
+}
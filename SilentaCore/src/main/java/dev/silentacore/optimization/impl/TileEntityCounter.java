@@ -0,0 +1,107 @@
+package dev.silentacore.optimization.impl;
+
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Block entity count per loaded chunk, kept up to date from events.
+ *
+ * A chunk is counted once, from a single {@code getTileEntities()} snapshot, the
+ * first time it is asked about, not when it loads: most loaded chunks never see a
+ * random tick worth throttling, so they are never counted. After that a chunk where
+ * blocks were placed or broken is recounted on the next {@link #verify}, whatever
+ * kind of block entity changed, and unloading drops it. Reads are one table lookup.
+ * A few other counts at a time are recounted too, so anything the events missed is
+ * corrected without forgetting every count at once.
+ */
+public class TileEntityCounter {
+
+    private static final int UNKNOWN = -1;
+
+    private final LongIntHashMap counts = new LongIntHashMap(512);
+    private final LongIntHashMap changed = new LongIntHashMap(64); // chunk keys to recount
+    private long snapshots;
+    private int cursor;
+
+    public int get(World world, int chunkX, int chunkZ) {
+        long key = WorldKeys.chunkKey(world, chunkX, chunkZ);
+        int count = counts.get(key, UNKNOWN);
+        if (count == UNKNOWN) {
+            count = world.getChunkAt(chunkX, chunkZ).getTileEntities().length;
+            counts.put(key, count);
+            snapshots++;
+        }
+        return count;
+    }
+
+    /**
+     * A block was placed at {@code block} or is about to be removed; its chunk is
+     * recounted on the next {@link #verify}. No block state is looked at here, so
+     * explosions cost one table lookup per block.
+     */
+    public void changed(Block block) {
+        long key = WorldKeys.chunkKey(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        // Chunks never asked about are counted when they first are
+        if (counts.containsKey(key)) changed.put(key, 1);
+    }
+
+    /**
+     * Recounts the chunks that changed since the last call, then up to {@code chunks}
+     * other tracked chunks, carrying on where the last call stopped, and drops those
+     * that are no longer loaded.
+     */
+    public void verify(int chunks) {
+        for (int i = 0; i <= changed.capacity(); i++) {
+            if (changed.isUsed(i)) recount(changed.keyAt(i));
+        }
+        changed.clear();
+
+        int todo = Math.min(chunks, counts.size());
+        for (int done = 0; done < todo; cursor++) {
+            if (cursor > counts.capacity()) cursor = 0;
+            if (!counts.isUsed(cursor)) continue;
+            done++;
+            recount(counts.keyAt(cursor));
+        }
+    }
+
+    private void recount(long key) {
+        World world = WorldKeys.world(WorldKeys.worldSlot(key));
+        int chunkX = WorldKeys.chunkX(key), chunkZ = WorldKeys.chunkZ(key);
+        if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+            counts.remove(key, UNKNOWN);
+            return;
+        }
+        counts.put(key, world.getChunkAt(chunkX, chunkZ).getTileEntities().length);
+        snapshots++;
+    }
+
+    public void forget(Chunk chunk) {
+        long key = WorldKeys.chunkKey(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        counts.remove(key, UNKNOWN);
+        changed.remove(key, 0);
+    }
+
+    /**
+     * Chunk key -> block entity count of every tracked chunk. Read only; iterate by slot.
+     */
+    public LongIntHashMap getCounts() {
+        return counts;
+    }
+
+    public int getTrackedChunks() {
+        return counts.size();
+    }
+
+    public long getSnapshots() {
+        return snapshots;
+    }
+
+    public void clear() {
+        counts.clear();
+        changed.clear();
+    }
+}
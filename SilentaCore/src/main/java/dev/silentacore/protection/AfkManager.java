@@ -1,14 +1,21 @@
 package dev.silentacore.protection;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.optimization.ModuleMetrics;
 import dev.silentacore.optimization.Optimizer;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-public class AfkManager implements Optimizer {
+/**
+ * Lowers view and simulation distance for AFK players, restoring it when they come back.
+ * Acts once per transition reported by the {@link AfkTracker}.
+ */
+public class AfkManager implements Optimizer, AfkStateListener {
 
     private final SilentaCore plugin;
     private boolean reduceViewDistance;
+    private ModuleMetrics metrics;
+    private int reducedCounter;
 
     public AfkManager(SilentaCore plugin) {
         this.plugin = plugin;
@@ -16,11 +23,21 @@ public class AfkManager implements Optimizer {
 
     @Override
     public void enable() {
-        this.reduceViewDistance = plugin.getConfigManager().getBoolean("afk-optimization.reduce-view-distance");
+        this.reduceViewDistance = plugin.getConfigManager().getSnapshot().afk().reduceViewDistance();
+        this.metrics = plugin.getOptimizationManager().getMetrics(this);
+        this.reducedCounter = metrics.counter("view distances reduced");
+        plugin.getProtectionManager().getAfkTracker().addListener(this);
+
+        // Catch up with players who went AFK while the module was off
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            apply(p, plugin.getProtectionManager().isPlayerAfk(p));
+        }
     }
 
     @Override
     public void disable() {
+        plugin.getProtectionManager().getAfkTracker().removeListener(this);
+
         // Restore view distance
         for (Player p : Bukkit.getOnlinePlayers()) {
             p.setViewDistance(Bukkit.getServer().getViewDistance());
@@ -29,28 +46,38 @@ public class AfkManager implements Optimizer {
     }
 
     @Override
-    public void tick() {
-        if (!plugin.getConfigManager().getBoolean("afk-optimization.enabled")) return;
-        if (Bukkit.getCurrentTick() % 100 != 0) return; // Check every 5s
-
-        int defaultView = Bukkit.getServer().getViewDistance();
-        int defaultSim = Bukkit.getServer().getSimulationDistance();
+    public void onAfkStateChange(Player player, boolean afk) {
+        if (!plugin.getConfigManager().getSnapshot().afk().enabled()) return;
+        apply(player, afk);
+    }
 
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            boolean isAfk = plugin.getProtectionManager().isPlayerAfk(p);
-            
-            if (isAfk && reduceViewDistance) {
-                // Set to minimum safe values
-                if (p.getViewDistance() > 4) p.setViewDistance(4);
-                if (p.getSimulationDistance() > 4) p.setSimulationDistance(4);
-            } else {
-                // Restore if active
-                if (p.getViewDistance() != defaultView) p.setViewDistance(defaultView);
-                if (p.getSimulationDistance() != defaultSim) p.setSimulationDistance(defaultSim);
+    private void apply(Player p, boolean isAfk) {
+        if (isAfk && reduceViewDistance) {
+            // Set to minimum safe values
+            if (p.getViewDistance() > 4) {
+                p.setViewDistance(4);
+                metrics.increment(reducedCounter);
             }
+            if (p.getSimulationDistance() > 4) p.setSimulationDistance(4);
+        } else {
+            // Restore if active
+            int defaultView = Bukkit.getServer().getViewDistance();
+            int defaultSim = Bukkit.getServer().getSimulationDistance();
+            if (p.getViewDistance() != defaultView) p.setViewDistance(defaultView);
+            if (p.getSimulationDistance() != defaultSim) p.setSimulationDistance(defaultSim);
         }
     }
 
+    @Override
+    public void tick() {
+        // Event driven
+    }
+
+    @Override
+    public int getPeriod() {
+        return 0;
+    }
+
     @Override
     public String getName() {
         return "AFK Awareness Optimization";
@@ -0,0 +1,10 @@
+package dev.silentacore.protection;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Notified on the main thread whenever a player goes AFK or comes back.
+ */
+public interface AfkStateListener {
+    void onAfkStateChange(Player player, boolean afk);
+}
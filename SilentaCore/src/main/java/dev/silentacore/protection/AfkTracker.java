@@ -0,0 +1,218 @@
+package dev.silentacore.protection;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.TimingWheel;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks player activity by tick and reports AFK transitions.
+ *
+ * Online players occupy dense slots (entity id -> slot) holding the tick of their
+ * last movement, look, chat, command or interaction. Each player sits on a
+ * {@link TimingWheel} at the tick they would go AFK; when that comes round the
+ * activity tick is checked again, so activity itself is just an array write. Coming
+ * back is noticed on the first activity. {@link AfkStateListener}s hear about both.
+ */
+public class AfkTracker implements Listener {
+
+    private static final int NONE = -1;
+
+    private final SilentaCore plugin;
+    private final List<AfkStateListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongIntHashMap slotById = new LongIntHashMap(64); // entity id -> slot
+    private Player[] players = new Player[64];
+    private int[] lastActive = new int[64];
+    private boolean[] afk = new boolean[64];
+    private int count = 0;
+    private int afkCount = 0;
+
+    private final TimingWheel deadlines = new TimingWheel(Bukkit.getCurrentTick());
+    private final LongConsumer checkDeadline = this::checkDeadline;
+
+    public AfkTracker(SilentaCore plugin) {
+        this.plugin = plugin;
+        for (Player player : Bukkit.getOnlinePlayers()) add(player);
+    }
+
+    // --- API ---
+
+    public boolean isAfk(Player player) {
+        int slot = slotById.get(player.getEntityId(), NONE);
+        return slot != NONE && afk[slot];
+    }
+
+    /**
+     * Ticks since the player was last active, or 0 if they are not tracked.
+     */
+    public int getIdleTicks(Player player) {
+        int slot = slotById.get(player.getEntityId(), NONE);
+        return slot == NONE ? 0 : Bukkit.getCurrentTick() - lastActive[slot];
+    }
+
+    public int getTrackedCount() {
+        return count;
+    }
+
+    public int getAfkCount() {
+        return afkCount;
+    }
+
+    public void addListener(AfkStateListener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    public void removeListener(AfkStateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Moves the deadline wheel forward, marking everyone whose deadline passed idle as AFK.
+     */
+    public void advance(int now) {
+        deadlines.advance(now, checkDeadline);
+    }
+
+    // --- Activity ---
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        Location from = e.getFrom();
+        Location to = e.getTo();
+        // Any block change or head turn; sub-block drift (water, pistons) does not count
+        if (from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY() || from.getBlockZ() != to.getBlockZ()
+                || from.getYaw() != to.getYaw() || from.getPitch() != to.getPitch()) {
+            markActive(e.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent e) {
+        markActive(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteractEntity(PlayerInteractEntityEvent e) {
+        markActive(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommand(PlayerCommandPreprocessEvent e) {
+        markActive(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChat(AsyncChatEvent e) {
+        // Chat arrives off the main thread; the slot arrays are main-thread only
+        Player player = e.getPlayer();
+        if (Bukkit.isPrimaryThread()) {
+            markActive(player);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> markActive(player));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        add(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        remove(e.getPlayer());
+    }
+
+    public void markActive(Player player) {
+        int slot = slotById.get(player.getEntityId(), NONE);
+        if (slot == NONE) return;
+        lastActive[slot] = Bukkit.getCurrentTick();
+        if (afk[slot]) {
+            afk[slot] = false;
+            afkCount--;
+            deadlines.schedule(player.getEntityId(), lastActive[slot] + timeoutTicks());
+            fire(player, false);
+        }
+    }
+
+    // --- Slots ---
+
+    private void add(Player player) {
+        if (slotById.containsKey(player.getEntityId())) return;
+        if (count == players.length) grow();
+        int slot = count++;
+        players[slot] = player;
+        lastActive[slot] = Bukkit.getCurrentTick();
+        afk[slot] = false;
+        slotById.put(player.getEntityId(), slot);
+        deadlines.schedule(player.getEntityId(), lastActive[slot] + timeoutTicks());
+    }
+
+    // Swap-remove; the wheel entry is left behind and ignored when it comes round
+    private void remove(Player player) {
+        int slot = slotById.remove(player.getEntityId(), NONE);
+        if (slot == NONE) return;
+        if (afk[slot]) afkCount--;
+        int last = --count;
+        if (slot != last) {
+            players[slot] = players[last];
+            lastActive[slot] = lastActive[last];
+            afk[slot] = afk[last];
+            slotById.put(players[slot].getEntityId(), slot);
+        }
+        players[last] = null;
+    }
+
+    private void checkDeadline(long id) {
+        int slot = slotById.get(id, NONE);
+        if (slot == NONE || afk[slot]) return;
+
+        long now = deadlines.getCurrentTick();
+        if (!plugin.getConfigManager().getSnapshot().afk().enabled()) {
+            deadlines.schedule(id, now + timeoutTicks());
+            return;
+        }
+        long due = lastActive[slot] + (long) timeoutTicks();
+        if (due > now) {
+            deadlines.schedule(id, due); // Active since this deadline was set
+            return;
+        }
+        afk[slot] = true;
+        afkCount++;
+        fire(players[slot], true);
+    }
+
+    private void fire(Player player, boolean nowAfk) {
+        for (AfkStateListener listener : listeners) {
+            listener.onAfkStateChange(player, nowAfk);
+        }
+    }
+
+    private int timeoutTicks() {
+        return Math.max(1, plugin.getConfigManager().getSnapshot().afk().afkTimeout()) * 20;
+    }
+
+    private void grow() {
+        int capacity = players.length << 1;
+        players = Arrays.copyOf(players, capacity);
+        lastActive = Arrays.copyOf(lastActive, capacity);
+        afk = Arrays.copyOf(afk, capacity);
+    }
+}
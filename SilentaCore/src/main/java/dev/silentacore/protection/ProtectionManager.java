@@ -1,8 +1,13 @@
 package dev.silentacore.protection;
 
 import dev.silentacore.SilentaCore;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.TimingWheel;
+import dev.silentacore.util.WorldKeys;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -10,80 +15,109 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
 
+/**
+ * Builder and combat exemptions, plus the {@link AfkTracker}.
+ *
+ * Exemptions are kept as key -> expiry tick in primitive tables, so a lookup is one
+ * probe and a compare against the current tick. Expired entries are dropped by a
+ * {@link TimingWheel} per table, which only ever touches the entries that are due.
+ */
 public class ProtectionManager implements Listener {
 
+    // How often the wheels are advanced; lookups compare ticks themselves and never wait for it
+    private static final long EXPIRE_INTERVAL = 20L;
+
     private final SilentaCore plugin;
-    
-    // Chunk Hash -> Timestamp (ms) when protection expires
-    private final Map<Long, Long> builderProtection = new ConcurrentHashMap<>();
-    
-    // Entity UUID -> Timestamp (ms) when protection expires
-    private final Map<UUID, Long> combatProtection = new ConcurrentHashMap<>();
-    
-    // Player UUID -> Timestamp (ms) of last activity
-    private final Map<UUID, Long> lastActivity = new ConcurrentHashMap<>();
-    
-    private final long builderExemptionMs;
-    private final long combatExemptionMs;
-    private final long afkTimeoutMs;
+
+    // Chunk key (world slot + X/Z) -> tick the protection expires at
+    private final LongIntHashMap builderProtection = new LongIntHashMap(256);
+    private final TimingWheel builderExpiry = new TimingWheel(Bukkit.getCurrentTick());
+
+    // Entity id -> tick the protection expires at
+    private final LongIntHashMap combatProtection = new LongIntHashMap(256);
+    private final TimingWheel combatExpiry = new TimingWheel(Bukkit.getCurrentTick());
+
+    private final LongConsumer expireBuilder = key -> expire(builderProtection, builderExpiry, key);
+    private final LongConsumer expireCombat = key -> expire(combatProtection, combatExpiry, key);
+
+    private final AfkTracker afkTracker;
 
     public ProtectionManager(SilentaCore plugin) {
         this.plugin = plugin;
-        this.builderExemptionMs = plugin.getConfigManager().getInt("builder-protection.exemption-duration", 30) * 1000L;
-        this.combatExemptionMs = plugin.getConfigManager().getInt("combat-protection.exemption-duration", 15) * 1000L;
-        this.afkTimeoutMs = plugin.getConfigManager().getInt("afk-optimization.afk-timeout", 300) * 1000L;
-        
+        this.afkTracker = new AfkTracker(plugin);
+
         Bukkit.getPluginManager().registerEvents(this, plugin);
-        
-        // Cleanup task
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::cleanup, 1200L, 1200L);
+        Bukkit.getPluginManager().registerEvents(afkTracker, plugin);
+
+        // Expiry runs on the main thread, like every lookup and trigger
+        Bukkit.getScheduler().runTaskTimer(plugin, this::cleanup, EXPIRE_INTERVAL, EXPIRE_INTERVAL);
     }
-    
+
     private void cleanup() {
-        long now = System.currentTimeMillis();
-        builderProtection.entrySet().removeIf(e -> e.getValue() < now);
-        combatProtection.entrySet().removeIf(e -> e.getValue() < now);
-        lastActivity.entrySet().removeIf(e -> Bukkit.getPlayer(e.getKey()) == null);
+        int now = Bukkit.getCurrentTick();
+        builderExpiry.advance(now, expireBuilder);
+        combatExpiry.advance(now, expireCombat);
+        afkTracker.advance(now);
+    }
+
+    // Drops the entry if it is really due; re-triggered entries go back on the wheel
+    private void expire(LongIntHashMap table, TimingWheel wheel, long key) {
+        int expiry = table.get(key, 0);
+        if (expiry == 0) return;
+        if (expiry > wheel.getCurrentTick()) {
+            wheel.schedule(key, expiry);
+        } else {
+            table.remove(key, 0);
+        }
     }
 
     // --- API ---
 
     public boolean isChunkProtected(Chunk chunk) {
-        if (!plugin.getConfigManager().getBoolean("builder-protection.enabled")) return false;
-        long key = getChunkKey(chunk);
-        return builderProtection.getOrDefault(key, 0L) > System.currentTimeMillis();
+        return isChunkProtected(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    public boolean isChunkProtected(World world, int chunkX, int chunkZ) {
+        if (!plugin.getConfigManager().getSnapshot().builderProtection().enabled()) return false;
+        return builderProtection.get(WorldKeys.chunkKey(world, chunkX, chunkZ), 0) > Bukkit.getCurrentTick();
     }
 
     public boolean isEntityProtected(Entity entity) {
-        if (!plugin.getConfigManager().getBoolean("combat-protection.enabled")) return false;
-        return combatProtection.getOrDefault(entity.getUniqueId(), 0L) > System.currentTimeMillis();
+        if (!plugin.getConfigManager().getSnapshot().combatProtection().enabled()) return false;
+        return combatProtection.get(entity.getEntityId(), 0) > Bukkit.getCurrentTick();
     }
-    
+
+    public int getProtectedChunkCount() {
+        return builderProtection.size();
+    }
+
+    public int getProtectedEntityCount() {
+        return combatProtection.size();
+    }
+
     public boolean isPlayerAfk(Player player) {
-        if (!plugin.getConfigManager().getBoolean("afk-optimization.enabled")) return false;
-        long last = lastActivity.getOrDefault(player.getUniqueId(), System.currentTimeMillis());
-        return (System.currentTimeMillis() - last) > afkTimeoutMs;
+        if (!plugin.getConfigManager().getSnapshot().afk().enabled()) return false;
+        return afkTracker.isAfk(player);
+    }
+
+    public AfkTracker getAfkTracker() {
+        return afkTracker;
     }
 
     // --- Listeners ---
 
     @EventHandler(ignoreCancelled = true)
     public void onBlockPlace(BlockPlaceEvent e) {
-        triggerBuilderProtection(e.getBlock().getChunk());
+        triggerBuilderProtection(e.getBlock());
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent e) {
-        triggerBuilderProtection(e.getBlock().getChunk());
+        triggerBuilderProtection(e.getBlock());
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -92,38 +126,29 @@ public class ProtectionManager implements Listener {
         triggerCombatProtection(e.getDamager());
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onMove(PlayerMoveEvent e) {
-        if (e.getFrom().getBlockX() != e.getTo().getBlockX() || 
-            e.getFrom().getBlockZ() != e.getTo().getBlockZ() || 
-            e.getFrom().getBlockY() != e.getTo().getBlockY()) {
-            lastActivity.put(e.getPlayer().getUniqueId(), System.currentTimeMillis());
-        }
-    }
-    
-    @EventHandler
-    public void onJoin(PlayerJoinEvent e) {
-        lastActivity.put(e.getPlayer().getUniqueId(), System.currentTimeMillis());
-    }
-    
     @EventHandler
     public void onQuit(PlayerQuitEvent e) {
-        lastActivity.remove(e.getPlayer().getUniqueId());
-        combatProtection.remove(e.getPlayer().getUniqueId());
+        combatProtection.remove(e.getPlayer().getEntityId(), 0);
     }
 
     // --- Helpers ---
 
-    private void triggerBuilderProtection(Chunk chunk) {
-        long key = getChunkKey(chunk);
-        builderProtection.put(key, System.currentTimeMillis() + builderExemptionMs);
+    private void triggerBuilderProtection(Block block) {
+        long key = WorldKeys.chunkKey(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        int exemptionTicks = plugin.getConfigManager().getSnapshot().builderProtection().exemptionDuration() * 20;
+        protect(builderProtection, builderExpiry, key, exemptionTicks);
     }
 
     private void triggerCombatProtection(Entity entity) {
-        combatProtection.put(entity.getUniqueId(), System.currentTimeMillis() + combatExemptionMs);
+        int exemptionTicks = plugin.getConfigManager().getSnapshot().combatProtection().exemptionDuration() * 20;
+        protect(combatProtection, combatExpiry, entity.getEntityId(), exemptionTicks);
     }
 
-    private long getChunkKey(Chunk chunk) {
-        return (long) chunk.getX() & 0xffffffffL | ((long) chunk.getZ() & 0xffffffffL) << 32;
+    // Only a new entry goes on the wheel; a refresh just moves the expiry the wheel will find
+    private void protect(LongIntHashMap table, TimingWheel wheel, long key, int exemptionTicks) {
+        if (exemptionTicks <= 0) return;
+        int expiry = Bukkit.getCurrentTick() + exemptionTicks;
+        if (table.get(key, 0) == 0) wheel.schedule(key, expiry);
+        table.put(key, expiry);
     }
 }
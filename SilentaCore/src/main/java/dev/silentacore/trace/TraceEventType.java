@@ -0,0 +1,32 @@
+package dev.silentacore.trace;
+
+/**
+ * Kinds of trace records. The ordinal is what goes on disk, so new kinds are only
+ * ever added at the end.
+ */
+public enum TraceEventType {
+    /** End of a server tick; a = tick duration in ms as double bits. */
+    TICK,
+    /** position = block; a = old current; b = new current. */
+    REDSTONE,
+    /** position = source; a = destination; b = material ordinal << 8 | amount; flags: {@link TraceFormat#SOURCE_IS_HOPPER} ... */
+    HOPPER_MOVE,
+    /** position = block; a = material ordinal of the new state. */
+    GROW,
+    /** position = block; a = material ordinal of the new state; b = source block. */
+    SPREAD,
+    /** position = leaves. */
+    DECAY,
+    /** position = victim; a = victim id << 32 | damager id; b = victim type << 48 | damager type << 32 | damage as float bits; aux = cause. */
+    DAMAGE,
+    /** position = destination block; a = player id; b = origin block; flags: {@link TraceFormat#LOOK_ONLY}. */
+    MOVE,
+    /** a = player id. The message itself is never recorded. */
+    CHAT;
+
+    private static final TraceEventType[] VALUES = values();
+
+    public static TraceEventType of(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.silentacore.trace;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+/**
+ * Layout of a trace segment file ({@code *.sctrace}).
+ *
+ * A segment is a fixed-size file, preallocated and memory-mapped by the writer: a
+ * 64-byte header followed by 32-byte records, little-endian. The header's record
+ * count is bumped after every record, so a segment cut short by a crash still reads
+ * up to its last whole record. Segments of one recording share a name prefix and
+ * sort in order.
+ *
+ * <pre>
+ * header  0 int   magic "SCTR"
+ *         4 short version
+ *         6 short record size
+ *         8 int   segment number (0, 1, ...)
+ *        12 int   record count
+ *        16 long  wall clock at creation (epoch ms)
+ *        24 int   server tick at creation
+ *        28 int   number of materials
+ *        32 short number of entity types
+ *        34 short number of damage causes
+ *        40 long  fingerprint of the three ordinal tables
+ * record  0 int   server tick
+ *         4 byte  {@link TraceEventType} ordinal
+ *         5 byte  flags
+ *         6 short aux
+ *         8 long  position ({@link dev.silentacore.util.WorldKeys#blockKey} packed)
+ *        16 long  a
+ *        24 long  b
+ * </pre>
+ *
+ * Entity ids are the server's runtime ids: stable for a player's session, which is
+ * all a replay needs to tell players apart. Material, entity type and damage cause
+ * are stored as ordinals of the recording server's API version; the header carries
+ * the size of each table and a fingerprint of their names in ordinal order, and the
+ * reader refuses segments whose tables differ from its own.
+ */
+public final class TraceFormat {
+
+    public static final int MAGIC = 0x52544353; // "SCTR" little-endian
+    public static final short VERSION = 3;
+    public static final String SUFFIX = ".sctrace";
+
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 32;
+
+    static final int HEADER_MAGIC = 0;
+    static final int HEADER_VERSION = 4;
+    static final int HEADER_RECORD_SIZE = 6;
+    static final int HEADER_SEGMENT = 8;
+    static final int HEADER_COUNT = 12;
+    static final int HEADER_CREATED = 16;
+    static final int HEADER_TICK = 24;
+    static final int HEADER_MATERIALS = 28;
+    static final int HEADER_ENTITY_TYPES = 32;
+    static final int HEADER_DAMAGE_CAUSES = 34;
+    static final int HEADER_FINGERPRINT = 40;
+
+    static final int TICK = 0;
+    static final int TYPE = 4;
+    static final int FLAGS = 5;
+    static final int AUX = 6;
+    static final int POSITION = 8;
+    static final int A = 16;
+    static final int B = 24;
+
+    // HOPPER_MOVE flags
+    public static final int SOURCE_IS_HOPPER = 1;
+    public static final int DESTINATION_IS_HOPPER = 1 << 1;
+    public static final int SOURCE_INITIATED = 1 << 2;
+
+    // MOVE flags: the player only turned their head
+    public static final int LOOK_ONLY = 1;
+
+    /** Position of records that have none. */
+    public static final long NO_POSITION = -1L;
+
+    static final int MATERIALS = Material.values().length;
+    static final int ENTITY_TYPES = EntityType.values().length;
+    static final int DAMAGE_CAUSES = EntityDamageEvent.DamageCause.values().length;
+    static final long FINGERPRINT = fingerprint();
+
+    private TraceFormat() {}
+
+    // FNV-1a over the constant names of each table, in ordinal order
+    private static long fingerprint() {
+        long hash = 0xCBF29CE484222325L;
+        for (Enum<?>[] table : new Enum<?>[][] {Material.values(), EntityType.values(), EntityDamageEvent.DamageCause.values()}) {
+            for (Enum<?> constant : table) {
+                String name = constant.name();
+                for (int i = 0; i < name.length(); i++) hash = (hash ^ name.charAt(i)) * 0x100000001B3L;
+                hash = (hash ^ ',') * 0x100000001B3L;
+            }
+            hash = (hash ^ ';') * 0x100000001B3L;
+        }
+        return hash;
+    }
+}
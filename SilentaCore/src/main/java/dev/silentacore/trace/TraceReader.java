@@ -0,0 +1,136 @@
+package dev.silentacore.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads a recording back, one record at a time, across all of its segments.
+ *
+ * A cursor: {@link #next()} moves to the next record and the accessors read its
+ * fields straight from the mapped segment, so reading allocates nothing per record.
+ */
+public class TraceReader implements AutoCloseable {
+
+    private final List<Path> segments;
+    private int segmentIndex = -1;
+    private MappedByteBuffer segment;
+    private int count;
+    private int index;
+    private int at;
+    private long read;
+
+    private TraceReader(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Opens a segment file, or every segment in a directory in name order.
+     */
+    public static TraceReader open(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> list = Files.list(path)) {
+                list.filter(p -> p.getFileName().toString().endsWith(TraceFormat.SUFFIX)).sorted().forEach(files::add);
+            }
+        } else {
+            files.add(path);
+        }
+        if (files.isEmpty()) throw new IOException("No " + TraceFormat.SUFFIX + " files in " + path);
+        return new TraceReader(files);
+    }
+
+    public boolean next() throws IOException {
+        while (segment == null || index + 1 >= count) {
+            if (++segmentIndex >= segments.size()) {
+                segment = null;
+                return false;
+            }
+            openSegment(segments.get(segmentIndex));
+        }
+        index++;
+        at = TraceFormat.HEADER_SIZE + index * TraceFormat.RECORD_SIZE;
+        read++;
+        return true;
+    }
+
+    private void openSegment(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        if (segment.capacity() < TraceFormat.HEADER_SIZE || segment.getInt(TraceFormat.HEADER_MAGIC) != TraceFormat.MAGIC) {
+            throw new IOException(file + " is not a trace segment");
+        }
+        if (segment.getShort(TraceFormat.HEADER_VERSION) != TraceFormat.VERSION
+                || segment.getShort(TraceFormat.HEADER_RECORD_SIZE) != TraceFormat.RECORD_SIZE) {
+            throw new IOException(file + " has an unsupported trace version");
+        }
+        // Records hold enum ordinals, which only mean the same thing on the same API version
+        if (segment.getLong(TraceFormat.HEADER_FINGERPRINT) != TraceFormat.FINGERPRINT) {
+            throw new IOException(file + " was recorded on a different server version ("
+                    + segment.getInt(TraceFormat.HEADER_MATERIALS) + " materials, "
+                    + segment.getShort(TraceFormat.HEADER_ENTITY_TYPES) + " entity types, "
+                    + segment.getShort(TraceFormat.HEADER_DAMAGE_CAUSES) + " damage causes; this one has "
+                    + TraceFormat.MATERIALS + ", " + TraceFormat.ENTITY_TYPES + ", " + TraceFormat.DAMAGE_CAUSES + ")");
+        }
+        // A segment cut short holds fewer whole records than its header may claim
+        int fits = (segment.capacity() - TraceFormat.HEADER_SIZE) / TraceFormat.RECORD_SIZE;
+        count = Math.min(segment.getInt(TraceFormat.HEADER_COUNT), fits);
+        index = -1;
+    }
+
+    // --- Current record ---
+
+    public int tick() {
+        return segment.getInt(at + TraceFormat.TICK);
+    }
+
+    public TraceEventType type() {
+        return TraceEventType.of(segment.get(at + TraceFormat.TYPE));
+    }
+
+    public int flags() {
+        return segment.get(at + TraceFormat.FLAGS) & 0xFF;
+    }
+
+    public int aux() {
+        return segment.getShort(at + TraceFormat.AUX) & 0xFFFF;
+    }
+
+    public long position() {
+        return segment.getLong(at + TraceFormat.POSITION);
+    }
+
+    public long a() {
+        return segment.getLong(at + TraceFormat.A);
+    }
+
+    public long b() {
+        return segment.getLong(at + TraceFormat.B);
+    }
+
+    /**
+     * Records read so far.
+     */
+    public long getRead() {
+        return read;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        segmentIndex = segments.size();
+    }
+}
@@ -0,0 +1,218 @@
+package dev.silentacore.trace;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.util.LongIntHashMap;
+import dev.silentacore.util.WorldKeys;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Hopper;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Records the events SilentaCore handles into a trace, for replay with the simulator.
+ *
+ * Opt-in ({@code trace.enabled} or {@code /sc trace start}). Handlers run at LOWEST
+ * priority so they see each event as the server produced it, before any plugin
+ * (this one included) cancels or changes it. Player moves are recorded when the
+ * player changes block; head turns alone at most once a second per player, enough
+ * for AFK detection to replay the same.
+ */
+public class TraceRecorder implements Listener {
+
+    private static final int LOOK_INTERVAL = 20; // ticks
+
+    private final SilentaCore plugin;
+    private final LongIntHashMap lastLook = new LongIntHashMap(); // player id -> tick
+    private volatile TraceWriter writer;
+    private volatile boolean stopping;
+
+    public TraceRecorder(SilentaCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts a new recording in the configured directory; returns false if one is running.
+     */
+    public boolean start() throws IOException {
+        if (writer != null) return false;
+        ConfigSnapshot.Trace config = plugin.getConfigManager().getSnapshot().trace();
+        Path directory = new File(plugin.getDataFolder(), config.directory()).toPath();
+        Files.createDirectories(directory);
+        String prefix = "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        writer = new TraceWriter(directory, prefix, config.segmentSizeMb() * 1024L * 1024L, config.maxSizeMb() * 1024L * 1024L);
+        lastLook.clear();
+        stopping = false;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        plugin.getLogger().info("Recording an event trace to " + directory.resolve(prefix + "-*" + TraceFormat.SUFFIX));
+        return true;
+    }
+
+    /**
+     * Ends the recording; returns the finished writer, or null if none was running.
+     */
+    public TraceWriter stop() {
+        if (writer == null) return null;
+        HandlerList.unregisterAll(this);
+        TraceWriter finished = writer;
+        writer = null;
+        finished.close();
+        plugin.getLogger().info("Event trace stopped: " + finished.getRecordCount() + " records in "
+                + finished.getSegmentCount() + " segments");
+        return finished;
+    }
+
+    public boolean isRecording() {
+        return writer != null;
+    }
+
+    public TraceWriter getWriter() {
+        return writer;
+    }
+
+    private void append(TraceEventType type, int flags, int aux, long position, long a, long b) {
+        TraceWriter writer = this.writer;
+        if (writer == null) return;
+        try {
+            if (!writer.append(Bukkit.getCurrentTick(), type, flags, aux, position, a, b)) {
+                stopLater(writer, "size limit reached");
+            }
+        } catch (IOException e) {
+            stopLater(writer, e.getMessage());
+        }
+    }
+
+    // Unregistering has to happen on the main thread, and only once
+    private void stopLater(TraceWriter writer, String reason) {
+        if (stopping) return;
+        stopping = true;
+        plugin.getLogger().warning("Event trace ending: " + reason);
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (this.writer == writer) stop();
+        });
+    }
+
+    // --- Events ---
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent e) {
+        append(TraceEventType.TICK, 0, 0, TraceFormat.NO_POSITION, Double.doubleToRawLongBits(e.getTickDuration()), 0);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onRedstone(BlockRedstoneEvent e) {
+        append(TraceEventType.REDSTONE, 0, 0, key(e.getBlock()), e.getOldCurrent(), e.getNewCurrent());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onHopperMove(InventoryMoveItemEvent e) {
+        long source = key(e.getSource());
+        long destination = key(e.getDestination());
+        if (source == TraceFormat.NO_POSITION || destination == TraceFormat.NO_POSITION) return;
+        int flags = 0;
+        if (e.getSource().getHolder(false) instanceof Hopper) flags |= TraceFormat.SOURCE_IS_HOPPER;
+        if (e.getDestination().getHolder(false) instanceof Hopper) flags |= TraceFormat.DESTINATION_IS_HOPPER;
+        if (e.getInitiator() == e.getSource()) flags |= TraceFormat.SOURCE_INITIATED;
+        ItemStack item = e.getItem();
+        append(TraceEventType.HOPPER_MOVE, flags, 0, source, destination,
+                ((long) item.getType().ordinal() << 8) | Math.min(item.getAmount(), 0xFF));
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onGrow(BlockGrowEvent e) {
+        append(TraceEventType.GROW, 0, 0, key(e.getBlock()), e.getNewState().getType().ordinal(), 0);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onSpread(BlockSpreadEvent e) {
+        append(TraceEventType.SPREAD, 0, 0, key(e.getBlock()), e.getNewState().getType().ordinal(), key(e.getSource()));
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onDecay(LeavesDecayEvent e) {
+        append(TraceEventType.DECAY, 0, 0, key(e.getBlock()), 0, 0);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onDamage(EntityDamageByEntityEvent e) {
+        Entity victim = e.getEntity();
+        Entity damager = e.getDamager();
+        long types = ((long) victim.getType().ordinal() << 48) | ((long) damager.getType().ordinal() << 32);
+        append(TraceEventType.DAMAGE, 0, e.getCause().ordinal(), key(victim.getLocation()),
+                ((long) victim.getEntityId() << 32) | (damager.getEntityId() & 0xFFFFFFFFL),
+                types | (Float.floatToRawIntBits((float) e.getDamage()) & 0xFFFFFFFFL));
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        Location from = e.getFrom(), to = e.getTo();
+        int id = e.getPlayer().getEntityId();
+        int now = Bukkit.getCurrentTick();
+        if (from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY() || from.getBlockZ() != to.getBlockZ()
+                || from.getWorld() != to.getWorld()) {
+            lastLook.put(id, now);
+            append(TraceEventType.MOVE, 0, 0, key(to), id, key(from));
+        } else if ((from.getYaw() != to.getYaw() || from.getPitch() != to.getPitch())
+                && now - lastLook.get(id, Integer.MIN_VALUE / 2) >= LOOK_INTERVAL) {
+            lastLook.put(id, now);
+            append(TraceEventType.MOVE, TraceFormat.LOOK_ONLY, 0, key(to), id, key(from));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onChat(AsyncChatEvent e) {
+        // Off the main thread: no world lookups here, and never the message itself
+        append(TraceEventType.CHAT, 0, 0, TraceFormat.NO_POSITION, e.getPlayer().getEntityId(), 0);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        lastLook.remove(e.getPlayer().getEntityId(), 0);
+    }
+
+    // --- Positions ---
+
+    private static long key(Block block) {
+        return WorldKeys.blockKey(WorldKeys.slot(block.getWorld()), block.getX(), block.getY(), block.getZ());
+    }
+
+    private static long key(Location location) {
+        if (location == null || location.getWorld() == null) return TraceFormat.NO_POSITION;
+        return WorldKeys.blockKey(WorldKeys.slot(location.getWorld()), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    // Block holders are read without a snapshot, as the hopper module does
+    private static long key(Inventory inventory) {
+        InventoryHolder holder = inventory.getHolder(false);
+        if (holder instanceof BlockState state) {
+            return WorldKeys.blockKey(WorldKeys.slot(state.getWorld()), state.getX(), state.getY(), state.getZ());
+        }
+        return key(inventory.getLocation());
+    }
+}
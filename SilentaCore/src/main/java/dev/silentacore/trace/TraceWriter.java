@@ -0,0 +1,125 @@
+package dev.silentacore.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends records to memory-mapped trace segments, starting a new segment when one
+ * is full.
+ *
+ * Appending is a handful of stores into the page cache; the OS writes the pages out
+ * on its own schedule, and only {@link #close()} forces the last segment to disk.
+ * Appends are synchronized because chat arrives off the main thread; on the main
+ * thread the lock is never contended.
+ */
+public class TraceWriter implements AutoCloseable {
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentRecords;
+    private final long maxRecords;
+
+    private MappedByteBuffer segment;
+    private int segmentNumber = -1;
+    private int count; // records in the current segment
+    private long total;
+    private boolean full;
+
+    /**
+     * @param prefix       file name prefix of this recording's segments
+     * @param segmentBytes size of one segment file
+     * @param maxBytes     total size after which further records are dropped
+     */
+    public TraceWriter(Path directory, String prefix, long segmentBytes, long maxBytes) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentRecords = (int) Math.max(1, Math.min((segmentBytes - TraceFormat.HEADER_SIZE) / TraceFormat.RECORD_SIZE,
+                (Integer.MAX_VALUE - TraceFormat.HEADER_SIZE) / TraceFormat.RECORD_SIZE));
+        this.maxRecords = Math.max(1, maxBytes / TraceFormat.RECORD_SIZE);
+    }
+
+    /**
+     * Writes one record; returns false once the size limit is reached (or the segment
+     * could not be created), after which nothing more is written.
+     */
+    public synchronized boolean append(int tick, TraceEventType type, int flags, int aux, long position, long a, long b) throws IOException {
+        if (full) return false;
+        if (total >= maxRecords) {
+            full = true;
+            return false;
+        }
+        if (segment == null || count == segmentRecords) roll(tick);
+
+        int at = TraceFormat.HEADER_SIZE + count * TraceFormat.RECORD_SIZE;
+        segment.putInt(at + TraceFormat.TICK, tick);
+        segment.put(at + TraceFormat.TYPE, (byte) type.ordinal());
+        segment.put(at + TraceFormat.FLAGS, (byte) flags);
+        segment.putShort(at + TraceFormat.AUX, (short) aux);
+        segment.putLong(at + TraceFormat.POSITION, position);
+        segment.putLong(at + TraceFormat.A, a);
+        segment.putLong(at + TraceFormat.B, b);
+        // Count last, so a torn write is never read back
+        segment.putInt(TraceFormat.HEADER_COUNT, ++count);
+        total++;
+        return true;
+    }
+
+    private void roll(int tick) throws IOException {
+        segmentNumber++;
+        Path file = directory.resolve(String.format("%s-%04d%s", prefix, segmentNumber, TraceFormat.SUFFIX));
+        long size = TraceFormat.HEADER_SIZE + (long) segmentRecords * TraceFormat.RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            full = true;
+            segment = null;
+            throw e;
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(TraceFormat.HEADER_MAGIC, TraceFormat.MAGIC);
+        segment.putShort(TraceFormat.HEADER_VERSION, TraceFormat.VERSION);
+        segment.putShort(TraceFormat.HEADER_RECORD_SIZE, (short) TraceFormat.RECORD_SIZE);
+        segment.putInt(TraceFormat.HEADER_SEGMENT, segmentNumber);
+        segment.putInt(TraceFormat.HEADER_COUNT, 0);
+        segment.putLong(TraceFormat.HEADER_CREATED, System.currentTimeMillis());
+        segment.putInt(TraceFormat.HEADER_TICK, tick);
+        segment.putInt(TraceFormat.HEADER_MATERIALS, TraceFormat.MATERIALS);
+        segment.putShort(TraceFormat.HEADER_ENTITY_TYPES, (short) TraceFormat.ENTITY_TYPES);
+        segment.putShort(TraceFormat.HEADER_DAMAGE_CAUSES, (short) TraceFormat.DAMAGE_CAUSES);
+        segment.putLong(TraceFormat.HEADER_FINGERPRINT, TraceFormat.FINGERPRINT);
+        count = 0;
+    }
+
+    public synchronized long getRecordCount() {
+        return total;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segmentNumber + 1;
+    }
+
+    public synchronized boolean isFull() {
+        return full;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (segment != null) segment.force();
+        segment = null;
+        full = true;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.silentacore.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of non-negative longs (nanoseconds, usually).
+ *
+ * Values below 8 get a bucket each; above that every power of two is split into 8
+ * linear sub-buckets, so any recorded value is known to within 12.5%. The bucket
+ * layout never changes, recording is a few shifts and an increment and nothing is
+ * ever allocated. Not thread-safe.
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) << SUB_BITS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[index(value)]++;
+        count++;
+        total += value;
+        if (value > max) max = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+
+    /**
+     * Upper edge of the bucket holding the {@code q}-quantile (0..1), or 0 when empty.
+     */
+    public long getPercentile(double q) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, upperBound(i));
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    static int index(long value) {
+        if (value < SUB) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) | (int) ((value >>> shift) & (SUB - 1));
+    }
+
+    static long lowerBound(int index) {
+        int hi = index >>> SUB_BITS;
+        int sub = index & (SUB - 1);
+        if (hi == 0) return sub;
+        return (long) (SUB | sub) << (hi - 1);
+    }
+
+    static long upperBound(int index) {
+        int hi = index >>> SUB_BITS;
+        if (hi == 0) return index;
+        return lowerBound(index) + (1L << (hi - 1)) - 1;
+    }
+}
@@ -0,0 +1,233 @@
+package dev.silentacore.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long to long hash map with linear probing.
+ *
+ * No boxing and no per-entry objects. Removal uses backward-shift deletion, so
+ * there are no tombstones and probe chains never degrade. Not thread-safe.
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // The EMPTY sentinel itself is stored outside the table
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public long get(long key, long missing) {
+        if (key == EMPTY) return hasZeroKey ? zeroValue : missing;
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) return hasZeroKey;
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+    }
+
+    /**
+     * Adds {@code delta} to the value for {@code key} (starting from 0) and returns the new value.
+     */
+    public long addTo(long key, long delta) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                size++;
+                hasZeroKey = true;
+                zeroValue = 0;
+            }
+            return zeroValue += delta;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) return values[i] += delta;
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size >= resizeAt) rehash(keys.length << 1);
+        return delta;
+    }
+
+    public long remove(long key, long missing) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) return missing;
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int i = slot(key);
+        long k;
+        while ((k = keys[i]) != EMPTY) {
+            if (k == key) {
+                long old = values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Removes every entry whose value is below {@code min}, in place. Returns the number removed.
+     */
+    public int removeValuesBelow(long min) {
+        int removed = 0;
+        if (hasZeroKey && zeroValue < min) {
+            hasZeroKey = false;
+            size--;
+            removed++;
+        }
+        int i = 0;
+        while (i < keys.length) {
+            if (keys[i] != EMPTY && values[i] < min) {
+                // The backward shift may pull a later entry into slot i; look at it again
+                shiftBack(i);
+                size--;
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // --- Allocation-free iteration over table slots ---
+    // Slot index capacity() stands for the out-of-table EMPTY key.
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return slot == keys.length ? hasZeroKey : keys[slot] != EMPTY;
+    }
+
+    public long keyAt(int slot) {
+        return slot == keys.length ? EMPTY : keys[slot];
+    }
+
+    public long valueAt(int slot) {
+        return slot == keys.length ? zeroValue : values[slot];
+    }
+
+    // --- Internals ---
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    // Backward-shift deletion for linear probing
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            long k = keys[i];
+            if (k == EMPTY) break;
+            int home = slot(k);
+            // Move the entry into the gap if its home slot does not lie in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k == EMPTY) continue;
+            int i = slot(k);
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expected) {
+        int needed = (int) Math.ceil(Math.max(expected, 4) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.silentacore.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Growable FIFO ring buffer of primitive longs. Not thread-safe.
+ */
+public class LongQueue {
+
+    private long[] elements;
+    private int head = 0;
+    private int size = 0;
+
+    public LongQueue() {
+        this(16);
+    }
+
+    public LongQueue(int initialCapacity) {
+        this.elements = new long[Math.max(4, Integer.highestOneBit(Math.max(initialCapacity, 4) - 1) << 1)];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) grow();
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public long poll() {
+        if (size == 0) throw new NoSuchElementException();
+        long value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public long peek() {
+        if (size == 0) throw new NoSuchElementException();
+        return elements[head];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] bigger = new long[elements.length << 1];
+        for (int i = 0; i < size; i++) {
+            bigger[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        elements = bigger;
+        head = 0;
+    }
+}
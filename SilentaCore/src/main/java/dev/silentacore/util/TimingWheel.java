@@ -0,0 +1,137 @@
+package dev.silentacore.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of long keys, expiring on server ticks.
+ *
+ * Four levels: 256 one-tick slots, then 64 slots each of 256, 16,384 and 1,048,576
+ * ticks. A key sits in the coarsest slot that still resolves its expiry and is
+ * moved down a level when that slot comes round, so scheduling is O(1) and
+ * {@link #advance} costs O(expired + cascaded), never O(all). Expiries further out
+ * than the top level are parked in its last slot and re-placed when it comes round.
+ * Not thread-safe.
+ */
+public class TimingWheel {
+
+    private static final int L0_BITS = 8;
+    private static final int LN_BITS = 6;
+    private static final int L0_SLOTS = 1 << L0_BITS;
+    private static final int LN_SLOTS = 1 << LN_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (L0_BITS + LN_BITS * (LEVELS - 1));
+
+    // Bucket b holds size[b] (key, expiry) pairs
+    private final long[][] keys = new long[L0_SLOTS + LN_SLOTS * (LEVELS - 1)][];
+    private final long[][] expiries = new long[keys.length][];
+    private final int[] sizes = new int[keys.length];
+
+    private long current;
+    private int size = 0;
+
+    public TimingWheel(long startTick) {
+        this.current = startTick;
+    }
+
+    /**
+     * Schedules {@code key} to be handed out by {@link #advance} once {@code expiry} is reached.
+     * Expiries at or before the current tick fire on the next advance.
+     */
+    public void schedule(long key, long expiry) {
+        place(key, Math.max(expiry, current + 1));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code now}, handing every key that expired on the way to {@code expired}.
+     */
+    public void advance(long now, LongConsumer expired) {
+        while (current < now) {
+            current++;
+
+            // Cascade coarse slots that just came round, top level first
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                int shift = shift(level);
+                if ((current & ((1L << shift) - 1)) == 0) {
+                    cascade(bucket(level, (int) (current >>> shift) & (LN_SLOTS - 1)));
+                }
+            }
+
+            int b = (int) current & (L0_SLOTS - 1);
+            int n = sizes[b];
+            if (n == 0) continue;
+            long[] k = keys[b];
+            long[] e = expiries[b];
+            sizes[b] = 0;
+            for (int i = 0; i < n; i++) {
+                if (e[i] <= current) {
+                    size--;
+                    expired.accept(k[i]);
+                } else {
+                    place(k[i], e[i]); // Not due yet
+                }
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return current;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        size = 0;
+    }
+
+    // --- Internals ---
+
+    private void cascade(int b) {
+        int n = sizes[b];
+        if (n == 0) return;
+        long[] k = keys[b];
+        long[] e = expiries[b];
+        sizes[b] = 0;
+        for (int i = 0; i < n; i++) place(k[i], Math.max(e[i], current));
+    }
+
+    private void place(long key, long expiry) {
+        long delta = expiry - current;
+        int b;
+        if (delta < L0_SLOTS) {
+            b = (int) expiry & (L0_SLOTS - 1);
+        } else {
+            long at = delta < MAX_SPAN ? expiry : current + MAX_SPAN - 1;
+            int level = 1;
+            while (level < LEVELS - 1 && (at - current) >= (1L << shift(level + 1))) level++;
+            b = bucket(level, (int) (at >>> shift(level)) & (LN_SLOTS - 1));
+        }
+        append(b, key, expiry);
+    }
+
+    private void append(int b, long key, long expiry) {
+        int n = sizes[b];
+        if (keys[b] == null) {
+            keys[b] = new long[8];
+            expiries[b] = new long[8];
+        } else if (n == keys[b].length) {
+            keys[b] = Arrays.copyOf(keys[b], n << 1);
+            expiries[b] = Arrays.copyOf(expiries[b], n << 1);
+        }
+        keys[b][n] = key;
+        expiries[b][n] = expiry;
+        sizes[b] = n + 1;
+    }
+
+    private static int shift(int level) {
+        return L0_BITS + LN_BITS * (level - 1);
+    }
+
+    private static int bucket(int level, int slot) {
+        return L0_SLOTS + LN_SLOTS * (level - 1) + slot;
+    }
+}
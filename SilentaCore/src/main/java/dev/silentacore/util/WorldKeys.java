@@ -0,0 +1,122 @@
+package dev.silentacore.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Packs world + chunk coordinates into a single long, for use as a primitive map key.
+ *
+ * Worlds get a small slot number the first time they are seen; slots are stable
+ * for the lifetime of the plugin. Keys hold 8 bits of slot, so once 256 worlds have
+ * been seen the slot of a world that is no longer loaded is handed out again. Main
+ * thread only.
+ */
+public final class WorldKeys {
+
+    public static final int MAX_SLOTS = 256;
+
+    private static final Map<UUID, Integer> slots = new HashMap<>();
+    private static final List<UUID> worldIds = new ArrayList<>();
+
+    // Most lookups in a row hit the same world
+    private static World lastWorld;
+    private static int lastSlot = -1;
+
+    private WorldKeys() {}
+
+    public static int slot(World world) {
+        if (world == lastWorld) return lastSlot;
+        Integer slot = slots.get(world.getUID());
+        if (slot == null) {
+            slot = assign(world.getUID());
+        }
+        lastWorld = world;
+        lastSlot = slot;
+        return slot;
+    }
+
+    private static int assign(UUID id) {
+        if (worldIds.size() < MAX_SLOTS) {
+            slots.put(id, worldIds.size());
+            worldIds.add(id);
+            return worldIds.size() - 1;
+        }
+        // Out of slots: take over one whose world is gone. Keys still held for that
+        // world now point at this one until their owners expire them.
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            UUID previous = worldIds.get(slot);
+            if (Bukkit.getWorld(previous) != null) continue;
+            slots.remove(previous);
+            slots.put(id, slot);
+            worldIds.set(slot, id);
+            Bukkit.getLogger().warning("[SilentaCore] " + MAX_SLOTS + " worlds seen, reusing world slot " + slot);
+            return slot;
+        }
+        throw new IllegalStateException("More than " + MAX_SLOTS + " worlds loaded at once");
+    }
+
+    public static World world(int slot) {
+        if (slot < 0 || slot >= worldIds.size()) return null;
+        return Bukkit.getWorld(worldIds.get(slot));
+    }
+
+    // --- Chunk keys: 8 bits world slot, 28 bits each for chunk X and Z ---
+
+    public static long chunkKey(int worldSlot, int chunkX, int chunkZ) {
+        return ((long) (worldSlot & 0xFF) << 56) | (((long) chunkX & 0xFFFFFFFL) << 28) | ((long) chunkZ & 0xFFFFFFFL);
+    }
+
+    public static long chunkKey(World world, int chunkX, int chunkZ) {
+        return chunkKey(slot(world), chunkX, chunkZ);
+    }
+
+    public static int worldSlot(long chunkKey) {
+        return (int) (chunkKey >>> 56);
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey << 8 >> 36); // sign-extend 28 bits
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) (chunkKey << 36 >> 36);
+    }
+
+    // --- Block keys: 8 bits world slot, 22 bits each for X and Z, 12 bits for Y ---
+    // X/Z wrap beyond +-2,097,152; far-out blocks may then share a key, which is harmless
+    // for throttling. Anything that turns a key back into a block checks isExact first.
+
+    public static long blockKey(int worldSlot, int x, int y, int z) {
+        return ((long) (worldSlot & 0xFF) << 56) | (((long) x & 0x3FFFFFL) << 34)
+                | (((long) z & 0x3FFFFFL) << 12) | ((long) y & 0xFFFL);
+    }
+
+    /**
+     * True if the block at x/z gets a key that decodes back to the same position.
+     */
+    public static boolean isExact(int x, int z) {
+        return x == (x << 10 >> 10) && z == (z << 10 >> 10);
+    }
+
+    public static int blockWorldSlot(long blockKey) {
+        return (int) (blockKey >>> 56);
+    }
+
+    public static int blockX(long blockKey) {
+        return (int) (blockKey << 8 >> 42); // sign-extend 22 bits
+    }
+
+    public static int blockY(long blockKey) {
+        return (int) (blockKey << 52 >> 52);
+    }
+
+    public static int blockZ(long blockKey) {
+        return (int) (blockKey << 30 >> 42);
+    }
+}
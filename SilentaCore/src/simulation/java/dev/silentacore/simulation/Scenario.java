@@ -0,0 +1,34 @@
+package dev.silentacore.simulation;
+
+import java.util.Map;
+
+/**
+ * A synthetic load: sets up a world and, every tick, fires the events the server
+ * would fire and reports how much work the server did because of them.
+ *
+ * The reported work is a cost model, not a measurement: each scenario charges a
+ * fixed amount per thing the server would have ticked (an awake mob, a hopper
+ * transfer that went through, ...). It only has to move in the right direction when
+ * the plugin acts, so runs can be compared with each other.
+ */
+public interface Scenario {
+
+    String getName();
+
+    String getDescription();
+
+    /**
+     * Adjusts the plugin config before it is loaded (shorter timeouts and the like).
+     */
+    default void configure(Map<String, Object> config) {}
+
+    /**
+     * Builds the world; runs before the plugin's modules are enabled.
+     */
+    void setup(Simulator sim);
+
+    /**
+     * Fires this tick's events and returns the server work they caused, in milliseconds.
+     */
+    double tick(Simulator sim, int tick);
+}
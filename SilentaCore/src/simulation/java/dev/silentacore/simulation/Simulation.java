@@ -0,0 +1,137 @@
+package dev.silentacore.simulation;
+
+import dev.silentacore.simulation.scenario.HopperHallScenario;
+import dev.silentacore.simulation.scenario.ItemStormScenario;
+import dev.silentacore.simulation.scenario.MobFarmScenario;
+import dev.silentacore.simulation.scenario.MobRampScenario;
+import dev.silentacore.simulation.scenario.RedstoneClockScenario;
+import dev.silentacore.simulation.scenario.TraceReplayScenario;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry point: {@code ./gradlew simulate --args="mobs hoppers --ticks 6000"}.
+ *
+ * Scenarios named together run in the same world at the same time. Options:
+ * {@code --ticks} (default 2400), {@code --seed}, {@code --base-mspt} (the server's own
+ * work before any scenario, default 30), {@code --csv <file>} for the per-tick series,
+ * and {@code --max-plugin-p99 <ms>}, which fails the run (exit code 2) when the plugin's
+ * p99 per-tick cost goes over it.
+ *
+ * {@code --trace <dir or file>} replays a recorded event trace as fast as it goes,
+ * to its end unless {@code --ticks} is given; the base MSPT then defaults to 0, as the
+ * trace carries the recorded tick durations. {@code --record <dir>} records the run
+ * itself as a trace, the way {@code /sc trace} does on a server.
+ */
+public final class Simulation {
+
+    private static final Map<String, Supplier<Scenario>> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("mobs", MobFarmScenario::new);
+        SCENARIOS.put("hoppers", HopperHallScenario::new);
+        SCENARIOS.put("redstone", RedstoneClockScenario::new);
+        SCENARIOS.put("items", ItemStormScenario::new);
+        SCENARIOS.put("ramp", MobRampScenario::new);
+    }
+
+    private Simulation() {}
+
+    public static void main(String[] args) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        int ticks = -1;
+        long seed = 22;
+        double baseMspt = -1;
+        TraceReplayScenario replay = null;
+        Path record = null;
+        Path csv = null;
+        double maxPluginP99 = -1;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--base-mspt" -> baseMspt = Double.parseDouble(args[++i]);
+                case "--csv" -> csv = Path.of(args[++i]);
+                case "--max-plugin-p99" -> maxPluginP99 = Double.parseDouble(args[++i]);
+                case "--record" -> record = Path.of(args[++i]).toAbsolutePath();
+                case "--trace" -> {
+                    replay = new TraceReplayScenario(Path.of(args[++i]));
+                    scenarios.add(replay);
+                }
+                default -> {
+                    Supplier<Scenario> scenario = SCENARIOS.get(args[i]);
+                    if (scenario == null) {
+                        System.err.println("Unknown scenario or option: " + args[i]);
+                        usage();
+                        System.exit(1);
+                    }
+                    scenarios.add(scenario.get());
+                }
+            }
+        }
+        if (scenarios.isEmpty()) {
+            usage();
+            return;
+        }
+
+        if (baseMspt < 0) baseMspt = replay != null ? 0 : 30;
+
+        Simulator sim = new Simulator(scenarios, baseMspt, seed);
+        if (record != null) {
+            sim.set("trace.enabled", true);
+            sim.set("trace.directory", record.toString());
+        }
+        sim.start();
+        long start = System.nanoTime();
+        if (ticks < 0 && replay != null) {
+            while (!replay.isFinished()) sim.step();
+        } else {
+            sim.run(ticks < 0 ? 2400 : ticks);
+        }
+        long elapsed = System.nanoTime() - start;
+        sim.stop();
+
+        SimulationReport report = sim.getReport();
+        System.out.printf(Locale.ROOT, "Simulated %d ticks of %s in %.1fs%n", report.getTicks(),
+                scenarios.stream().map(Scenario::getName).toList(), elapsed / 1e9);
+        if (replay != null) {
+            System.out.printf(Locale.ROOT, "Replayed %d records (%.0f/s): %s%n", replay.getFired(),
+                    replay.getFired() / (elapsed / 1e9), replay.getCounts());
+        }
+        report.printSummary(System.out);
+        if (csv != null) {
+            try (Writer out = new BufferedWriter(Files.newBufferedWriter(csv))) {
+                report.writeCsv(out);
+            }
+            System.out.println("Per-tick series: " + csv);
+        }
+
+        if (maxPluginP99 >= 0) {
+            double p99 = report.getPluginTimes().getPercentile(0.99) / 1e6;
+            if (p99 > maxPluginP99) {
+                System.err.printf(Locale.ROOT, "Plugin p99 %.2fms is over the %.2fms limit%n", p99, maxPluginP99);
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void usage() {
+        System.out.println("Usage: Simulation <scenario...> [--trace dir|file] [--record dir] [--ticks N] [--seed N] [--base-mspt ms] [--csv file] [--max-plugin-p99 ms]");
+        System.out.println("Scenarios:");
+        for (Supplier<Scenario> supplier : SCENARIOS.values()) {
+            Scenario scenario = supplier.get();
+            System.out.printf(Locale.ROOT, "  %-10s %s%n", scenario.getName(), scenario.getDescription());
+        }
+    }
+}
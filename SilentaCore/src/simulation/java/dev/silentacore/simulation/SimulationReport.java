@@ -0,0 +1,145 @@
+package dev.silentacore.simulation;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadForecaster;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.optimization.ModuleMetrics;
+import dev.silentacore.optimization.OptimizationManager;
+import dev.silentacore.util.LogLinearHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What a simulation run cost and what the modules did, tick by tick.
+ *
+ * Every tick records the tick duration, the plugin's share of it, the load level, the
+ * pressure controller's output and
+ * how much each module action counter moved. Counters are columns named
+ * {@code module/counter}; modules register theirs lazily, so a column may appear part
+ * way through a run (earlier ticks read 0).
+ */
+public class SimulationReport {
+
+    private final OptimizationManager optimizations;
+    private final LoadForecaster forecaster;
+    private final List<String> keys;
+
+    private final List<String> columns = new ArrayList<>();
+    private long[] last = new long[0]; // counter totals as of the previous tick
+    private final List<Row> rows = new ArrayList<>();
+
+    private final LogLinearHistogram mspt = new LogLinearHistogram();
+    private final LogLinearHistogram plugin = new LogLinearHistogram();
+    private final long[] ticksAtLevel = new long[LoadLevel.values().length];
+    private double pressureSum;
+    private long overBudget; // ticks over 50 ms
+    private final List<String> transitions = new ArrayList<>();
+
+    private record Row(int tick, double mspt, long pluginNanos, LoadLevel level, double pressure, long[] actions) {}
+
+    SimulationReport(SilentaCore plugin) {
+        this.optimizations = plugin.getOptimizationManager();
+        this.forecaster = plugin.getPerformanceMonitor().getForecaster();
+        this.keys = new ArrayList<>(optimizations.getKeys());
+    }
+
+    void tick(int tick, double msptMs, long pluginNanos, LoadLevel level, double pressure) {
+        long[] actions = new long[columns.size()];
+        int column = 0;
+        for (String key : keys) {
+            ModuleMetrics metrics = optimizations.getMetrics(key);
+            for (int i = 0; i < metrics.getCounterCount(); i++, column++) {
+                if (column == columns.size()) {
+                    columns.add(key + "/" + metrics.getCounterName(i));
+                    last = Arrays.copyOf(last, columns.size());
+                    actions = Arrays.copyOf(actions, columns.size());
+                }
+                long total = metrics.getCounter(i);
+                actions[column] = total - last[column];
+                last[column] = total;
+            }
+        }
+        rows.add(new Row(tick, msptMs, pluginNanos, level, pressure, actions));
+        pressureSum += pressure;
+        if (msptMs > 50.0) overBudget++;
+        mspt.record((long) (msptMs * 1_000_000));
+        plugin.record(pluginNanos);
+        ticksAtLevel[level.ordinal()]++;
+    }
+
+    void levelChanged(int tick, LoadLevel from, LoadLevel to) {
+        transitions.add(String.format(Locale.ROOT, "tick %d: %s -> %s", tick, from, to));
+    }
+
+    public int getTicks() {
+        return rows.size();
+    }
+
+    public LogLinearHistogram getMspt() {
+        return mspt;
+    }
+
+    public LogLinearHistogram getPluginTimes() {
+        return plugin;
+    }
+
+    public void writeCsv(Writer out) throws IOException {
+        out.write("tick,mspt,plugin_us,level,pressure");
+        for (String column : columns) out.write("," + column);
+        out.write('\n');
+        for (Row row : rows) {
+            out.write(String.format(Locale.ROOT, "%d,%.3f,%.1f,%s,%.3f", row.tick, row.mspt, row.pluginNanos / 1000.0,
+                    row.level, row.pressure));
+            for (int i = 0; i < columns.size(); i++) {
+                out.write(',');
+                out.write(Long.toString(i < row.actions.length ? row.actions[i] : 0));
+            }
+            out.write('\n');
+        }
+    }
+
+    public void printSummary(PrintStream out) {
+        out.printf(Locale.ROOT, "Ticks: %d%n", rows.size());
+        out.printf(Locale.ROOT, "MSPT: mean %.2f, p50 %s, p99 %s, max %s%n",
+                mspt.getMean() / 1_000_000.0, ModuleMetrics.formatNanos(mspt.getPercentile(0.5)),
+                ModuleMetrics.formatNanos(mspt.getPercentile(0.99)), ModuleMetrics.formatNanos(mspt.getMax()));
+        out.printf(Locale.ROOT, "Over budget: %.1f%% of ticks, mean pressure %.2f%n",
+                rows.isEmpty() ? 0.0 : 100.0 * overBudget / rows.size(), rows.isEmpty() ? 0.0 : pressureSum / rows.size());
+        out.printf(Locale.ROOT, "Plugin: mean %s, p99 %s, max %s, %.1f%% of tick time%n",
+                ModuleMetrics.formatNanos((long) plugin.getMean()), ModuleMetrics.formatNanos(plugin.getPercentile(0.99)),
+                ModuleMetrics.formatNanos(plugin.getMax()), mspt.getTotal() == 0 ? 0.0 : 100.0 * plugin.getTotal() / mspt.getTotal());
+
+        out.println("Load levels:");
+        for (LoadLevel level : LoadLevel.values()) {
+            if (ticksAtLevel[level.ordinal()] == 0) continue;
+            out.printf(Locale.ROOT, "  %-8s %5.1f%%%n", level, 100.0 * ticksAtLevel[level.ordinal()] / rows.size());
+        }
+        for (String transition : transitions) out.println("  " + transition);
+
+        if (forecaster.isEnabled()) {
+            out.printf(Locale.ROOT, "Forecast (%ds): mean error %.2fms / %.0f entities over %d forecasts, "
+                            + "crossings %d predicted, %d false alarms, %d missed%n",
+                    forecaster.getHorizon(), forecaster.getMsptError(), forecaster.getEntityError(), forecaster.getResolved(),
+                    forecaster.getHits(), forecaster.getFalseAlarms(), forecaster.getMisses());
+        }
+
+        out.println("Modules:");
+        for (String key : keys) {
+            ModuleMetrics metrics = optimizations.getMetrics(key);
+            LogLinearHistogram ticks = metrics.getTickTimes(), events = metrics.getEventTimes();
+            if (ticks.getCount() == 0 && events.getCount() == 0 && metrics.getCounterCount() == 0) continue;
+            out.printf(Locale.ROOT, "  %s: tick p99 %s (%d), events p99 %s (%d), backoff %d%n", key,
+                    ModuleMetrics.formatNanos(ticks.getPercentile(0.99)), ticks.getCount(),
+                    ModuleMetrics.formatNanos(events.getPercentile(0.99)), events.getCount(), metrics.getBackoff());
+            for (int i = 0; i < metrics.getCounterCount(); i++) {
+                out.printf(Locale.ROOT, "    %-24s %d%n", metrics.getCounterName(i), metrics.getCounter(i));
+            }
+        }
+    }
+}
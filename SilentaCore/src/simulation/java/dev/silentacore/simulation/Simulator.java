@@ -0,0 +1,173 @@
+package dev.silentacore.simulation;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import dev.silentacore.SilentaCore;
+import dev.silentacore.monitor.LoadLevel;
+import dev.silentacore.standin.StandInEntity;
+import dev.silentacore.standin.StandInPlugin;
+import dev.silentacore.standin.StandInServer;
+import dev.silentacore.standin.StandInWorld;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Runs SilentaCore against synthetic scenarios on the stand-in server, one tick at a time.
+ *
+ * A tick goes the way Paper runs one: tick start event, scheduler (the plugin's module
+ * scheduler, monitor and expiry tasks), world activity (the scenarios' events), tick
+ * end event. The tick duration handed to the end event is the scenarios' modelled
+ * server work plus the measured time spent in plugin code, so the plugin's load
+ * levels react to what its own modules did. Plugin time is measured on this JVM and
+ * includes stand-in overhead: compare runs with each other, not with production.
+ */
+public class Simulator {
+
+    private final List<Scenario> scenarios;
+    private final double baseMspt;
+    private final SplittableRandom random;
+    private final Map<String, Object> config = new LinkedHashMap<>();
+
+    private StandInServer server;
+    private StandInWorld world;
+    private SilentaCore plugin;
+    private SimulationReport report;
+    private long pluginNanos; // plugin time in the current tick
+    private final Location from = new Location(null, 0, 0, 0);
+
+    public Simulator(List<Scenario> scenarios, double baseMspt, long seed) {
+        this.scenarios = scenarios;
+        this.baseMspt = baseMspt;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Overrides a config value; applied after the scenarios' own overrides.
+     */
+    public void set(String path, Object value) {
+        config.put(path, value);
+    }
+
+    /**
+     * Builds the world, then enables the plugin the way {@code onEnable} does.
+     */
+    public void start() throws IOException {
+        server = StandInServer.install();
+        server.reset();
+        world = server.addWorld("world");
+
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("heatmap.push-interval", 0); // No backend to push to
+        for (Scenario scenario : scenarios) scenario.configure(overrides);
+        overrides.putAll(config);
+        plugin = StandInPlugin.create(server, overrides);
+
+        for (Scenario scenario : scenarios) scenario.setup(this);
+        plugin.getPerformanceMonitor().startMonitoring();
+        plugin.getOptimizationManager().enableOptimizations();
+        if (plugin.getConfigManager().getSnapshot().trace().enabled()) plugin.getTraceRecorder().start();
+        report = new SimulationReport(plugin);
+        plugin.getPerformanceMonitor().addListener((from, to) -> report.levelChanged(server.getCurrentTick(), from, to));
+    }
+
+    public void stop() {
+        plugin.getTraceRecorder().stop();
+        plugin.getOptimizationManager().disableOptimizations();
+    }
+
+    /**
+     * Runs one server tick.
+     */
+    public void step() {
+        int tick = server.getCurrentTick() + 1;
+        pluginNanos = 0;
+
+        fire(new ServerTickStartEvent(tick));
+        long start = System.nanoTime();
+        server.tick(); // Every scheduled task belongs to the plugin
+        pluginNanos += System.nanoTime() - start;
+
+        double worldMs = baseMspt;
+        for (Scenario scenario : scenarios) worldMs += scenario.tick(this, tick);
+
+        double mspt = worldMs + pluginNanos / 1_000_000.0;
+        long remaining = (long) (Math.max(0, 50.0 - mspt) * 1_000_000);
+        fire(new ServerTickEndEvent(tick, mspt, remaining));
+
+        LoadLevel level = plugin.getPerformanceMonitor().getLevel();
+        report.tick(tick, mspt, pluginNanos, level, plugin.getPerformanceMonitor().getPressure());
+    }
+
+    public void run(int ticks) {
+        for (int i = 0; i < ticks; i++) step();
+    }
+
+    // --- For scenarios ---
+
+    /**
+     * Calls an event's handlers (all of them the plugin's) and counts the time as plugin time.
+     */
+    public <T extends Event> T fire(T event) {
+        long start = System.nanoTime();
+        server.callEvent(event);
+        pluginNanos += System.nanoTime() - start;
+        return event;
+    }
+
+    public StandInEntity join(String name, double x, double y, double z) {
+        StandInEntity player = world.join(name, x, y, z);
+        fire(new PlayerJoinEvent(player.handle(Player.class), (net.kyori.adventure.text.Component) null));
+        return player;
+    }
+
+    /**
+     * Walks a player to (x, z), unless a handler cancels the move.
+     */
+    public void move(StandInEntity player, double x, double z) {
+        Location at = player.getLocation();
+        from.setWorld(at.getWorld());
+        from.set(at.getX(), at.getY(), at.getZ());
+        Location to = at.clone();
+        to.setX(x);
+        to.setZ(z);
+        player.moveTo(to);
+        if (fire(new PlayerMoveEvent(player.handle(Player.class), from, to)).isCancelled()) player.moveTo(from);
+    }
+
+    public StandInServer getServer() {
+        return server;
+    }
+
+    public StandInWorld getWorld() {
+        return world;
+    }
+
+    public SilentaCore getPlugin() {
+        return plugin;
+    }
+
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    public SimulationReport getReport() {
+        return report;
+    }
+
+    public double getBaseMspt() {
+        return baseMspt;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+}
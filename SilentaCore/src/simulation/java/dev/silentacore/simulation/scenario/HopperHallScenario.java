@@ -0,0 +1,118 @@
+package dev.silentacore.simulation.scenario;
+
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import dev.silentacore.standin.StandInContainer;
+import org.bukkit.Material;
+import org.bukkit.block.Chest;
+import org.bukkit.block.Hopper;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * 5,000 hoppers in 500 chains of 10, each chain ending in a chest; one chest in five
+ * is already full and its chain backed up. The first hopper of every chain is refilled
+ * from an endless source (a farm above it).
+ *
+ * Every hopper holding items tries to push one every 8 ticks, on its own phase, and
+ * the server fires the move event for it. A push that goes through costs 40µs, one
+ * that finds the destination full 10µs (the inventory scan), one a handler cancelled
+ * 2µs.
+ */
+public class HopperHallScenario implements Scenario {
+
+    private static final int CHAINS = 500;
+    private static final int LENGTH = 10;
+    private static final int PERIOD = 8; // vanilla transfer cooldown
+    private static final double MOVE_COST_MS = 0.040;
+    private static final double FULL_COST_MS = 0.010;
+    private static final double CANCELLED_COST_MS = 0.002;
+
+    private final StandInContainer[][] hoppers = new StandInContainer[CHAINS][LENGTH];
+    private final StandInContainer[] chests = new StandInContainer[CHAINS];
+    private final ItemStack item = new ItemStack(Material.COBBLESTONE);
+
+    @Override
+    public String getName() {
+        return "hoppers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "5k hoppers in chains of 10, a fifth of them backed up behind full chests";
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        // 25 rows of 20 chains, one chain per chunk
+        for (int c = 0; c < CHAINS; c++) {
+            int x0 = (c % 20) * 16, z = (c / 20) * 16;
+            for (int i = 0; i < LENGTH; i++) {
+                hoppers[c][i] = sim.getWorld().container(Hopper.class, x0 + i, 64, z, 5);
+            }
+            chests[c] = sim.getWorld().container(Chest.class, x0 + LENGTH, 64, z, 27);
+            if (sim.getRandom().nextInt(5) == 0) {
+                // Backed up: the chest and every hopper before it are full
+                chests[c].fill(item.asQuantity(64));
+                for (StandInContainer hopper : hoppers[c]) hopper.fill(item.asQuantity(64));
+            }
+        }
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        double cost = 0;
+        for (int c = 0; c < CHAINS; c++) {
+            if (tick % PERIOD == 0) add(hoppers[c][0].getContents(), 1);
+            for (int i = 0; i < LENGTH; i++) {
+                // Hoppers further down a chain push on a later phase, as they do once items flow
+                if ((tick + c + i) % PERIOD != 0) continue;
+                StandInContainer source = hoppers[c][i];
+                if (isEmpty(source.getContents())) continue;
+                StandInContainer destination = i + 1 < LENGTH ? hoppers[c][i + 1] : chests[c];
+
+                InventoryMoveItemEvent event = sim.fire(new InventoryMoveItemEvent(
+                        source.inventory(), item.clone(), destination.inventory(), true));
+                if (event.isCancelled()) {
+                    cost += CANCELLED_COST_MS;
+                } else if (add(destination.getContents(), 1)) {
+                    take(source.getContents());
+                    cost += MOVE_COST_MS;
+                } else {
+                    cost += FULL_COST_MS;
+                }
+            }
+        }
+        return cost;
+    }
+
+    private boolean add(ItemStack[] slots, int amount) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) {
+                slots[i] = item.asQuantity(amount);
+                return true;
+            }
+            if (slots[i].getAmount() + amount <= slots[i].getMaxStackSize()) {
+                slots[i].setAmount(slots[i].getAmount() + amount);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void take(ItemStack[] slots) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) continue;
+            if (slots[i].getAmount() == 1) slots[i] = null;
+            else slots[i].setAmount(slots[i].getAmount() - 1);
+            return;
+        }
+    }
+
+    private static boolean isEmpty(ItemStack[] slots) {
+        for (ItemStack slot : slots) {
+            if (slot != null) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package dev.silentacore.simulation.scenario;
+
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import dev.silentacore.standin.StandInEntity;
+import org.bukkit.Material;
+import org.bukkit.entity.Item;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+/**
+ * Four mob grinders dropping loot for a minute: from tick 200 to tick 1400, each spot
+ * drops 4 items a tick within two blocks of it. Items despawn after the vanilla five
+ * minutes.
+ *
+ * Every live item costs the server 3µs a tick (physics, merge checks, pickup checks).
+ */
+public class ItemStormScenario implements Scenario {
+
+    private static final int SPOTS = 4;
+    private static final int DROPS_PER_TICK = 4;
+    private static final int START = 200;
+    private static final int END = 1400;
+    private static final int DESPAWN_TICKS = 6000;
+    private static final double ITEM_COST_MS = 0.003;
+    private static final Material[] LOOT = {Material.ROTTEN_FLESH, Material.BONE, Material.ARROW, Material.STRING};
+
+    private record Drop(StandInEntity item, int tick) {}
+
+    private final ArrayDeque<Drop> drops = new ArrayDeque<>();
+    private final double[][] spots = new double[SPOTS][2];
+
+    @Override
+    public String getName() {
+        return "items";
+    }
+
+    @Override
+    public String getDescription() {
+        return "4 grinders dropping 16 items a tick between ticks 200 and 1400";
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        for (int i = 0; i < SPOTS; i++) {
+            spots[i][0] = 2000 + i * 64;
+            spots[i][1] = 2000;
+        }
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        while (!drops.isEmpty() && tick - drops.peekFirst().tick >= DESPAWN_TICKS) {
+            despawn(sim, drops.pollFirst().item);
+        }
+
+        if (tick >= START && tick < END) {
+            SplittableRandom random = sim.getRandom();
+            for (double[] spot : spots) {
+                for (int i = 0; i < DROPS_PER_TICK; i++) {
+                    ItemStack loot = new ItemStack(LOOT[random.nextInt(LOOT.length)], 1 + random.nextInt(2));
+                    StandInEntity item = sim.getWorld().dropItem(
+                            spot[0] + random.nextDouble(-2, 2), 64, spot[1] + random.nextDouble(-2, 2), loot);
+                    if (sim.fire(new ItemSpawnEvent(item.handle(Item.class))).isCancelled()) {
+                        item.remove(); // Merged into an item already there
+                    } else {
+                        drops.addLast(new Drop(item, tick));
+                    }
+                }
+            }
+        }
+
+        int live = 0;
+        for (Drop drop : drops) {
+            if (drop.item.isValid()) live++;
+        }
+        return live * ITEM_COST_MS;
+    }
+
+    private static void despawn(Simulator sim, StandInEntity item) {
+        if (!item.isValid()) return;
+        item.remove();
+        sim.fire(new EntityRemoveFromWorldEvent(item.handle(), item.getWorld().handle()));
+    }
+}
@@ -0,0 +1,80 @@
+package dev.silentacore.simulation.scenario;
+
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import dev.silentacore.standin.StandInEntity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Zombie;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 20,000 zombies over a 62 x 62 chunk area with 30 players in it. Half the players
+ * walk around; the other half stand still from the start and go AFK after 30 seconds.
+ *
+ * Every mob whose AI is running costs the server 1.5µs a tick, so the all-awake world
+ * costs 30ms on top of the base load.
+ */
+public class MobFarmScenario implements Scenario {
+
+    private static final int MOBS = 20_000;
+    private static final int PLAYERS = 30;
+    private static final int AREA = 62 * 16; // blocks
+    private static final double AWAKE_COST_MS = 0.0015;
+    private static final double SPEED = 0.2; // walking, blocks per tick
+
+    private final StandInEntity[] mobs = new StandInEntity[MOBS];
+    private final StandInEntity[] players = new StandInEntity[PLAYERS];
+    private final double[] headings = new double[PLAYERS];
+
+    @Override
+    public String getName() {
+        return "mobs";
+    }
+
+    @Override
+    public String getDescription() {
+        return "20k zombies, 30 players (half of them going AFK)";
+    }
+
+    @Override
+    public void configure(Map<String, Object> config) {
+        config.put("afk-optimization.afk-timeout", 30);
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        SplittableRandom random = sim.getRandom();
+        for (int i = 0; i < MOBS; i++) {
+            mobs[i] = sim.getWorld().spawnMob(Zombie.class, EntityType.ZOMBIE, random.nextDouble(AREA), 64, random.nextDouble(AREA));
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = sim.join("Walker" + i, random.nextDouble(AREA), 64, random.nextDouble(AREA));
+            headings[i] = random.nextDouble(Math.PI * 2);
+        }
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        SplittableRandom random = sim.getRandom();
+        for (int i = 0; i < PLAYERS / 2; i++) {
+            StandInEntity player = players[i];
+            if (random.nextInt(100) == 0) headings[i] = random.nextDouble(Math.PI * 2);
+            double x = player.getLocation().getX() + Math.cos(headings[i]) * SPEED;
+            double z = player.getLocation().getZ() + Math.sin(headings[i]) * SPEED;
+            if (x < 0 || x >= AREA || z < 0 || z >= AREA) {
+                headings[i] += Math.PI; // Bounce off the edge
+                continue;
+            }
+            sim.move(player, x, z);
+        }
+
+        int awake = 0;
+        for (StandInEntity mob : mobs) {
+            if (mob.handle(Mob.class).isAware()) awake++;
+        }
+        return awake * AWAKE_COST_MS;
+    }
+}
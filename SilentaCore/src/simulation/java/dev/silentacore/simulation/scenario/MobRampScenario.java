@@ -0,0 +1,66 @@
+package dev.silentacore.simulation.scenario;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import dev.silentacore.standin.StandInEntity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Zombie;
+
+import java.util.SplittableRandom;
+
+/**
+ * A mob count that keeps climbing: 5 players in a 40 x 40 chunk area, with zombies
+ * spawning across it at 5 a tick up to 20,000.
+ *
+ * Every awake mob costs the server 1.5µs a tick, so the load creeps up by 0.15ms a
+ * second and crosses the tick budget a little over two minutes in. The run shows
+ * whether the plugin engages before that or only once the lag is there.
+ */
+public class MobRampScenario implements Scenario {
+
+    private static final int MAX_MOBS = 20_000;
+    private static final int SPAWNS_PER_TICK = 5;
+    private static final int PLAYERS = 5;
+    private static final int AREA = 40 * 16; // blocks
+    private static final double AWAKE_COST_MS = 0.0015;
+
+    private final StandInEntity[] mobs = new StandInEntity[MAX_MOBS];
+    private int count;
+
+    @Override
+    public String getName() {
+        return "ramp";
+    }
+
+    @Override
+    public String getDescription() {
+        return "zombies spawning 5 a tick up to 20k, 5 players";
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        SplittableRandom random = sim.getRandom();
+        for (int i = 0; i < PLAYERS; i++) {
+            sim.join("Farmer" + i, random.nextDouble(AREA), 64, random.nextDouble(AREA));
+        }
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        SplittableRandom random = sim.getRandom();
+        for (int i = 0; i < SPAWNS_PER_TICK && count < MAX_MOBS; i++) {
+            StandInEntity mob = sim.getWorld().spawnMob(Zombie.class, EntityType.ZOMBIE,
+                    random.nextDouble(AREA), 64, random.nextDouble(AREA));
+            mobs[count++] = mob;
+            sim.fire(new EntityAddToWorldEvent(mob.handle(), sim.getWorld().handle()));
+        }
+
+        int awake = 0;
+        for (int i = 0; i < count; i++) {
+            if (mobs[i].handle(Mob.class).isAware()) awake++;
+        }
+        return awake * AWAKE_COST_MS;
+    }
+}
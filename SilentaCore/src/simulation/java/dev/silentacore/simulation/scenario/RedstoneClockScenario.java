@@ -0,0 +1,77 @@
+package dev.silentacore.simulation.scenario;
+
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import org.bukkit.block.Block;
+import org.bukkit.event.block.BlockRedstoneEvent;
+
+/**
+ * 400 redstone clocks, each driving 20 components (dust, repeaters, lamps), eight
+ * clocks to a chunk. A clock toggles every 2 ticks, on one of two phases, and its
+ * components follow it.
+ *
+ * Every transition the server applies costs 4µs; one a handler held back (the event's
+ * new current set back to the old one) costs nothing until it is applied. Replayed
+ * transitions are not seen here: the stand-in blocks read as unpowered dust whatever
+ * was fired at them, so the plugin drops all but deferred rising edges as stale.
+ */
+public class RedstoneClockScenario implements Scenario {
+
+    private static final int CLOCKS = 400;
+    private static final int COMPONENTS = 20;
+    private static final int PER_CHUNK = 8;
+    private static final double TRANSITION_COST_MS = 0.004;
+
+    private final Block[] clocks = new Block[CLOCKS];
+    private final Block[][] components = new Block[CLOCKS][COMPONENTS];
+    private final int[] clockPower = new int[CLOCKS];
+    private final int[][] componentPower = new int[CLOCKS][COMPONENTS];
+
+    @Override
+    public String getName() {
+        return "redstone";
+    }
+
+    @Override
+    public String getDescription() {
+        return "400 fast clocks driving 20 components each, 8 clocks per chunk";
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        for (int c = 0; c < CLOCKS; c++) {
+            // Clocks on a line across each chunk, components in a row behind each clock
+            int chunk = c / PER_CHUNK;
+            int x = (chunk % 10) * 16 + (c % PER_CHUNK) * 2, z = (chunk / 10) * 16 + 1000;
+            clocks[c] = sim.getWorld().block(x, 64, z);
+            for (int i = 0; i < COMPONENTS; i++) {
+                components[c][i] = sim.getWorld().block(x, 64 + i / 14, z + 1 + i % 14);
+            }
+        }
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        int applied = 0;
+        for (int c = 0; c < CLOCKS; c++) {
+            if ((tick + c) % 2 != 0) continue;
+            int to = clockPower[c] == 0 ? 15 : 0;
+            if (!fire(sim, clocks[c], clockPower[c], to)) continue; // Held: the components do not see it
+            clockPower[c] = to;
+            applied++;
+            for (int i = 0; i < COMPONENTS; i++) {
+                if (componentPower[c][i] == to) continue;
+                if (fire(sim, components[c][i], componentPower[c][i], to)) {
+                    componentPower[c][i] = to;
+                    applied++;
+                }
+            }
+        }
+        return applied * TRANSITION_COST_MS;
+    }
+
+    // Whether the transition went through
+    private static boolean fire(Simulator sim, Block block, int from, int to) {
+        return sim.fire(new BlockRedstoneEvent(block, from, to)).getNewCurrent() == to;
+    }
+}
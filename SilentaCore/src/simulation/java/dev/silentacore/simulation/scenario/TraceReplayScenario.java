@@ -0,0 +1,253 @@
+package dev.silentacore.simulation.scenario;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import dev.silentacore.simulation.Scenario;
+import dev.silentacore.simulation.Simulator;
+import dev.silentacore.standin.StandInContainer;
+import dev.silentacore.standin.StandInEntity;
+import dev.silentacore.standin.StandInWorld;
+import dev.silentacore.standin.Stub;
+import dev.silentacore.trace.TraceEventType;
+import dev.silentacore.trace.TraceFormat;
+import dev.silentacore.trace.TraceReader;
+import dev.silentacore.util.WorldKeys;
+import io.papermc.paper.chat.ChatRenderer;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.block.Hopper;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays a recorded event trace ({@code /sc trace}) tick for tick.
+ *
+ * The trace's first tick becomes simulated tick 1. Worlds, blocks, containers,
+ * players and mobs are created the first time a record mentions them; containers
+ * start empty, since the trace does not hold inventories. The server work reported
+ * for a tick is the tick duration the trace recorded, which already includes the
+ * plugin's cost on the recording server; run with a base MSPT of 0.
+ */
+public class TraceReplayScenario implements Scenario {
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    private static final EntityDamageEvent.DamageCause[] CAUSES = EntityDamageEvent.DamageCause.values();
+
+    private final Path path;
+    private TraceReader reader;
+    private boolean pending; // the reader is on a record not fired yet
+    private int firstTick;
+    private double lastDuration;
+
+    private final Map<Integer, StandInWorld> worlds = new HashMap<>();
+    private final Map<Integer, StandInEntity> entities = new HashMap<>();
+    private final Map<Long, StandInContainer> containers = new HashMap<>();
+    private final BlockState[] newStates = new BlockState[MATERIALS.length];
+    private final DamageSource damageSource = new Stub("damage source").as(DamageSource.class);
+    private final Map<TraceEventType, Long> counts = new EnumMap<>(TraceEventType.class);
+    private long fired;
+
+    public TraceReplayScenario(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public String getName() {
+        return "trace";
+    }
+
+    @Override
+    public String getDescription() {
+        return "replay of " + path;
+    }
+
+    @Override
+    public void setup(Simulator sim) {
+        try {
+            reader = TraceReader.open(path);
+            pending = reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        firstTick = pending ? reader.tick() : 0;
+        worlds.put(0, sim.getWorld());
+    }
+
+    @Override
+    public double tick(Simulator sim, int tick) {
+        int until = firstTick + tick - 1;
+        try {
+            while (pending && reader.tick() <= until) {
+                fire(sim);
+                pending = reader.next();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lastDuration;
+    }
+
+    public boolean isFinished() {
+        return !pending;
+    }
+
+    /**
+     * Records fired so far.
+     */
+    public long getFired() {
+        return fired;
+    }
+
+    public Map<TraceEventType, Long> getCounts() {
+        return counts;
+    }
+
+    private void fire(Simulator sim) {
+        TraceEventType type = reader.type();
+        if (type == null) return;
+        counts.merge(type, 1L, Long::sum);
+        fired++;
+        switch (type) {
+            case TICK -> lastDuration = Double.longBitsToDouble(reader.a());
+            case REDSTONE -> sim.fire(new BlockRedstoneEvent(block(sim, reader.position()), (int) reader.a(), (int) reader.b()));
+            case HOPPER_MOVE -> {
+                int flags = reader.flags();
+                StandInContainer source = container(sim, reader.position(), (flags & TraceFormat.SOURCE_IS_HOPPER) != 0);
+                StandInContainer destination = container(sim, reader.a(), (flags & TraceFormat.DESTINATION_IS_HOPPER) != 0);
+                long item = reader.b();
+                ItemStack stack = new ItemStack(material((int) (item >>> 8)), Math.max(1, (int) (item & 0xFF)));
+                sim.fire(new InventoryMoveItemEvent(source.inventory(), stack, destination.inventory(),
+                        (flags & TraceFormat.SOURCE_INITIATED) != 0));
+            }
+            case GROW -> sim.fire(new BlockGrowEvent(block(sim, reader.position()), newState((int) reader.a())));
+            case SPREAD -> sim.fire(new BlockSpreadEvent(block(sim, reader.position()), block(sim, reader.b()),
+                    newState((int) reader.a())));
+            case DECAY -> sim.fire(new LeavesDecayEvent(block(sim, reader.position())));
+            case DAMAGE -> {
+                long ids = reader.a(), packed = reader.b();
+                Entity victim = entity(sim, (int) (ids >>> 32), (int) (packed >>> 48), reader.position());
+                Entity damager = entity(sim, (int) ids, (int) (packed >>> 32) & 0xFFFF, reader.position());
+                EntityDamageEvent.DamageCause cause = reader.aux() < CAUSES.length ? CAUSES[reader.aux()]
+                        : EntityDamageEvent.DamageCause.ENTITY_ATTACK;
+                sim.fire(damageEvent(damager, victim, cause, Float.intBitsToFloat((int) packed)));
+            }
+            case MOVE -> move(sim);
+            case CHAT -> {
+                Player player = player(sim, (int) reader.a(), TraceFormat.NO_POSITION).handle(Player.class);
+                Component message = Component.text("...");
+                sim.fire(new AsyncChatEvent(false, player, Set.of(), ChatRenderer.defaultRenderer(), message, message, null));
+            }
+        }
+    }
+
+    // Every public constructor of this event is deprecated, and the one that is not is
+    // internal and takes the deprecated DamageModifier maps; there is no clean way to
+    // build one outside the server
+    @SuppressWarnings("deprecation")
+    private EntityDamageByEntityEvent damageEvent(Entity damager, Entity victim, EntityDamageEvent.DamageCause cause, double damage) {
+        return new EntityDamageByEntityEvent(damager, victim, cause, damageSource, damage);
+    }
+
+    private void move(Simulator sim) {
+        StandInEntity player = player(sim, (int) reader.a(), reader.b());
+        Location from = player.getLocation();
+        Location to;
+        if ((reader.flags() & TraceFormat.LOOK_ONLY) != 0) {
+            to = from.clone();
+            to.setYaw(from.getYaw() + 15);
+        } else {
+            to = location(sim, reader.position());
+        }
+        player.moveTo(to);
+        if (sim.fire(new PlayerMoveEvent(player.handle(Player.class), from, to)).isCancelled()) player.moveTo(from);
+    }
+
+    // --- Things named by the trace, created on first sight ---
+
+    private StandInWorld world(Simulator sim, int slot) {
+        return worlds.computeIfAbsent(slot, s -> sim.getServer().addWorld("world" + s));
+    }
+
+    private Block block(Simulator sim, long key) {
+        return world(sim, WorldKeys.blockWorldSlot(key)).block(WorldKeys.blockX(key), WorldKeys.blockY(key), WorldKeys.blockZ(key));
+    }
+
+    private Location location(Simulator sim, long key) {
+        if (key == TraceFormat.NO_POSITION) return new Location(sim.getWorld().handle(), 0.5, 64, 0.5);
+        return new Location(world(sim, WorldKeys.blockWorldSlot(key)).handle(),
+                WorldKeys.blockX(key) + 0.5, WorldKeys.blockY(key), WorldKeys.blockZ(key) + 0.5);
+    }
+
+    private StandInContainer container(Simulator sim, long key, boolean hopper) {
+        return containers.computeIfAbsent(key, k -> world(sim, WorldKeys.blockWorldSlot(k)).container(
+                hopper ? Hopper.class : Chest.class, WorldKeys.blockX(k), WorldKeys.blockY(k), WorldKeys.blockZ(k), hopper ? 5 : 27));
+    }
+
+    private StandInEntity player(Simulator sim, int id, long position) {
+        StandInEntity player = entities.get(id);
+        if (player == null) {
+            Location at = location(sim, position);
+            player = sim.join("Player" + id, at.getX(), at.getY(), at.getZ());
+            entities.put(id, player);
+        }
+        return player;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entity entity(Simulator sim, int id, int typeOrdinal, long position) {
+        EntityType type = typeOrdinal < ENTITY_TYPES.length ? ENTITY_TYPES[typeOrdinal] : EntityType.UNKNOWN;
+        if (type == EntityType.PLAYER) return player(sim, id, position).handle();
+        StandInEntity entity = entities.get(id);
+        if (entity == null) {
+            Location at = location(sim, position);
+            StandInWorld world = world(sim, position == TraceFormat.NO_POSITION ? 0 : WorldKeys.blockWorldSlot(position));
+            Class<? extends Entity> kind = type.getEntityClass() != null && type.getEntityClass().isInterface()
+                    ? type.getEntityClass() : Entity.class;
+            entity = Mob.class.isAssignableFrom(kind)
+                    ? world.spawnMob((Class<? extends Mob>) kind, type, at.getX(), at.getY(), at.getZ())
+                    : world.spawn(kind, type, at.getX(), at.getY(), at.getZ());
+            entities.put(id, entity);
+            sim.fire(new EntityAddToWorldEvent(entity.handle(), world.handle()));
+        }
+        return entity.handle();
+    }
+
+    private BlockState newState(int ordinal) {
+        Material material = material(ordinal);
+        BlockState state = newStates[material.ordinal()];
+        if (state == null) {
+            state = new Stub(material + " state").returning("getType", material).as(BlockState.class);
+            newStates[material.ordinal()] = state;
+        }
+        return state;
+    }
+
+    private static Material material(int ordinal) {
+        return ordinal >= 0 && ordinal < MATERIALS.length ? MATERIALS[ordinal] : Material.STONE;
+    }
+}
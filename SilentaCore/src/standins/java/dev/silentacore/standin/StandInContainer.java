@@ -0,0 +1,82 @@
+package dev.silentacore.standin;
+
+import org.bukkit.Location;
+import org.bukkit.block.BlockState;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * A container block (hopper, chest, ...) and its inventory.
+ *
+ * The holder is a stub of the requested block state interface that knows its
+ * position; the inventory serves its slots from {@link #getContents()}, which the
+ * caller may fill directly.
+ */
+public final class StandInContainer {
+
+    private final StandInWorld world;
+    private final int x, y, z;
+    private final ItemStack[] contents;
+    private final BlockState holder;
+    private final Inventory inventory;
+
+    StandInContainer(StandInWorld world, Class<? extends BlockState> kind, int x, int y, int z, int size) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.contents = new ItemStack[size];
+        String name = kind.getSimpleName() + "(" + x + "," + y + "," + z + ")";
+        this.holder = new Stub(name)
+                .on("getWorld", args -> world.handle())
+                .on("getX", args -> x)
+                .on("getY", args -> y)
+                .on("getZ", args -> z)
+                .on("getLocation", args -> location())
+                .on("getBlock", args -> world.block(x, y, z))
+                .on("getInventory", args -> inventory())
+                .on("getSnapshotInventory", args -> inventory())
+                .as(kind);
+        this.inventory = new Stub(name + " inventory")
+                .on("getHolder", args -> holder)
+                .on("getLocation", args -> location())
+                .on("getSize", args -> contents.length)
+                .on("getContents", args -> contents.clone())
+                .on("getStorageContents", args -> contents.clone())
+                .on("getItem", args -> contents[(int) args[0]])
+                .on("setItem", args -> { contents[(int) args[0]] = (ItemStack) args[1]; return null; })
+                .on("firstEmpty", args -> firstEmpty())
+                .on("isEmpty", args -> Arrays.stream(contents).allMatch(s -> s == null || s.getType().isAir()))
+                .on("clear", args -> { Arrays.fill(contents, null); return null; })
+                .as(Inventory.class);
+    }
+
+    public Inventory inventory() {
+        return inventory;
+    }
+
+    public BlockState holder() {
+        return holder;
+    }
+
+    public ItemStack[] getContents() {
+        return contents;
+    }
+
+    public void fill(ItemStack stack) {
+        for (int i = 0; i < contents.length; i++) contents[i] = stack.clone();
+    }
+
+    private int firstEmpty() {
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] == null || contents[i].getType().isAir()) return i;
+        }
+        return -1;
+    }
+
+    private Location location() {
+        return new Location(world.handle(), x, y, z);
+    }
+}
@@ -0,0 +1,127 @@
+package dev.silentacore.standin;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State behind one stand-in entity: position, liveness and, for items, the stack.
+ *
+ * The handle is a {@link Stub} of the requested entity interface; any plain property
+ * the code under test sets (awareness, view distance, ...) is remembered on it.
+ * Moving an entity does not fire events; scenarios fire them where they matter.
+ */
+public final class StandInEntity {
+
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    private final StandInWorld world;
+    private final int id = nextId.getAndIncrement();
+    private final UUID uuid;
+    private final String name;
+    private final EntityType type;
+    private final Entity handle;
+    private double x, y, z;
+    private float yaw, pitch;
+    private ItemStack stack;
+    private boolean valid = true;
+
+    StandInEntity(StandInWorld world, Class<? extends Entity> kind, EntityType type, String name, double x, double y, double z) {
+        this.world = world;
+        this.type = type;
+        this.name = name != null ? name : type.name().toLowerCase() + "#" + id;
+        this.uuid = name != null ? UUID.nameUUIDFromBytes(("player:" + name).getBytes()) : new UUID(0x5CL, id);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.handle = new Stub(this.name).withProperties()
+                .on("getEntityId", args -> id)
+                .on("getUniqueId", args -> uuid)
+                .on("getName", args -> this.name)
+                .on("getType", args -> type)
+                .on("getWorld", args -> world.handle())
+                .on("getX", args -> this.x)
+                .on("getY", args -> this.y)
+                .on("getZ", args -> this.z)
+                .on("getLocation", args -> location(args.length == 1 ? (Location) args[0] : new Location(null, 0, 0, 0)))
+                .on("getChunk", args -> world.handle().getChunkAt((int) Math.floor(this.x) >> 4, (int) Math.floor(this.z) >> 4))
+                .on("isValid", args -> valid)
+                .on("isDead", args -> !valid)
+                .on("isOnline", args -> valid)
+                .on("remove", args -> { remove(); return null; })
+                .on("teleport", args -> { moveTo((Location) args[0]); return true; })
+                .on("getItemStack", args -> stack == null ? null : stack.clone())
+                .on("setItemStack", args -> { stack = ((ItemStack) args[0]).clone(); return null; })
+                .as(kind);
+    }
+
+    public Entity handle() {
+        return handle;
+    }
+
+    public <T extends Entity> T handle(Class<T> kind) {
+        return kind.cast(handle);
+    }
+
+    public int getEntityId() {
+        return id;
+    }
+
+    public StandInWorld getWorld() {
+        return world;
+    }
+
+    public Location getLocation() {
+        return location(new Location(null, 0, 0, 0));
+    }
+
+    public void moveTo(double x, double y, double z) {
+        long from = getChunkKey();
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        if (valid) world.moved(this, from);
+    }
+
+    public void moveTo(Location to) {
+        this.yaw = to.getYaw();
+        this.pitch = to.getPitch();
+        moveTo(to.getX(), to.getY(), to.getZ());
+    }
+
+    long getChunkKey() {
+        return StandInWorld.chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+    }
+
+    public ItemStack getStack() {
+        return stack;
+    }
+
+    public void setStack(ItemStack stack) {
+        this.stack = stack;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void remove() {
+        if (!valid) return;
+        valid = false;
+        world.removed(this);
+    }
+
+    private Location location(Location into) {
+        into.setWorld(world.handle());
+        into.setX(x);
+        into.setY(y);
+        into.setZ(z);
+        into.setYaw(yaw);
+        into.setPitch(pitch);
+        return into;
+    }
+}
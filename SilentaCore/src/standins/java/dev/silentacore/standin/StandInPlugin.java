@@ -0,0 +1,106 @@
+package dev.silentacore.standin;
+
+import dev.silentacore.SilentaCore;
+import dev.silentacore.config.ConfigManager;
+import dev.silentacore.config.ConfigSnapshot;
+import dev.silentacore.monitor.PerformanceMonitor;
+import dev.silentacore.optimization.OptimizationManager;
+import dev.silentacore.optimization.Optimizer;
+import dev.silentacore.protection.ProtectionManager;
+import dev.silentacore.trace.TraceRecorder;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * A SilentaCore instance wired against the {@link StandInServer}, without a plugin loader.
+ *
+ * The plugin object is allocated without running its constructor (JavaPlugin insists
+ * on being created by a plugin class loader) and its managers are built the way
+ * {@link SilentaCore#onEnable()} builds them, on top of the bundled config.yml plus any
+ * overrides. Commands, the GUI and the backend client are left out.
+ */
+public final class StandInPlugin {
+
+    private StandInPlugin() {}
+
+    public static SilentaCore create(StandInServer server, Map<String, Object> overrides) {
+        YamlConfiguration config = defaultConfig();
+        overrides.forEach(config::set);
+
+        SilentaCore plugin = allocate(SilentaCore.class);
+        setField(JavaPlugin.class, plugin, "server", server.getServer());
+        setField(JavaPlugin.class, plugin, "logger", server.getLogger());
+        setField(JavaPlugin.class, plugin, "newConfig", config);
+        setField(JavaPlugin.class, plugin, "isEnabled", true);
+
+        ConfigManager configManager = allocate(ConfigManager.class);
+        setField(ConfigManager.class, configManager, "plugin", plugin);
+        setField(ConfigManager.class, configManager, "config", config);
+        setField(ConfigManager.class, configManager, "snapshot", ConfigSnapshot.compile(config));
+        setField(SilentaCore.class, plugin, "configManager", configManager);
+
+        setField(SilentaCore.class, plugin, "performanceMonitor", new PerformanceMonitor(plugin));
+        setField(SilentaCore.class, plugin, "protectionManager", new ProtectionManager(plugin));
+        setField(SilentaCore.class, plugin, "optimizationManager", new OptimizationManager(plugin));
+        setField(SilentaCore.class, plugin, "traceRecorder", new TraceRecorder(plugin));
+        return plugin;
+    }
+
+    public static SilentaCore create(StandInServer server) {
+        return create(server, Map.of());
+    }
+
+    /**
+     * Enables one module directly, outside the tick scheduler and without touching config.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Optimizer> T enable(SilentaCore plugin, String key) {
+        Optimizer optimizer = plugin.getOptimizationManager().getOptimizer(key);
+        if (optimizer == null) throw new IllegalArgumentException("Unknown module " + key);
+        optimizer.enable();
+        return (T) optimizer;
+    }
+
+    public static YamlConfiguration defaultConfig() {
+        InputStream in = SilentaCore.class.getClassLoader().getResourceAsStream("config.yml");
+        if (in == null) throw new IllegalStateException("config.yml is not on the classpath");
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Reflection ---
+
+    public static <T> T allocate(Class<T> type) {
+        try {
+            // sun.misc.Unsafe, looked up reflectively so the build carries no internal-API warning
+            Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeType.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Method allocate = unsafeType.getMethod("allocateInstance", Class.class);
+            return type.cast(allocate.invoke(field.get(null), type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot allocate " + type.getName(), e);
+        }
+    }
+
+    public static void setField(Class<?> owner, Object target, String name, Object value) {
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
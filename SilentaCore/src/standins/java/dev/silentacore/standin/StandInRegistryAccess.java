@@ -0,0 +1,51 @@
+package dev.silentacore.standin;
+
+import io.papermc.paper.registry.RegistryAccess;
+import io.papermc.paper.registry.RegistryKey;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.block.BlockType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registries for running outside a server, found by {@code RegistryAccess} through
+ * {@link java.util.ServiceLoader}.
+ *
+ * Only block types are served, enough for {@code Material.isAir()} and friends: each is
+ * a stub that knows whether it is one of the air blocks. Every other registry is empty.
+ */
+public final class StandInRegistryAccess implements RegistryAccess {
+
+    private static final Set<String> AIR = Set.of("air", "cave_air", "void_air");
+
+    private final Map<NamespacedKey, BlockType> blockTypes = new ConcurrentHashMap<>();
+    private final Registry<?> blocks = new Stub("block registry")
+            .on("get", args -> args[0] instanceof NamespacedKey key ? blockType(key) : null)
+            .as(Registry.class);
+    private final Registry<?> empty = new Stub("empty registry").as(Registry.class);
+
+    // Deprecated for removal but still abstract in RegistryAccess, so it has to be
+    // implemented until the API drops it
+    @Override
+    @SuppressWarnings({"unchecked", "removal"})
+    public <T extends Keyed> Registry<T> getRegistry(Class<T> type) {
+        return (Registry<T>) (type == BlockType.class ? blocks : empty);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Keyed> Registry<T> getRegistry(RegistryKey<T> key) {
+        return (Registry<T>) (key == RegistryKey.BLOCK ? blocks : empty);
+    }
+
+    private BlockType blockType(NamespacedKey key) {
+        return blockTypes.computeIfAbsent(key, k -> new Stub(k.toString())
+                .returning("getKey", k)
+                .returning("isAir", AIR.contains(k.getKey()))
+                .as(BlockType.class));
+    }
+}
@@ -0,0 +1,322 @@
+package dev.silentacore.standin;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * A Bukkit server without Minecraft behind it: a tick counter the caller moves,
+ * a synchronous scheduler driven by that counter, real {@link HandlerList} event
+ * dispatch, and worlds and players made of {@link Stub}s.
+ *
+ * Installed once per JVM as {@code Bukkit.getServer()}; {@link #reset} clears the
+ * state between benchmarks or scenarios. Single-threaded: asynchronous tasks run
+ * on the tick loop like synchronous ones.
+ */
+public final class StandInServer {
+
+    private static StandInServer installed;
+
+    private final Logger logger = Logger.getLogger("StandIn");
+    private final Server server;
+    private final Map<UUID, StandInWorld> worlds = new LinkedHashMap<>();
+    private final List<World> worldHandles = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> added = new ArrayList<>();
+    private int tick = 0;
+    private int nextTaskId = 1;
+
+    private StandInServer() {
+        ItemFactory itemFactory = new Stub("ItemFactory")
+                // Plain stacks carry no meta; similarity then comes down to the material
+                .on("equals", args -> Objects.equals(args[0], args[1]))
+                .as(ItemFactory.class);
+        PluginManager pluginManager = new Stub("PluginManager")
+                .on("registerEvents", args -> { registerEvents((Listener) args[0], (Plugin) args[1]); return null; })
+                .on("registerEvent", args -> { registerEvent(args); return null; })
+                .on("callEvent", args -> { callEvent((Event) args[0]); return null; })
+                .as(PluginManager.class);
+        BukkitScheduler scheduler = new Stub("Scheduler")
+                .on("runTask", args -> schedule(args, 0, -1))
+                .on("runTaskAsynchronously", args -> schedule(args, 0, -1))
+                .on("runTaskLater", args -> schedule(args, (long) args[2], -1))
+                .on("runTaskLaterAsynchronously", args -> schedule(args, (long) args[2], -1))
+                .on("runTaskTimer", args -> schedule(args, (long) args[2], (long) args[3]))
+                .on("runTaskTimerAsynchronously", args -> schedule(args, (long) args[2], (long) args[3]))
+                .on("cancelTask", args -> { cancel((int) args[0]); return null; })
+                .on("cancelTasks", args -> { tasks.forEach(Task::cancel); return null; })
+                .as(BukkitScheduler.class);
+
+        this.server = new Stub("StandInServer")
+                .on("getCurrentTick", args -> tick)
+                .on("getLogger", args -> logger)
+                .on("getName", args -> "StandIn")
+                .on("getVersion", args -> "StandIn")
+                .on("getBukkitVersion", args -> "1.21-R0.1-SNAPSHOT")
+                .on("isPrimaryThread", args -> true)
+                .on("getPluginManager", args -> pluginManager)
+                .on("getScheduler", args -> scheduler)
+                .on("getItemFactory", args -> itemFactory)
+                .on("getWorlds", args -> Collections.unmodifiableList(worldHandles))
+                .on("getWorld", args -> args[0] instanceof UUID id ? handle(worlds.get(id)) : world((String) args[0]))
+                .on("getOnlinePlayers", args -> Collections.unmodifiableList(players))
+                .on("getPlayer", args -> player(args[0]))
+                .on("getMaxPlayers", args -> 100)
+                .on("getViewDistance", args -> 10)
+                .on("getSimulationDistance", args -> 10)
+                .on("getTPS", args -> new double[] {20, 20, 20})
+                .as(Server.class);
+    }
+
+    /**
+     * Installs the stand-in as the Bukkit server, or returns the one already installed.
+     */
+    public static synchronized StandInServer install() {
+        if (installed != null) return installed;
+        installed = new StandInServer();
+        try {
+            // Bukkit.setServer() wants build info from a real server jar
+            Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, installed.server);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot install the stand-in server", e);
+        }
+        return installed;
+    }
+
+    /**
+     * Drops every world, player, task and event listener, and rewinds the clock.
+     */
+    public void reset() {
+        worlds.clear();
+        worldHandles.clear();
+        players.clear();
+        tasks.clear();
+        added.clear();
+        HandlerList.unregisterAll();
+        tick = 0;
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    // --- Clock ---
+
+    public int getCurrentTick() {
+        return tick;
+    }
+
+    public void setCurrentTick(int tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Moves the clock forward one tick and runs every task due on it.
+     */
+    public void tick() {
+        tick++;
+        tasks.addAll(added);
+        added.clear();
+        for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+            Task task = it.next();
+            if (task.cancelled) {
+                it.remove();
+                continue;
+            }
+            if (task.nextRun > tick) continue;
+            task.run();
+            if (task.period < 0 || task.cancelled) {
+                it.remove();
+            } else {
+                task.nextRun = tick + Math.max(1, task.period);
+            }
+        }
+    }
+
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) tick();
+    }
+
+    public int getPendingTaskCount() {
+        return tasks.size() + added.size();
+    }
+
+    // --- Worlds and players ---
+
+    public StandInWorld addWorld(String name) {
+        StandInWorld world = new StandInWorld(this, name);
+        worlds.put(world.getUID(), world);
+        worldHandles.add(world.handle());
+        return world;
+    }
+
+    public World world(String name) {
+        for (StandInWorld world : worlds.values()) {
+            if (world.getName().equals(name)) return world.handle();
+        }
+        return null;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    void join(Player player) {
+        players.add(player);
+    }
+
+    void quit(Player player) {
+        players.remove(player);
+    }
+
+    private Player player(Object idOrName) {
+        for (Player player : players) {
+            if (idOrName.equals(player.getUniqueId()) || idOrName.equals(player.getName())) return player;
+        }
+        return null;
+    }
+
+    private static World handle(StandInWorld world) {
+        return world == null ? null : world.handle();
+    }
+
+    // --- Events ---
+
+    public void callEvent(Event event) {
+        for (RegisteredListener listener : event.getHandlers().getRegisteredListeners()) {
+            try {
+                listener.callEvent(event);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Listener failed on " + event.getEventName(), e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerEvent(Object[] args) {
+        // registerEvent(Class, Listener, EventPriority, EventExecutor, Plugin[, ignoreCancelled])
+        boolean ignoreCancelled = args.length > 5 && (boolean) args[5];
+        handlers((Class<? extends Event>) args[0]).register(new RegisteredListener((Listener) args[1],
+                (EventExecutor) args[3], (org.bukkit.event.EventPriority) args[2], (Plugin) args[4], ignoreCancelled));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerEvents(Listener listener, Plugin plugin) {
+        for (Class<?> type = listener.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                EventHandler handler = method.getAnnotation(EventHandler.class);
+                if (handler == null || method.getParameterCount() != 1) continue;
+                Class<?> eventType = method.getParameterTypes()[0];
+                if (!Event.class.isAssignableFrom(eventType)) continue;
+                method.setAccessible(true);
+                EventExecutor executor = (l, e) -> {
+                    if (!eventType.isInstance(e)) return;
+                    try {
+                        method.invoke(l, e);
+                    } catch (ReflectiveOperationException ex) {
+                        throw new org.bukkit.event.EventException(ex.getCause() != null ? ex.getCause() : ex);
+                    }
+                };
+                handlers((Class<? extends Event>) eventType).register(
+                        new RegisteredListener(listener, executor, handler.priority(), plugin, handler.ignoreCancelled()));
+            }
+        }
+    }
+
+    private static HandlerList handlers(Class<? extends Event> type) {
+        for (Class<?> c = type; c != null && Event.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod("getHandlerList");
+                method.setAccessible(true);
+                return (HandlerList) method.invoke(null);
+            } catch (NoSuchMethodException e) {
+                // Declared further up
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No handler list for " + type.getName());
+    }
+
+    // --- Scheduler ---
+
+    @SuppressWarnings("unchecked")
+    private BukkitTask schedule(Object[] args, long delay, long period) {
+        Task task = new Task(nextTaskId++, (Plugin) args[0], tick + Math.max(1, delay), period);
+        if (args[1] instanceof Runnable runnable) {
+            task.body = runnable;
+        } else {
+            Consumer<? super BukkitTask> consumer = (Consumer<? super BukkitTask>) args[1];
+            task.body = () -> consumer.accept(task.handle);
+        }
+        added.add(task);
+        return task.handle;
+    }
+
+    private void cancel(int id) {
+        for (Task task : tasks) if (task.id == id) task.cancel();
+        for (Task task : added) if (task.id == id) task.cancel();
+    }
+
+    private static final class Task {
+        final int id;
+        final long period;
+        final BukkitTask handle;
+        Runnable body;
+        long nextRun;
+        boolean cancelled;
+
+        Task(int id, Plugin owner, long nextRun, long period) {
+            this.id = id;
+            this.nextRun = nextRun;
+            this.period = period;
+            this.handle = new Stub("Task#" + id)
+                    .on("getTaskId", args -> id)
+                    .on("getOwner", args -> owner)
+                    .on("isSync", args -> true)
+                    .on("isCancelled", args -> cancelled)
+                    .on("cancel", args -> { cancel(); return null; })
+                    .as(BukkitTask.class);
+        }
+
+        void run() {
+            body.run();
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
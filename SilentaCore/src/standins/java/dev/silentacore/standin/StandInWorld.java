@@ -0,0 +1,226 @@
+package dev.silentacore.standin;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.AnaloguePowerable;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A flat stand-in world: every chunk is loaded, blocks are air unless set, and
+ * entities are whatever was spawned through this class.
+ *
+ * Blocks carry a type but no block data, so code that reads or writes block data
+ * (redstone replay, for one) sees every block as unsupported.
+ */
+public final class StandInWorld {
+
+    private final StandInServer server;
+    private final String name;
+    private final UUID uid;
+    private final World handle;
+    private final Map<Integer, StandInEntity> entities = new LinkedHashMap<>();
+    private final Map<Long, Material> types = new HashMap<>();
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+    private final Map<Long, List<StandInEntity>> byChunk = new HashMap<>();
+
+    StandInWorld(StandInServer server, String name) {
+        this.server = server;
+        this.name = name;
+        this.uid = UUID.nameUUIDFromBytes(("world:" + name).getBytes());
+        this.handle = new Stub(name)
+                .on("getName", args -> name)
+                .on("getUID", args -> uid)
+                .on("getMinHeight", args -> -64)
+                .on("getMaxHeight", args -> 320)
+                .on("isChunkLoaded", args -> true)
+                .on("getEntities", args -> entities(Entity.class))
+                .on("getLivingEntities", args -> entities(LivingEntity.class))
+                .on("getPlayers", args -> entities(Player.class))
+                .on("getEntityCount", args -> entities.size())
+                .on("getEntitiesByClass", args -> args[0] instanceof Class<?> kind ? entities(kind) : entities(Entity.class))
+                .on("getBlockAt", args -> args[0] instanceof Location at
+                        ? block(at.getBlockX(), at.getBlockY(), at.getBlockZ())
+                        : block((int) args[0], (int) args[1], (int) args[2]))
+                .on("getChunkAt", args -> args[0] instanceof Location at
+                        ? chunk(at.getBlockX() >> 4, at.getBlockZ() >> 4)
+                        : chunk((int) args[0], (int) args[1]))
+                .on("getLoadedChunks", args -> loadedChunks())
+                .as(World.class);
+    }
+
+    public World handle() {
+        return handle;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getUID() {
+        return uid;
+    }
+
+    public StandInServer getServer() {
+        return server;
+    }
+
+    // --- Blocks and chunks ---
+
+    public void setType(int x, int y, int z, Material type) {
+        types.put(pos(x, y, z), type);
+    }
+
+    public Block block(int x, int y, int z) {
+        return new Stub("block(" + x + "," + y + "," + z + ")")
+                .on("getWorld", args -> handle)
+                .on("getX", args -> x)
+                .on("getY", args -> y)
+                .on("getZ", args -> z)
+                .on("getType", args -> types.getOrDefault(pos(x, y, z), Material.AIR))
+                .on("setType", args -> { setType(x, y, z, (Material) args[0]); return null; })
+                .on("getBlockData", args -> new Stub("dust(" + x + "," + y + "," + z + ")")
+                        .withProperties()
+                        .returning("getMaximumPower", 15)
+                        .as(AnaloguePowerable.class))
+                .on("getLocation", args -> new Location(handle, x, y, z))
+                .on("getChunk", args -> chunk(x >> 4, z >> 4))
+                .as(Block.class);
+    }
+
+    public Chunk chunk(int cx, int cz) {
+        return chunks.computeIfAbsent(chunkKey(cx, cz), k -> new Stub("chunk(" + cx + "," + cz + ")")
+                .on("getWorld", args -> handle)
+                .on("getX", args -> cx)
+                .on("getZ", args -> cz)
+                .on("isLoaded", args -> true)
+                .on("getEntities", args -> entitiesIn(cx, cz))
+                .as(Chunk.class));
+    }
+
+    /**
+     * A container block with {@code size} empty slots, e.g. {@code container(Hopper.class, x, y, z, 5)}.
+     */
+    public StandInContainer container(Class<? extends BlockState> kind, int x, int y, int z, int size) {
+        return new StandInContainer(this, kind, x, y, z, size);
+    }
+
+    // --- Entities ---
+
+    public StandInEntity spawn(Class<? extends Entity> kind, EntityType type, double x, double y, double z) {
+        return add(new StandInEntity(this, kind, type, null, x, y, z));
+    }
+
+    /**
+     * Spawns a mob with its AI running, as a freshly loaded mob would be.
+     */
+    public StandInEntity spawnMob(Class<? extends Mob> kind, EntityType type, double x, double y, double z) {
+        StandInEntity mob = spawn(kind, type, x, y, z);
+        mob.handle(Mob.class).setAware(true);
+        return mob;
+    }
+
+    public StandInEntity dropItem(double x, double y, double z, ItemStack stack) {
+        StandInEntity item = spawn(Item.class, EntityType.ITEM, x, y, z);
+        item.setStack(stack.clone());
+        return item;
+    }
+
+    /**
+     * Adds a player to this world and to the server's online players.
+     */
+    public StandInEntity join(String playerName, double x, double y, double z) {
+        StandInEntity player = add(new StandInEntity(this, Player.class, EntityType.PLAYER, playerName, x, y, z));
+        server.join(player.handle(Player.class));
+        return player;
+    }
+
+    public int getEntityCount() {
+        return entities.size();
+    }
+
+    public List<StandInEntity> getEntities() {
+        return new ArrayList<>(entities.values());
+    }
+
+    public void clearEntities() {
+        for (StandInEntity entity : getEntities()) entity.remove();
+    }
+
+    /**
+     * Chunks that are loaded in the sense that matters here: every chunk that was
+     * asked for or holds an entity.
+     */
+    public Chunk[] loadedChunks() {
+        for (List<StandInEntity> list : byChunk.values()) {
+            Location at = list.get(0).getLocation();
+            chunk(at.getBlockX() >> 4, at.getBlockZ() >> 4);
+        }
+        return chunks.values().toArray(new Chunk[0]);
+    }
+
+    private StandInEntity add(StandInEntity entity) {
+        entities.put(entity.getEntityId(), entity);
+        byChunk.computeIfAbsent(entity.getChunkKey(), k -> new ArrayList<>()).add(entity);
+        return entity;
+    }
+
+    void moved(StandInEntity entity, long fromChunk) {
+        if (fromChunk == entity.getChunkKey()) return;
+        unfile(entity, fromChunk);
+        byChunk.computeIfAbsent(entity.getChunkKey(), k -> new ArrayList<>()).add(entity);
+    }
+
+    void removed(StandInEntity entity) {
+        entities.remove(entity.getEntityId());
+        unfile(entity, entity.getChunkKey());
+        if (entity.handle() instanceof Player player) server.quit(player);
+    }
+
+    private <T> List<T> entities(Class<T> kind) {
+        List<T> result = new ArrayList<>();
+        for (StandInEntity entity : entities.values()) {
+            if (kind.isInstance(entity.handle())) result.add(kind.cast(entity.handle()));
+        }
+        return result;
+    }
+
+    private void unfile(StandInEntity entity, long chunkKey) {
+        List<StandInEntity> list = byChunk.get(chunkKey);
+        if (list == null) return;
+        list.remove(entity);
+        if (list.isEmpty()) byChunk.remove(chunkKey);
+    }
+
+    private Entity[] entitiesIn(int cx, int cz) {
+        List<StandInEntity> list = byChunk.get(chunkKey(cx, cz));
+        if (list == null) return new Entity[0];
+        Entity[] result = new Entity[list.size()];
+        for (int i = 0; i < result.length; i++) result[i] = list.get(i).handle();
+        return result;
+    }
+
+    static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static long pos(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
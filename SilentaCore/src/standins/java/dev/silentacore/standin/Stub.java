@@ -0,0 +1,112 @@
+package dev.silentacore.standin;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Proxy-backed stand-in for a Bukkit interface.
+ *
+ * Methods are answered by name (overloads share an answer and can tell themselves
+ * apart by their arguments). Unanswered default methods run their real body, so
+ * answering the accessor they build on is usually enough; everything else returns
+ * zero, false, an empty collection or null. With {@link #withProperties()} plain
+ * setters are remembered and answer the matching getter afterwards.
+ */
+public final class Stub implements InvocationHandler {
+
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String name;
+    private final Map<String, Answer> answers = new HashMap<>();
+    private Map<String, Object> properties;
+
+    public Stub(String name) {
+        this.name = name;
+    }
+
+    public Stub on(String method, Answer answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    public Stub returning(String method, Object value) {
+        return on(method, args -> value);
+    }
+
+    public Stub withProperties() {
+        if (properties == null) properties = new HashMap<>();
+        return this;
+    }
+
+    public <T> T as(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Answer answer = answers.get(method.getName());
+        if (answer != null) return answer.answer(args == null ? NO_ARGS : args);
+
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> name;
+            };
+        }
+        if (properties != null) {
+            String property = property(method.getName());
+            if (property != null && method.getName().startsWith("set") && args != null && args.length == 1) {
+                properties.put(property, args[0]);
+                return null;
+            }
+            if (property != null && properties.containsKey(property) && (args == null || args.length == 0)) {
+                return properties.get(property);
+            }
+        }
+        if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+        return defaultValue(method.getReturnType());
+    }
+
+    // setAware / isAware / getAware -> "Aware"
+    private static String property(String method) {
+        if (method.length() > 3 && (method.startsWith("set") || method.startsWith("get"))) return method.substring(3);
+        if (method.length() > 2 && method.startsWith("is")) return method.substring(2);
+        return null;
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Optional.class) return Optional.empty();
+        if (type.isArray()) return Array.newInstance(type.getComponentType(), 0);
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
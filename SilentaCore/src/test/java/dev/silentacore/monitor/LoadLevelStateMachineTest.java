@@ -0,0 +1,85 @@
+package dev.silentacore.monitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoadLevelStateMachineTest {
+
+    private static final long DWELL = 100;
+
+    private LoadLevelStateMachine machine;
+
+    @BeforeEach
+    void setUp() {
+        machine = new LoadLevelStateMachine();
+        machine.configure(19.0, 17.0, 15.0, 0.5, DWELL);
+    }
+
+    @Test
+    void escalatesAsSoonAsAThresholdIsCrossed() {
+        assertEquals(LoadLevel.VANILLA, machine.update(19.5, 0));
+        assertEquals(LoadLevel.LEVEL1, machine.update(18.9, 1));
+        assertEquals(LoadLevel.LEVEL3, machine.update(14.0, 2));
+        assertEquals(2, machine.getLastChangeTick());
+    }
+
+    @Test
+    void deEscalationWaitsForTheDwellTime() {
+        machine.update(18.0, 0);
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, DWELL - 1));
+        assertEquals(LoadLevel.VANILLA, machine.update(20.0, DWELL));
+    }
+
+    @Test
+    void deEscalationNeedsToClearTheHysteresisBand() {
+        machine.update(18.0, 0);
+        // Above the threshold but inside the band
+        assertEquals(LoadLevel.LEVEL1, machine.update(19.3, 500));
+        assertEquals(LoadLevel.VANILLA, machine.update(19.6, 501));
+    }
+
+    @Test
+    void hoveringAroundAThresholdDoesNotFlap() {
+        machine.update(16.9, 0);
+        for (long tick = 1; tick < 1_000; tick++) {
+            assertEquals(LoadLevel.LEVEL2, machine.update(tick % 2 == 0 ? 16.9 : 17.2, tick));
+        }
+    }
+
+    @Test
+    void stepsDownToTheLevelTheSignalAllows() {
+        machine.update(14.0, 0);
+        assertEquals(LoadLevel.LEVEL1, machine.update(18.0, DWELL));
+    }
+
+    @Test
+    void holdKeepsTheFloorRegardlessOfTheSignal() {
+        machine.hold(LoadLevel.LEVEL1, 50);
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 10));
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 49));
+        // Once the hold runs out the dwell counts from the last held tick (49)
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 50));
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 49 + DWELL - 1));
+        assertEquals(LoadLevel.VANILLA, machine.update(20.0, 49 + DWELL));
+    }
+
+    @Test
+    void holdDoesNotCapEscalation() {
+        machine.hold(LoadLevel.LEVEL1, 1_000);
+        assertEquals(LoadLevel.LEVEL3, machine.update(14.0, 10));
+        // Steps down to the hold floor, not below it
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 10 + DWELL));
+        assertEquals(LoadLevel.LEVEL1, machine.update(20.0, 999));
+    }
+
+    @Test
+    void resetForgetsLevelAndHold() {
+        machine.hold(LoadLevel.LEVEL2, 1_000);
+        machine.update(20.0, 0);
+        machine.reset();
+        assertEquals(LoadLevel.VANILLA, machine.getLevel());
+        assertEquals(LoadLevel.VANILLA, machine.update(20.0, 1));
+    }
+}
@@ -0,0 +1,73 @@
+package dev.silentacore.monitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PressureControllerTest {
+
+    private PressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        // The defaults from config.yml
+        controller = new PressureController();
+        controller.configure(true, 45.0, 0.3, 0.15, 10);
+    }
+
+    private void feed(double mspt, int ticks) {
+        for (int i = 0; i < ticks; i++) controller.update(mspt);
+    }
+
+    @Test
+    void idleAfterALoadReleasesTheIntegral() {
+        feed(55.0, 400);
+        assertTrue(controller.getPressure() > 0.9);
+        assertTrue(controller.getIntegral() > 0.3);
+        assertTrue(controller.isHolding());
+
+        feed(20.0, 72_000);
+        assertEquals(0.0, controller.getIntegral(), 1e-9);
+        assertEquals(0.0, controller.getPressure(), 1e-9);
+        assertFalse(controller.isHolding());
+    }
+
+    @Test
+    void integralDrainsWithinSecondsOfTheLoadEnding() {
+        feed(55.0, 400);
+        feed(20.0, 200);
+        assertEquals(0.0, controller.getIntegral(), 1e-9);
+        assertFalse(controller.isHolding());
+    }
+
+    @Test
+    void doesNotWindUpWhileSaturated() {
+        feed(200.0, 2_000);
+        assertEquals(1.0, controller.getPressure(), 1e-9);
+        // Back at the target the pressure comes off the rail instead of staying pinned
+        feed(45.0, 200);
+        assertTrue(controller.getPressure() < 1.0);
+    }
+
+    @Test
+    void sustainedLoadAtTheTargetKeepsItsPressure() {
+        feed(48.0, 400);
+        double integral = controller.getIntegral();
+        assertTrue(integral > 0.0);
+
+        // Sitting exactly at the target: no error, so the integral holds what the load needs
+        feed(45.0, 400);
+        assertEquals(integral, controller.getIntegral(), 0.05);
+        assertTrue(controller.isHolding());
+    }
+
+    @Test
+    void belowTargetWithNoHistoryAppliesNoPressure() {
+        feed(20.0, 100);
+        assertEquals(0.0, controller.getPressure(), 1e-9);
+        assertFalse(controller.isHolding());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.silentacore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    static long[] keysHomedAt(int home, int capacity, int count) {
+        long[] keys = new long[count];
+        int n = 0;
+        for (long key = 1; n < count; key++) {
+            if (((int) LongIntHashMap.mix(key) & (capacity - 1)) == home) keys[n++] = key;
+        }
+        return keys;
+    }
+
+    @Test
+    void removalShiftsTheProbeChainBack() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        long[] keys = keysHomedAt(7, map.capacity(), 4);
+        for (int i = 0; i < keys.length; i++) map.put(keys[i], i + 1);
+
+        assertEquals(1, map.remove(keys[0], -1));
+        assertEquals(3, map.remove(keys[2], -1));
+        assertFalse(map.containsKey(keys[0]));
+        assertEquals(2, map.get(keys[1], -1));
+        assertEquals(4, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removalShiftsChainsThatWrapAround() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        long[] tail = keysHomedAt(map.capacity() - 1, map.capacity(), 3);
+        long[] head = keysHomedAt(0, map.capacity(), 2);
+        for (long key : tail) map.put(key, 1);
+        for (long key : head) map.put(key, 2);
+
+        map.remove(tail[0], -1);
+        for (int i = 1; i < tail.length; i++) assertEquals(1, map.get(tail[i], -1));
+        for (long key : head) assertEquals(2, map.get(key, -1));
+    }
+
+    @Test
+    void zeroKeyLivesOutsideTheTable() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(-1, map.get(0, -1));
+        assertEquals(2, map.addTo(0, 2));
+        map.put(9, 9);
+        assertTrue(map.containsKey(0));
+        assertEquals(2, map.size());
+
+        boolean zeroSeen = false;
+        for (int i = 0; i <= map.capacity(); i++) {
+            if (map.isUsed(i) && map.keyAt(i) == 0) {
+                zeroSeen = true;
+                assertEquals(2, map.valueAt(i));
+            }
+        }
+        assertTrue(zeroSeen);
+
+        assertEquals(2, map.remove(0, -1));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void matchesHashMapThroughGrowthAndRemoval() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(4_096) - 2_048;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, -1).intValue(), map.remove(key, -1));
+                reference.remove(key);
+            } else {
+                map.addTo(key, 1);
+                reference.merge(key, 1, Integer::sum);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey(), -1));
+        }
+    }
+}
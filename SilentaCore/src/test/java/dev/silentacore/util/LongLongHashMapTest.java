@@ -0,0 +1,120 @@
+package dev.silentacore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongHashMapTest {
+
+    // Distinct non-zero keys that all hash to slot "home" in a table of "capacity" slots
+    static long[] keysHomedAt(int home, int capacity, int count) {
+        long[] keys = new long[count];
+        int n = 0;
+        for (long key = 1; n < count; key++) {
+            if (((int) LongLongHashMap.mix(key) & (capacity - 1)) == home) keys[n++] = key;
+        }
+        return keys;
+    }
+
+    @Test
+    void removalShiftsTheProbeChainBack() {
+        LongLongHashMap map = new LongLongHashMap(16);
+        long[] keys = keysHomedAt(3, map.capacity(), 4);
+        for (long key : keys) map.put(key, key * 10);
+
+        // Removing the head and then a middle entry must leave the rest reachable
+        assertEquals(keys[0] * 10, map.remove(keys[0], -1));
+        assertEquals(keys[2] * 10, map.remove(keys[2], -1));
+        assertFalse(map.containsKey(keys[0]));
+        assertFalse(map.containsKey(keys[2]));
+        assertEquals(keys[1] * 10, map.get(keys[1], -1));
+        assertEquals(keys[3] * 10, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removalShiftsChainsThatWrapAround() {
+        LongLongHashMap map = new LongLongHashMap(16);
+        int last = map.capacity() - 1;
+        long[] tail = keysHomedAt(last, map.capacity(), 3);
+        long[] head = keysHomedAt(0, map.capacity(), 2);
+        for (long key : tail) map.put(key, 1);
+        for (long key : head) map.put(key, 2);
+
+        map.remove(tail[0], -1);
+        for (int i = 1; i < tail.length; i++) assertEquals(1, map.get(tail[i], -1));
+        for (long key : head) assertEquals(2, map.get(key, -1));
+        map.remove(head[0], -1);
+        assertEquals(2, map.get(head[1], -1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void zeroKeyLivesOutsideTheTable() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0, -1));
+
+        map.put(0, 42);
+        map.put(5, 7);
+        assertTrue(map.containsKey(0));
+        assertEquals(42, map.get(0, -1));
+        assertEquals(2, map.size());
+        assertEquals(45, map.addTo(0, 3));
+
+        // Iteration covers slot capacity(), which stands for the zero key
+        int seen = 0;
+        for (int i = 0; i <= map.capacity(); i++) {
+            if (!map.isUsed(i)) continue;
+            seen++;
+            if (map.keyAt(i) == 0) assertEquals(45, map.valueAt(i));
+        }
+        assertEquals(2, seen);
+
+        assertEquals(45, map.remove(0, -1));
+        assertEquals(-1, map.remove(0, -1));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeValuesBelowKeepsChainsIntact() {
+        LongLongHashMap map = new LongLongHashMap(16);
+        long[] keys = keysHomedAt(5, map.capacity(), 5);
+        for (int i = 0; i < keys.length; i++) map.put(keys[i], i % 2 == 0 ? 1 : 100);
+        map.put(0, 1);
+
+        assertEquals(4, map.removeValuesBelow(50));
+        assertFalse(map.containsKey(0));
+        assertEquals(100, map.get(keys[1], -1));
+        assertEquals(100, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapThroughGrowthAndRemoval() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(4_096) - 2_048;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, -1L).longValue(), map.remove(key, -1));
+                reference.remove(key);
+            } else {
+                map.addTo(key, 1);
+                reference.merge(key, 1L, Long::sum);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue().longValue(), map.get(entry.getKey(), -1));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dev.silentacore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    // Advances one tick at a time and records the tick each key fired on
+    private static Map<Long, Long> run(TimingWheel wheel, long until) {
+        Map<Long, Long> fired = new HashMap<>();
+        for (long tick = wheel.getCurrentTick() + 1; tick <= until; tick++) {
+            long now = tick;
+            wheel.advance(now, key -> assertEquals(null, fired.put(key, now), "key " + key + " fired twice"));
+        }
+        return fired;
+    }
+
+    @Test
+    void firesOnTheExpiryTickAtEveryLevel() {
+        TimingWheel wheel = new TimingWheel(0);
+        long[] expiries = {1, 255, 256, 257, 1_000, 16_383, 16_384, 20_000, 1_048_575, 1_048_576, 5_000_000};
+        for (long expiry : expiries) wheel.schedule(expiry, expiry);
+
+        Map<Long, Long> fired = run(wheel, 5_000_000);
+        for (long expiry : expiries) assertEquals(expiry, fired.get(expiry), "key " + expiry);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesKeysScheduledMidSlot() {
+        // Not aligned to any slot boundary, so every key is cascaded down at least once
+        TimingWheel wheel = new TimingWheel(12_345);
+        long[] delays = {300, 5_000, 70_000, 2_000_000};
+        for (long delay : delays) wheel.schedule(delay, 12_345 + delay);
+
+        Map<Long, Long> fired = run(wheel, 12_345 + 2_000_000);
+        for (long delay : delays) assertEquals(12_345 + delay, fired.get(delay), "delay " + delay);
+    }
+
+    @Test
+    void wrapsAroundSlotIndices() {
+        // Expiries on both sides of the level 0 and level 1 wrap points
+        long start = (1L << 14) - 10;
+        TimingWheel wheel = new TimingWheel(start);
+        for (long delay = 1; delay <= 600; delay++) wheel.schedule(delay, start + delay);
+
+        Map<Long, Long> fired = run(wheel, start + 600);
+        assertEquals(600, fired.size());
+        for (long delay = 1; delay <= 600; delay++) assertEquals(start + delay, fired.get(delay));
+    }
+
+    @Test
+    void parksExpiriesBeyondTheTopLevel() {
+        TimingWheel wheel = new TimingWheel(0);
+        long far = (1L << 26) + 1_000;
+        wheel.schedule(1, far);
+
+        Map<Long, Long> fired = run(wheel, far);
+        assertEquals(far, fired.get(1L));
+    }
+
+    @Test
+    void pastExpiriesFireOnTheNextAdvance() {
+        TimingWheel wheel = new TimingWheel(100);
+        wheel.schedule(7, 50);
+        wheel.schedule(8, 100);
+
+        Map<Long, Long> fired = run(wheel, 101);
+        assertEquals(101L, fired.get(7L));
+        assertEquals(101L, fired.get(8L));
+    }
+
+    @Test
+    void advancingInOneStepFiresEverythingDue() {
+        TimingWheel wheel = new TimingWheel(0);
+        for (long key = 1; key <= 1_000; key++) wheel.schedule(key, key * 97);
+        assertEquals(1_000, wheel.size());
+
+        int[] count = {0};
+        wheel.advance(48_500, key -> count[0]++);
+        assertEquals(500, count[0]);
+        assertEquals(500, wheel.size());
+    }
+
+    @Test
+    void clearDropsEverything() {
+        TimingWheel wheel = new TimingWheel(0);
+        for (long key = 1; key <= 100; key++) wheel.schedule(key, key * 1_000);
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertTrue(run(wheel, 200_000).isEmpty());
+    }
+}